@@ -0,0 +1,78 @@
+package eu.europa.esig.dss.web.config;
+
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.service.ApiAdmissionService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the {@code ApiAdmissionService} limits to the REST/SOAP webservices calls.
+ * A client exceeding its own limits receives a "429 Too Many Requests",
+ * a saturated endpoint returns a "503 Service Unavailable", both with a "Retry-After" header.
+ */
+public class ApiAdmissionFilter extends OncePerRequestFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ApiAdmissionFilter.class);
+
+	private final ApiAdmissionService apiAdmissionService;
+
+	public ApiAdmissionFilter(ApiAdmissionService apiAdmissionService) {
+		this.apiAdmissionService = apiAdmissionService;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !apiAdmissionService.isEnabled();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		// the real client address behind a proxy requires "server.forward-headers-strategy"
+		String clientKey = apiAdmissionService.getClientKey(request.getHeader(apiAdmissionService.getClientKeyHeader()),
+				request.getRemoteAddr());
+		String endpoint = apiAdmissionService.getEndpoint(Utils.isStringNotEmpty(request.getPathInfo()) ? request.getPathInfo() : "/");
+		long contentLength = request.getContentLengthLong();
+		if (contentLength < 0 && request.getHeader(HttpHeaders.TRANSFER_ENCODING) == null) {
+			// no payload
+			contentLength = 0;
+		}
+		long cost = apiAdmissionService.getCost(endpoint, contentLength);
+
+		ApiAdmissionService.Admission admission = apiAdmissionService.tryAdmit(clientKey, endpoint, cost);
+		switch (admission.getDecision()) {
+			case ADMITTED:
+				try {
+					filterChain.doFilter(request, response);
+				} finally {
+					admission.release();
+				}
+				break;
+			case CLIENT_LIMITED:
+				LOG.debug("Request to [{}] from [{}] rejected : client limit reached", endpoint, clientKey);
+				reject(response, HttpStatus.TOO_MANY_REQUESTS, admission.getRetryAfterSeconds());
+				break;
+			case ENDPOINT_LIMITED:
+				LOG.warn("Request to [{}] from [{}] rejected : endpoint limit reached", endpoint, clientKey);
+				reject(response, HttpStatus.SERVICE_UNAVAILABLE, admission.getRetryAfterSeconds());
+				break;
+			default:
+				throw new IllegalStateException(String.format("Unknown admission decision : %s", admission.getDecision()));
+		}
+	}
+
+	private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+		response.sendError(status.value(), status.getReasonPhrase());
+	}
+
+}
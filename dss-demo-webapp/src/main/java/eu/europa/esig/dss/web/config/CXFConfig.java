@@ -6,7 +6,19 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.jakarta.rs.json.JacksonJsonProvider;
 import com.fasterxml.jackson.module.jakarta.xmlbind.JakartaXmlBindAnnotationIntrospector;
+import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.exception.ExceptionRestMapper;
+import eu.europa.esig.dss.web.service.BulkSigningService;
+import eu.europa.esig.dss.web.service.RestResponseMetrics;
+import eu.europa.esig.dss.web.service.StreamingSignatureService;
+import eu.europa.esig.dss.web.service.StreamingValidationService;
+import eu.europa.esig.dss.web.ws.RestBulkSigningService;
+import eu.europa.esig.dss.web.ws.RestBulkSigningServiceImpl;
+import eu.europa.esig.dss.web.ws.RestJsonProvider;
+import eu.europa.esig.dss.web.ws.RestStreamingSignatureService;
+import eu.europa.esig.dss.web.ws.RestStreamingSignatureServiceImpl;
+import eu.europa.esig.dss.web.ws.RestStreamingValidationService;
+import eu.europa.esig.dss.web.ws.RestStreamingValidationServiceImpl;
 import eu.europa.esig.dss.ws.cert.validation.common.RemoteCertificateValidationService;
 import eu.europa.esig.dss.ws.cert.validation.rest.RestCertificateValidationServiceImpl;
 import eu.europa.esig.dss.ws.cert.validation.rest.client.RestCertificateValidationService;
@@ -56,7 +68,9 @@ import jakarta.annotation.PostConstruct;
 import jakarta.xml.ws.Endpoint;
 import jakarta.xml.ws.soap.SOAPBinding;
 import org.apache.cxf.Bus;
+import org.apache.cxf.attachment.AttachmentDeserializer;
 import org.apache.cxf.endpoint.Server;
+import org.apache.cxf.feature.Feature;
 import org.apache.cxf.ext.logging.LoggingInInterceptor;
 import org.apache.cxf.ext.logging.LoggingOutInterceptor;
 import org.apache.cxf.jaxb.JAXBDataBinding;
@@ -64,6 +78,7 @@ import org.apache.cxf.jaxrs.JAXRSServerFactoryBean;
 import org.apache.cxf.jaxrs.openapi.OpenApiCustomizer;
 import org.apache.cxf.jaxrs.openapi.OpenApiFeature;
 import org.apache.cxf.jaxws.EndpointImpl;
+import org.apache.cxf.transport.common.gzip.GZIPFeature;
 import org.apache.cxf.transport.servlet.CXFServlet;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -72,7 +87,9 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ImportResource;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 @Configuration
 @ImportResource({ "classpath:META-INF/cxf/cxf.xml" }) // loads Bus cxf
@@ -96,14 +113,44 @@ public class CXFConfig {
 	public static final String REST_VALIDATION = "/rest/validation";
 	public static final String REST_CERTIFICATE_VALIDATION = "/rest/certificate-validation";
 	public static final String REST_SERVER_SIGNING = "/rest/server-signing";
+	public static final String REST_SERVER_BULK_SIGNING = "/rest/bulk-signing";
 	public static final String REST_TIMESTAMP_SERVICE = "/rest/timestamp-service";
+	public static final String REST_STREAMING_VALIDATION = "/rest/streaming/validation";
+	public static final String REST_STREAMING_SIGNATURE = "/rest/streaming/signature";
 
 	@Value("${cxf.debug:false}")
 	private boolean cxfDebug;
 
+	@Value("${cxf.logging.payload.sample-rate:0}")
+	private double payloadSampleRate;
+
+	@Value("${cxf.logging.payload.header.enabled:false}")
+	private boolean payloadHeaderEnabled;
+
+	@Value("${cxf.logging.payload.correlation-ids:}")
+	private Collection<String> payloadCorrelationIds;
+
+	@Value("${cxf.logging.payload.limit:4096}")
+	private int payloadLimit;
+
+	@Value("${cxf.logging.payload.in-mem-threshold:65536}")
+	private long payloadInMemThreshold;
+
 	@Value("${cxf.mtom.enabled:true}")
 	private boolean mtomEnabled;
 
+	@Value("${cxf.attachment.memory-threshold:102400}")
+	private long attachmentMemoryThreshold;
+
+	@Value("${cxf.attachment.directory:}")
+	private String attachmentDirectory;
+
+	@Value("${cxf.gzip.enabled:true}")
+	private boolean gzipEnabled;
+
+	@Value("${cxf.gzip.threshold:1024}")
+	private int gzipThreshold;
+
 	@Value("${dssVersion:1.0}")
 	private String dssVersion;
 
@@ -137,6 +184,18 @@ public class CXFConfig {
 	@Autowired
 	private RemoteTimestampService timestampService;
 
+	@Autowired
+	private BulkSigningService bulkSigningService;
+
+	@Autowired
+	private StreamingValidationService streamingValidationService;
+
+	@Autowired
+	private StreamingSignatureService streamingSignatureService;
+
+	@Autowired
+	private RestResponseMetrics restResponseMetrics;
+
 	@Bean
 	public ServletRegistrationBean<CXFServlet> cxfServlet() {
 		final ServletRegistrationBean<CXFServlet> servletRegistrationBean =
@@ -145,14 +204,33 @@ public class CXFConfig {
 		return servletRegistrationBean;
 	}
 
+	@PostConstruct
+	private void configureAttachments() {
+		// the MTOM and multipart attachments bigger than the threshold are cached on the disk
+		cxf.setProperty(AttachmentDeserializer.ATTACHMENT_MEMORY_THRESHOLD, attachmentMemoryThreshold);
+		if (Utils.isStringNotEmpty(attachmentDirectory)) {
+			cxf.setProperty(AttachmentDeserializer.ATTACHMENT_DIRECTORY, attachmentDirectory);
+		}
+	}
+
 	@PostConstruct
 	private void addLoggers() {
 		if (cxfDebug) {
-			LoggingInInterceptor loggingInInterceptor = new LoggingInInterceptor();
+			// the metadata of every call is logged, the payloads only for the selected calls
+			PayloadLoggingSampler payloadLoggingSampler = new PayloadLoggingSampler(payloadSampleRate,
+					payloadHeaderEnabled, payloadCorrelationIds, payloadLimit, payloadInMemThreshold);
+			cxf.getInInterceptors().add(payloadLoggingSampler);
+
+			LoggingInInterceptor loggingInInterceptor = new SampledLoggingInInterceptor();
+			loggingInInterceptor.setLimit(payloadLimit);
+			loggingInInterceptor.setLogBinary(false);
 			cxf.getInInterceptors().add(loggingInInterceptor);
 			cxf.getInFaultInterceptors().add(loggingInInterceptor);
 
-			LoggingOutInterceptor loggingOutInterceptor = new LoggingOutInterceptor();
+			LoggingOutInterceptor loggingOutInterceptor = new SampledLoggingOutInterceptor();
+			loggingOutInterceptor.setLimit(payloadLimit);
+			loggingOutInterceptor.setInMemThreshold(payloadInMemThreshold);
+			loggingOutInterceptor.setLogBinary(false);
 			cxf.getOutInterceptors().add(loggingOutInterceptor);
 			cxf.getOutFaultInterceptors().add(loggingOutInterceptor);
 		}
@@ -369,6 +447,28 @@ public class CXFConfig {
 		return signatureToken;
 	}
 	
+	@Bean
+	public RestBulkSigningService restServerBulkSigningService() {
+		RestBulkSigningServiceImpl service = new RestBulkSigningServiceImpl();
+		service.setService(bulkSigningService);
+		service.setObjectMapper(objectMapper());
+		return service;
+	}
+	
+	@Bean
+	public RestStreamingValidationService restStreamingValidationService() {
+		RestStreamingValidationServiceImpl service = new RestStreamingValidationServiceImpl();
+		service.setService(streamingValidationService);
+		return service;
+	}
+
+	@Bean
+	public RestStreamingSignatureService restStreamingSignatureService() {
+		RestStreamingSignatureServiceImpl service = new RestStreamingSignatureServiceImpl();
+		service.setService(streamingSignatureService);
+		return service;
+	}
+
 	@Bean
 	public RestTimestampService restTimestampService() {
 		RestTimestampServiceImpl restTimestampService = new RestTimestampServiceImpl();
@@ -383,7 +483,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_VALIDATION);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -394,7 +494,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_CERTIFICATE_VALIDATION);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -405,7 +505,40 @@ public class CXFConfig {
 		sfb.setAddress(REST_SERVER_SIGNING);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
+		return sfb.create();
+	}
+
+	@Bean
+	public Server createServerBulkSigningRestService() {
+		JAXRSServerFactoryBean sfb = new JAXRSServerFactoryBean();
+		sfb.setServiceBean(restServerBulkSigningService());
+		sfb.setAddress(REST_SERVER_BULK_SIGNING);
+		sfb.setProvider(jacksonJsonProvider());
+		sfb.setProvider(exceptionRestMapper());
+		sfb.setFeatures(restFeatures());
+		return sfb.create();
+	}
+
+	@Bean
+	public Server createStreamingValidationRestService() {
+		JAXRSServerFactoryBean sfb = new JAXRSServerFactoryBean();
+		sfb.setServiceBean(restStreamingValidationService());
+		sfb.setAddress(REST_STREAMING_VALIDATION);
+		sfb.setProvider(jacksonJsonProvider());
+		sfb.setProvider(exceptionRestMapper());
+		sfb.setFeatures(restFeatures());
+		return sfb.create();
+	}
+
+	@Bean
+	public Server createStreamingSignatureRestService() {
+		JAXRSServerFactoryBean sfb = new JAXRSServerFactoryBean();
+		sfb.setServiceBean(restStreamingSignatureService());
+		sfb.setAddress(REST_STREAMING_SIGNATURE);
+		sfb.setProvider(jacksonJsonProvider());
+		sfb.setProvider(exceptionRestMapper());
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -416,7 +549,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_TIMESTAMP_SERVICE);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -427,7 +560,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_ONE_DOCUMENT);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -438,7 +571,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_MULTIPLE_DOCUMENTS);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -449,7 +582,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_TRUSTED_LIST);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -460,7 +593,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_PAdES_WITH_EXTERNAL_CMS);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 
@@ -471,7 +604,7 @@ public class CXFConfig {
 		sfb.setAddress(REST_SIGNATURE_EXTERNAL_CMS);
 		sfb.setProvider(jacksonJsonProvider());
 		sfb.setProvider(exceptionRestMapper());
-		sfb.setFeatures(Arrays.asList(createOpenApiFeature()));
+		sfb.setFeatures(restFeatures());
 		return sfb.create();
 	}
 	
@@ -494,10 +627,37 @@ public class CXFConfig {
 		return customizer;
 	}
 
+	/**
+	 * Returns the features shared by the REST servers
+	 *
+	 * @return list of {@link Feature}s
+	 */
+	private List<Feature> restFeatures() {
+		List<Feature> features = new ArrayList<>();
+		features.add(createOpenApiFeature());
+		if (gzipEnabled) {
+			features.add(gzipFeature());
+		}
+		return features;
+	}
+
+	/**
+	 * Compresses the responses bigger than the threshold, when accepted by the client ("Accept-Encoding: gzip")
+	 *
+	 * @return {@link GZIPFeature}
+	 */
+	@Bean
+	public GZIPFeature gzipFeature() {
+		GZIPFeature gzipFeature = new GZIPFeature();
+		gzipFeature.setThreshold(gzipThreshold);
+		return gzipFeature;
+	}
+
 	@Bean
 	public JacksonJsonProvider jacksonJsonProvider() {
-		JacksonJsonProvider jsonProvider = new JacksonJsonProvider();
+		RestJsonProvider jsonProvider = new RestJsonProvider();
 		jsonProvider.setMapper(objectMapper());
+		jsonProvider.setMetrics(restResponseMetrics);
 		return jsonProvider;
 	}
     
@@ -512,7 +672,8 @@ public class CXFConfig {
 		// true value allows processing of {@code @IDREF}s cycle
 		JakartaXmlBindAnnotationIntrospector jai = new JakartaXmlBindAnnotationIntrospector(TypeFactory.defaultInstance());
 		objectMapper.setAnnotationIntrospector(jai);
-		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+		// compact output, an indented response can be requested with the "pretty" query parameter
+		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, false);
 		objectMapper.configure(DeserializationFeature.WRAP_EXCEPTIONS, false);
 		return objectMapper;
 	}
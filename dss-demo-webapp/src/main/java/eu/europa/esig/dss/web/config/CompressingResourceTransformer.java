@@ -0,0 +1,133 @@
+package eu.europa.esig.dss.web.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceTransformer;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves a gzip-compressed variant of the textual static resources to the clients accepting it.
+ * Both variants are computed once, after the other transformations (e.g. the CSS links rewriting), and kept in memory
+ * up to the given number of variants (the least recently used are evicted first).
+ */
+public class CompressingResourceTransformer implements ResourceTransformer {
+
+	private static final String GZIP = "gzip";
+
+	private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of("css", "js", "map", "json", "svg", "html", "xml", "txt", "ttf", "eot");
+
+	/** Variants by resource and encoding, replaced when the resource is modified */
+	private final Map<String, ContentVariant> variants;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param maxEntries maximum number of variants kept in memory
+	 */
+	@SuppressWarnings("serial")
+	public CompressingResourceTransformer(int maxEntries) {
+		this.variants = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, ContentVariant> eldest) {
+				return size() > maxEntries;
+			}
+
+		});
+	}
+
+	@Override
+	public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain transformerChain) throws IOException {
+		if (!isCompressible(resource)) {
+			return transformerChain.transform(request, resource);
+		}
+
+		boolean gzip = acceptsGzip(request);
+		String key = resource.getDescription() + (gzip ? "+" + GZIP : "");
+		long lastModified = resource.lastModified();
+		ContentVariant variant = variants.get(key);
+		if (variant == null || variant.originalLastModified != lastModified) {
+			Resource transformed = transformerChain.transform(request, resource);
+			byte[] content = gzip ? gzip(transformed) : transformed.getContentAsByteArray();
+			variant = new ContentVariant(transformed, content, gzip, lastModified);
+			variants.put(key, variant);
+		}
+		return variant;
+	}
+
+	private boolean isCompressible(Resource resource) {
+		String extension = StringUtils.getFilenameExtension(resource.getFilename());
+		return extension != null && COMPRESSIBLE_EXTENSIONS.contains(extension.toLowerCase());
+	}
+
+	private boolean acceptsGzip(HttpServletRequest request) {
+		String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		return acceptEncoding != null && acceptEncoding.toLowerCase().contains(GZIP);
+	}
+
+	private byte[] gzip(Resource resource) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try (InputStream is = resource.getInputStream(); GZIPOutputStream gzos = new GZIPOutputStream(baos)) {
+			is.transferTo(gzos);
+		}
+		return baos.toByteArray();
+	}
+
+	/**
+	 * The (compressed or not) content of a resource, keeping the filename (for the media type) and the response headers of the original
+	 */
+	private static final class ContentVariant extends ByteArrayResource implements HttpResource {
+
+		private final Resource original;
+
+		private final boolean gzip;
+
+		private final long originalLastModified;
+
+		private ContentVariant(Resource original, byte[] content, boolean gzip, long originalLastModified) {
+			super(content, original.getDescription());
+			this.original = original;
+			this.gzip = gzip;
+			this.originalLastModified = originalLastModified;
+		}
+
+		@Override
+		public String getFilename() {
+			return original.getFilename();
+		}
+
+		@Override
+		public long lastModified() {
+			return originalLastModified;
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers = new HttpHeaders();
+			if (original instanceof HttpResource httpResource) {
+				headers.putAll(httpResource.getResponseHeaders());
+			}
+			if (gzip) {
+				headers.add(HttpHeaders.CONTENT_ENCODING, GZIP);
+			}
+			// both variants are served under the same URL
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			return headers;
+		}
+
+	}
+
+}
@@ -9,6 +9,8 @@ import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.pades.signature.ExternalCMSService;
 import eu.europa.esig.dss.pades.signature.PAdESService;
 import eu.europa.esig.dss.pades.signature.PAdESWithExternalCMSService;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import eu.europa.esig.dss.service.crl.JdbcCacheCRLSource;
 import eu.europa.esig.dss.service.crl.OnlineCRLSource;
 import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
@@ -20,6 +22,7 @@ import eu.europa.esig.dss.service.ocsp.JdbcCacheOCSPSource;
 import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.service.x509.aia.JdbcCacheAIASource;
 import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
 import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
@@ -40,6 +43,13 @@ import eu.europa.esig.dss.tsl.job.TLValidationJob;
 import eu.europa.esig.dss.tsl.sha2.Sha2FileCacheDataLoader;
 import eu.europa.esig.dss.tsl.source.LOTLSource;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.service.CertificateChainMemo;
+import eu.europa.esig.dss.web.service.DigestPrecomputingSignatureService;
+import eu.europa.esig.dss.web.service.DocumentDigestService;
+import eu.europa.esig.dss.web.service.FileCacheManager;
+import eu.europa.esig.dss.web.service.NegativeCache;
+import eu.europa.esig.dss.web.service.NegativeCachingDataLoader;
+import eu.europa.esig.dss.web.service.ShardedFileCacheDataLoader;
 import eu.europa.esig.dss.ws.cert.validation.common.RemoteCertificateValidationService;
 import eu.europa.esig.dss.ws.server.signing.common.RemoteSignatureTokenConnection;
 import eu.europa.esig.dss.ws.server.signing.common.RemoteSignatureTokenConnectionImpl;
@@ -68,6 +78,7 @@ import org.springframework.core.io.ClassPathResource;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.security.KeyStore.PasswordProtection;
 import java.util.ArrayList;
 import java.util.List;
@@ -138,6 +149,9 @@ public class DSSBeanConfig {
 	@Autowired
 	private TSPSource tspSource;
 
+	@Autowired
+	private DocumentDigestService documentDigestService;
+
 	@Autowired(required = false)
 	private JdbcCacheAIASource jdbcCacheAIASource;
 
@@ -147,6 +161,12 @@ public class DSSBeanConfig {
 	@Autowired(required = false)
 	private JdbcCacheOCSPSource jdbcCacheOCSPSource;
 
+	@Autowired
+	private FileCacheManager fileCacheManager;
+
+	@Autowired
+	private NegativeCache negativeCache;
+
 	@Value("${cache.expiration:0}")
 	private long cacheExpiration;
 
@@ -162,6 +182,9 @@ public class DSSBeanConfig {
 	@Value("${cache.ocsp.max.next.update:0}")
 	private long ocspMaxNextUpdate;
 
+	@Value("${certificate.chain.memo.max.entries:10000}")
+	private int chainMemoMaxEntries;
+
 	@Value("${dataloader.connection.timeout}")
 	private int connectionTimeout;
 
@@ -206,23 +229,14 @@ public class DSSBeanConfig {
 	}
 
 	@Bean
-	public FileCacheDataLoader fileCacheDataLoader() {
-		FileCacheDataLoader fileCacheDataLoader = initFileCacheDataLoader();
-		fileCacheDataLoader.setCacheExpirationTime(cacheExpiration * 1000); // to millis
-		return fileCacheDataLoader;
-	}
-
-	private FileCacheDataLoader initFileCacheDataLoader() {
-		FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader();
-		fileCacheDataLoader.setDataLoader(dataLoader());
-		// Per default uses "java.io.tmpdir" property
-		// fileCacheDataLoader.setFileCacheDirectory(new File("/tmp"));
-		return fileCacheDataLoader;
+	public ShardedFileCacheDataLoader fileCacheDataLoader() {
+		// Per default, the caches are within the "java.io.tmpdir" property (see cache.file.* properties)
+		return new ShardedFileCacheDataLoader("data", fileCacheManager, dataLoader(), cacheExpiration * 1000); // to millis
 	}
 
 	@Bean
 	public DefaultAIASource onlineAIASource() {
-		return new DefaultAIASource(dataLoader());
+		return new DefaultAIASource(negativeCaching(dataLoader()));
 	}
 
 	@Bean
@@ -231,14 +245,18 @@ public class DSSBeanConfig {
 			jdbcCacheAIASource.setProxySource(onlineAIASource());
 			return jdbcCacheAIASource;
 		}
-		FileCacheDataLoader fileCacheDataLoader = fileCacheDataLoader();
-		return new DefaultAIASource(fileCacheDataLoader);
+		return new DefaultAIASource(new ShardedFileCacheDataLoader("aia", fileCacheManager, negativeCaching(dataLoader()), cacheExpiration * 1000)); // to millis
+	}
+
+	@Bean
+	public CertificateChainMemo certificateChainMemo() {
+		return new CertificateChainMemo(cachedAIASource(), chainMemoMaxEntries, cacheExpiration * 1000); // to millis
 	}
 
 	@Bean
 	public OnlineCRLSource onlineCRLSource() {
 		OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
-		onlineCRLSource.setDataLoader(dataLoader());
+		onlineCRLSource.setDataLoader(negativeCaching(dataLoader()));
 		return onlineCRLSource;
 	}
 
@@ -251,16 +269,14 @@ public class DSSBeanConfig {
 			return jdbcCacheCRLSource;
 		}
 		OnlineCRLSource onlineCRLSource = onlineCRLSource();
-		FileCacheDataLoader fileCacheDataLoader = initFileCacheDataLoader();
-		fileCacheDataLoader.setCacheExpirationTime(crlMaxNextUpdate * 1000); // to millis
-		onlineCRLSource.setDataLoader(fileCacheDataLoader);
+		onlineCRLSource.setDataLoader(new ShardedFileCacheDataLoader("crl", fileCacheManager, negativeCaching(dataLoader()), crlMaxNextUpdate * 1000)); // to millis
 		return onlineCRLSource;
 	}
 
 	@Bean
 	public OnlineOCSPSource onlineOCSPSource() {
 		OnlineOCSPSource onlineOCSPSource = new OnlineOCSPSource();
-		onlineOCSPSource.setDataLoader(ocspDataLoader());
+		onlineOCSPSource.setDataLoader(negativeCaching(ocspDataLoader()));
 		return onlineOCSPSource;
 	}
 
@@ -273,13 +289,17 @@ public class DSSBeanConfig {
 			return jdbcCacheOCSPSource;
 		}
 		OnlineOCSPSource onlineOCSPSource = onlineOCSPSource();
-		FileCacheDataLoader fileCacheDataLoader = initFileCacheDataLoader();
-		fileCacheDataLoader.setDataLoader(ocspDataLoader());
-		fileCacheDataLoader.setCacheExpirationTime(ocspMaxNextUpdate * 1000); // to millis
-		onlineOCSPSource.setDataLoader(fileCacheDataLoader);
+		onlineOCSPSource.setDataLoader(new ShardedFileCacheDataLoader("ocsp", fileCacheManager, negativeCaching(ocspDataLoader()), ocspMaxNextUpdate * 1000)); // to millis
 		return onlineOCSPSource;
 	}
 
+	/**
+	 * The failed revocation and AIA lookups are not repeated before the end of their backoff (see negative.cache.* properties)
+	 */
+	private DataLoader negativeCaching(DataLoader dataLoader) {
+		return new NegativeCachingDataLoader(dataLoader, negativeCache);
+	}
+
 	@Bean
 	public SignaturePolicyProvider signaturePolicyProvider() {
 		SignaturePolicyProvider signaturePolicyProvider = new SignaturePolicyProvider();
@@ -312,7 +332,7 @@ public class DSSBeanConfig {
 		CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
 		certificateVerifier.setCrlSource(cachedCRLSource());
 		certificateVerifier.setOcspSource(cachedOCSPSource());
-		certificateVerifier.setAIASource(cachedAIASource());
+		certificateVerifier.setAIASource(certificateChainMemo());
 		certificateVerifier.setTrustedCertSources(trustedListSource(), trustedCertificateSource());
 
 		// Default configs
@@ -327,6 +347,21 @@ public class DSSBeanConfig {
 		return new ClassPathResource(defaultValidationPolicy);
 	}
 
+	/**
+	 * The parsed default validation policy, shared by the validation services (null if it cannot be parsed)
+	 */
+	@Bean
+	public ValidationPolicy parsedDefaultPolicy() {
+		if (defaultPolicy() != null) {
+			try (InputStream is = defaultPolicy().getInputStream()) {
+				return ValidationPolicyFacade.newFacade().getValidationPolicy(is);
+			} catch (Exception e) {
+				LOG.error(String.format("Unable to parse policy: %s", e.getMessage()), e);
+			}
+		}
+		return null;
+	}
+
 	@Bean
 	public ClassPathResource defaultCertificateValidationPolicy() {
 		return new ClassPathResource(defaultCertificateValidationPolicy);
@@ -389,10 +424,10 @@ public class DSSBeanConfig {
 	@Bean
 	public RemoteMultipleDocumentsSignatureServiceImpl remoteMultipleDocumentsSignatureService() {
 		RemoteMultipleDocumentsSignatureServiceImpl service = new RemoteMultipleDocumentsSignatureServiceImpl();
-		service.setAsicWithCAdESService(asicWithCadesService());
-		service.setAsicWithXAdESService(asicWithXadesService());
-		service.setXadesService(xadesService());
-		service.setJadesService(jadesService());
+		service.setAsicWithCAdESService(new DigestPrecomputingSignatureService<>(asicWithCadesService(), documentDigestService));
+		service.setAsicWithXAdESService(new DigestPrecomputingSignatureService<>(asicWithXadesService(), documentDigestService));
+		service.setXadesService(new DigestPrecomputingSignatureService<>(xadesService(), documentDigestService));
+		service.setJadesService(new DigestPrecomputingSignatureService<>(jadesService(), documentDigestService));
 		return service;
 	}
 
@@ -436,12 +471,8 @@ public class DSSBeanConfig {
 	public RemoteDocumentValidationService remoteValidationService() {
 		RemoteDocumentValidationService service = new RemoteDocumentValidationService();
 		service.setVerifier(certificateVerifier());
-		if (defaultPolicy() != null) {
-			try (InputStream is = defaultPolicy().getInputStream()) {
-				service.setDefaultValidationPolicy(is);
-			} catch (IOException e) {
-				LOG.error(String.format("Unable to parse policy: %s", e.getMessage()), e);
-			}
+		if (parsedDefaultPolicy() != null) {
+			service.setDefaultValidationPolicy(parsedDefaultPolicy());
 		}
 		return service;
 	}
@@ -571,12 +602,31 @@ public class DSSBeanConfig {
 
 	@Bean
 	public File tlCacheDirectory() {
-		File rootFolder = new File(System.getProperty("java.io.tmpdir"));
-		File tslCache = new File(rootFolder, "dss-tsl-loader");
-		if (tslCache.mkdirs()) {
-			LOG.info("TL Cache folder : {}", tslCache.getAbsolutePath());
+		// the trusted lists are kept for the offline loading
+		File tlCacheDirectory = fileCacheManager.getCacheDirectory("tl", false);
+		migrateTLCache(new File(System.getProperty("java.io.tmpdir"), "dss-tsl-loader"), tlCacheDirectory);
+		return tlCacheDirectory;
+	}
+
+	/**
+	 * Copies the trusted lists cached in the former directory (java.io.tmpdir/dss-tsl-loader),
+	 * so the offline loading still works before the first online refresh
+	 */
+	private void migrateTLCache(File previousDirectory, File tlCacheDirectory) {
+		File[] previousFiles = previousDirectory.listFiles(File::isFile);
+		String[] currentFiles = tlCacheDirectory.list();
+		if (previousFiles == null || previousFiles.length == 0 || (currentFiles != null && currentFiles.length > 0)) {
+			return;
+		}
+		tlCacheDirectory.mkdirs();
+		for (File file : previousFiles) {
+			try {
+				Files.copy(file.toPath(), new File(tlCacheDirectory, file.getName()).toPath());
+			} catch (IOException e) {
+				LOG.warn("Unable to copy the cached trusted list '{}' : {}", file.getName(), e.getMessage());
+			}
 		}
-		return tslCache;
+		LOG.info("TL Cache folder '{}' copied to '{}'", previousDirectory.getAbsolutePath(), tlCacheDirectory.getAbsolutePath());
 	}
 	
     /* QWAC Validation */
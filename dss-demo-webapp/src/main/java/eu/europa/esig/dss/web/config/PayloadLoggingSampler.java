@@ -0,0 +1,100 @@
+package eu.europa.esig.dss.web.config;
+
+import org.apache.cxf.ext.logging.WireTapIn;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageUtils;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selects the webservices calls for which the payloads are logged : a sample of the calls,
+ * the calls with the header "X-Log-Payload: true" (when allowed) and the calls with one of the configured correlation ids.
+ * The payload of a selected request is captured up to the given limit, the other calls are logged without payload.
+ */
+public class PayloadLoggingSampler extends AbstractPhaseInterceptor<Message> {
+
+	/** The header requesting the payload logging of a call */
+	public static final String LOG_PAYLOAD_HEADER = "X-Log-Payload";
+
+	/** The header carrying the correlation id of a call */
+	public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
+
+	private static final String PAYLOAD_LOGGED = PayloadLoggingSampler.class.getName() + ".payloadLogged";
+
+	private final double sampleRate;
+
+	/** Whether the clients can request the payload logging with the header, off by default as any client could use it */
+	private final boolean logPayloadHeaderEnabled;
+
+	private final Set<String> correlationIds;
+
+	private final int limit;
+
+	private final long inMemThreshold;
+
+	public PayloadLoggingSampler(double sampleRate, boolean logPayloadHeaderEnabled, Collection<String> correlationIds,
+								 int limit, long inMemThreshold) {
+		super(Phase.RECEIVE);
+		this.sampleRate = sampleRate;
+		this.logPayloadHeaderEnabled = logPayloadHeaderEnabled;
+		this.correlationIds = new HashSet<>(correlationIds);
+		this.limit = limit;
+		this.inMemThreshold = inMemThreshold;
+	}
+
+	@Override
+	public void handleMessage(Message message) {
+		if (MessageUtils.isRequestor(message) || message.getExchange() == null) {
+			return;
+		}
+		boolean payloadLogged = isSelected(message);
+		message.getExchange().put(PAYLOAD_LOGGED, payloadLogged);
+		if (payloadLogged) {
+			WireTapIn wireTapIn = new WireTapIn(limit, inMemThreshold);
+			wireTapIn.addAfter(getId());
+			message.getInterceptorChain().add(wireTapIn);
+		}
+	}
+
+	private boolean isSelected(Message message) {
+		if (logPayloadHeaderEnabled && Boolean.parseBoolean(getHeader(message, LOG_PAYLOAD_HEADER))) {
+			return true;
+		}
+		String correlationId = getHeader(message, CORRELATION_ID_HEADER);
+		if (correlationId != null && correlationIds.contains(correlationId)) {
+			return true;
+		}
+		return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+	}
+
+	@SuppressWarnings("unchecked")
+	private String getHeader(Message message, String name) {
+		// CXF stores the protocol headers in a case-insensitive map
+		Map<String, List<String>> headers = (Map<String, List<String>>) message.get(Message.PROTOCOL_HEADERS);
+		if (headers == null) {
+			return null;
+		}
+		List<String> values = headers.get(name);
+		return values != null && !values.isEmpty() ? values.get(0) : null;
+	}
+
+	/**
+	 * Returns whether the payloads of the exchange of the message are logged
+	 *
+	 * @param message {@link Message}
+	 * @return TRUE if the call has been selected for the payload logging
+	 */
+	public static boolean isPayloadLogged(Message message) {
+		Exchange exchange = message.getExchange();
+		return exchange != null && Boolean.TRUE.equals(exchange.get(PAYLOAD_LOGGED));
+	}
+
+}
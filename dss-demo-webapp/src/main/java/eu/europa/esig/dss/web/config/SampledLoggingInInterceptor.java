@@ -0,0 +1,28 @@
+package eu.europa.esig.dss.web.config;
+
+import org.apache.cxf.ext.logging.LoggingInInterceptor;
+import org.apache.cxf.ext.logging.WireTapIn;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Logs the requests without caching their content : the wire tap capturing the payload
+ * is only added by the {@code PayloadLoggingSampler} to the calls selected for the payload logging.
+ */
+public class SampledLoggingInInterceptor extends LoggingInInterceptor {
+
+	@Override
+	public Collection<PhaseInterceptor<? extends Message>> getAdditionalInterceptors() {
+		Collection<PhaseInterceptor<? extends Message>> interceptors = new ArrayList<>();
+		for (PhaseInterceptor<? extends Message> interceptor : super.getAdditionalInterceptors()) {
+			if (!(interceptor instanceof WireTapIn)) {
+				interceptors.add(interceptor);
+			}
+		}
+		return interceptors;
+	}
+
+}
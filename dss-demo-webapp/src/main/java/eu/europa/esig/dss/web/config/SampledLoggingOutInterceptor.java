@@ -0,0 +1,40 @@
+package eu.europa.esig.dss.web.config;
+
+import org.apache.cxf.ext.logging.LoggingOutInterceptor;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.AbstractPhaseInterceptor;
+import org.apache.cxf.phase.Phase;
+
+/**
+ * Logs the responses selected by the {@code PayloadLoggingSampler} with their payload (truncated to the limit).
+ * The other responses are not cached, only their metadata is logged once they are sent.
+ */
+public class SampledLoggingOutInterceptor extends LoggingOutInterceptor {
+
+	private final MetadataLoggingInterceptor metadataLoggingInterceptor = new MetadataLoggingInterceptor();
+
+	@Override
+	public void handleMessage(Message message) {
+		if (PayloadLoggingSampler.isPayloadLogged(message)) {
+			super.handleMessage(message);
+		} else if (!isLoggingDisabledNow(message)) {
+			// the response code is only known once the response is written
+			message.getInterceptorChain().add(metadataLoggingInterceptor);
+		}
+	}
+
+	private class MetadataLoggingInterceptor extends AbstractPhaseInterceptor<Message> {
+
+		MetadataLoggingInterceptor() {
+			super(Phase.SETUP_ENDING);
+		}
+
+		@Override
+		public void handleMessage(Message message) {
+			createExchangeId(message);
+			sender.send(eventMapper.map(message, sensitiveProtocolHeaderNames));
+		}
+
+	}
+
+}
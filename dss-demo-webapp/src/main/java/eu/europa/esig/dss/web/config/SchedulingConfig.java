@@ -1,26 +1,57 @@
 package eu.europa.esig.dss.web.config;
 
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 
 @Configuration
 @EnableScheduling
 public class SchedulingConfig implements SchedulingConfigurer {
 
+	@Autowired
+	private ObjectProvider<ScheduledExecutorService> taskExecutor;
+
+	@Autowired
+	private ObjectProvider<TaskScheduler> virtualThreadTaskScheduler;
+
 	@Override
 	public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
-		taskRegistrar.setScheduler(taskExecutor());
+		TaskScheduler taskScheduler = virtualThreadTaskScheduler.getIfAvailable();
+		if (taskScheduler != null) {
+			taskRegistrar.setTaskScheduler(taskScheduler);
+		} else {
+			taskRegistrar.setScheduler(taskExecutor.getObject());
+		}
 	}
 
 	@Bean(destroyMethod = "shutdown")
-	public ExecutorService taskExecutor() {
+	@ConditionalOnThreading(Threading.PLATFORM)
+	public ScheduledExecutorService taskExecutor() {
 		return Executors.newScheduledThreadPool(5);
 	}
 
+	/**
+	 * Runs every scheduled job (e.g. TL refresh) within its own virtual thread,
+	 * when {@code spring.threads.virtual.enabled} is set on Java 21+
+	 */
+	@Bean
+	@ConditionalOnThreading(Threading.VIRTUAL)
+	public SimpleAsyncTaskScheduler virtualThreadTaskScheduler() {
+		SimpleAsyncTaskScheduler taskScheduler = new SimpleAsyncTaskScheduler();
+		taskScheduler.setVirtualThreads(true);
+		taskScheduler.setThreadNamePrefix("dss-scheduling-");
+		return taskScheduler;
+	}
+
 }
@@ -1,16 +1,30 @@
 package eu.europa.esig.dss.web.config;
 
+import eu.europa.esig.dss.web.service.ApiAdmissionService;
+import eu.europa.esig.dss.web.service.WorkloadService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.web.filter.RequestContextFilter;
 import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.servlet.config.annotation.DefaultServletHandlerConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebMvc
@@ -26,17 +40,60 @@ public class WebConfig implements WebMvcConfigurer {
 	@Value("${multipart.resolveLazily:false}")
 	private boolean resolveLazily;
 
+	@Value("${web.resources.fingerprinted.max-age:31536000}")
+	private long fingerprintedMaxAge;
+
+	@Value("${web.resources.max-age:3600}")
+	private long maxAge;
+
+	@Value("${web.resources.compressed.max-entries:512}")
+	private int compressedMaxEntries;
+
+	@Autowired
+	private WorkloadService workloadService;
+
+	@Autowired
+	private ApiAdmissionService apiAdmissionService;
+
 	@Override
 	public void addResourceHandlers(ResourceHandlerRegistry registry) {
-		registry.addResourceHandler("/css/**").addResourceLocations("classpath:/static/css/");
-		registry.addResourceHandler("/fonts/**").addResourceLocations("classpath:/static/fonts/");
-		registry.addResourceHandler("/images/**").addResourceLocations("classpath:/static/images/");
-		registry.addResourceHandler("/scripts/**").addResourceLocations("classpath:/static/scripts/");
-		registry.addResourceHandler("/webjars/**").addResourceLocations("/webjars/");
-		registry.addResourceHandler("/jar/**").addResourceLocations("/jar/");
-		registry.addResourceHandler("/downloads/**").addResourceLocations("/downloads/");
-		registry.addResourceHandler("/doc/**").addResourceLocations("/doc/");
-		registry.addResourceHandler("/apidocs/**").addResourceLocations("/apidocs/");
+		addFingerprintedResourceHandler(registry, "/css/**", "classpath:/static/css/");
+		addFingerprintedResourceHandler(registry, "/fonts/**", "classpath:/static/fonts/");
+		addFingerprintedResourceHandler(registry, "/images/**", "classpath:/static/images/");
+		addFingerprintedResourceHandler(registry, "/scripts/**", "classpath:/static/scripts/");
+		addFingerprintedResourceHandler(registry, "/webjars/**", "/webjars/");
+		registry.addResourceHandler("/jar/**").addResourceLocations("/jar/").setCacheControl(revalidatedCacheControl());
+		registry.addResourceHandler("/downloads/**").addResourceLocations("/downloads/").setCacheControl(revalidatedCacheControl());
+		registry.addResourceHandler("/doc/**").addResourceLocations("/doc/").setCacheControl(revalidatedCacheControl())
+				.resourceChain(false).addTransformer(new CompressingResourceTransformer(compressedMaxEntries));
+		registry.addResourceHandler("/apidocs/**").addResourceLocations("/apidocs/").setCacheControl(revalidatedCacheControl())
+				.resourceChain(false).addTransformer(new CompressingResourceTransformer(compressedMaxEntries));
+	}
+
+	/**
+	 * The resources are linked with a hash of their content in their file name (e.g. "/css/demo-{md5}.css"),
+	 * so they can be cached by the browsers and the proxies until the next change of content
+	 */
+	private void addFingerprintedResourceHandler(ResourceHandlerRegistry registry, String pathPattern, String location) {
+		registry.addResourceHandler(pathPattern).addResourceLocations(location)
+				.setCacheControl(CacheControl.maxAge(Duration.ofSeconds(fingerprintedMaxAge)).cachePublic().immutable())
+				.resourceChain(false)
+				// the resolved resources and their hashes are cached by request path (and accepted encoding)
+				.addResolver(new CachingResourceResolver(new ConcurrentMapCache(pathPattern)))
+				.addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+				// the compression applies to the content with the rewritten CSS links
+				.addTransformer(new CompressingResourceTransformer(compressedMaxEntries))
+				.addTransformer(new CssLinkResourceTransformer());
+	}
+
+	private CacheControl revalidatedCacheControl() {
+		return CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic();
+	}
+
+	@Bean
+	public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+		// rewrites the links to the static resources in the templates with their content hash
+		return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
 	}
 
 	@Bean
@@ -48,6 +105,31 @@ public class WebConfig implements WebMvcConfigurer {
 		return multipartResolverProvider.createMultipartResolver();
 	}
 
+	@Bean
+	public FilterRegistrationBean<ApiAdmissionFilter> apiAdmissionFilter() {
+		FilterRegistrationBean<ApiAdmissionFilter> filterRegistrationBean = new FilterRegistrationBean<>(new ApiAdmissionFilter(apiAdmissionService));
+		filterRegistrationBean.addUrlPatterns("/services/rest/*", "/services/soap/*");
+		// rejects the over-limit clients before they take a workload slot
+		filterRegistrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return filterRegistrationBean;
+	}
+
+	@Bean
+	public FilterRegistrationBean<WorkloadFilter> workloadFilter() {
+		FilterRegistrationBean<WorkloadFilter> filterRegistrationBean = new FilterRegistrationBean<>(new WorkloadFilter(workloadService));
+		// rejects the requests before any processing (security, multipart parsing, etc.)
+		filterRegistrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+		return filterRegistrationBean;
+	}
+
+	@Bean
+	public FilterRegistrationBean<RequestContextFilter> streamingRequestContextFilter() {
+		FilterRegistrationBean<RequestContextFilter> filterRegistrationBean = new FilterRegistrationBean<>(new RequestContextFilter());
+		// exposes the request to the streaming services, deleting their temporary files once it is completed
+		filterRegistrationBean.addUrlPatterns("/services" + CXFConfig.REST_STREAMING_SIGNATURE + "/*");
+		return filterRegistrationBean;
+	}
+
 	@Bean
 	public MessageSource messageSource() {
 		ReloadableResourceBundleMessageSource messageSource = new ReloadableResourceBundleMessageSource();
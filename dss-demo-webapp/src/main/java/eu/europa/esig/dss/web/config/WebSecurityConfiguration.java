@@ -9,8 +9,12 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.firewall.RequestRejectedException;
@@ -43,6 +47,21 @@ public class WebSecurityConfiguration {
 
 	@Value("${web.strict.transport.security:}")
 	private String strictTransportSecurity;
+
+	@Value("${monitoring.enabled:false}")
+	private boolean monitoringEnabled;
+
+	@Value("${monitoring.user:monitoring}")
+	private String monitoringUser;
+
+	@Value("${monitoring.password:}")
+	private String monitoringPassword;
+
+	/** Role of the user allowed to read the monitoring endpoints */
+	private static final String MONITORING_ROLE = "MONITORING";
+
+	/** Monitoring urls, exposing the internal statistics */
+	private static final String MONITORING_URLS = "/monitoring/**";
 	
 	/** API urls (REST/SOAP webServices) */
 	private static final String[] API_URLS = new String[] {
@@ -65,7 +84,12 @@ public class WebSecurityConfiguration {
 			}
 		});
 
-		http.authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests.anyRequest().permitAll());
+		http.authorizeHttpRequests(authorizeHttpRequests -> authorizeHttpRequests
+				.requestMatchers(new AntPathRequestMatcher(MONITORING_URLS)).hasRole(MONITORING_ROLE)
+				.anyRequest().permitAll());
+		if (isMonitoringUserDefined()) {
+			http.httpBasic(Customizer.withDefaults());
+		}
 
 		// disable CSRF for API calls (REST/SOAP webServices)
 		http.csrf(csrf -> csrf.csrfTokenRepository(CookieCsrfTokenRepository.withHttpOnlyFalse())
@@ -74,6 +98,20 @@ public class WebSecurityConfiguration {
 		return http.build();
 	}
 
+	@Bean
+	public UserDetailsService userDetailsService() {
+		InMemoryUserDetailsManager userDetailsManager = new InMemoryUserDetailsManager();
+		if (isMonitoringUserDefined()) {
+			// the password is stored with its encoding id (e.g. "{bcrypt}...")
+			userDetailsManager.createUser(User.withUsername(monitoringUser).password(monitoringPassword).roles(MONITORING_ROLE).build());
+		}
+		return userDetailsManager;
+	}
+
+	private boolean isMonitoringUserDefined() {
+		return monitoringEnabled && Utils.isStringNotEmpty(monitoringUser) && Utils.isStringNotEmpty(monitoringPassword);
+	}
+
 	private RequestMatcher[] getAntMatchers() {
 		RequestMatcher[] requestMatchers = new RequestMatcher[API_URLS.length];
 		for (int i = 0; i < API_URLS.length; i++) {
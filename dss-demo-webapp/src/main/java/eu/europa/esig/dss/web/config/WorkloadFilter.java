@@ -0,0 +1,67 @@
+package eu.europa.esig.dss.web.config;
+
+import eu.europa.esig.dss.web.service.WorkloadLimiter;
+import eu.europa.esig.dss.web.service.WorkloadService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admits the heavy requests through the {@code WorkloadLimiter} of their workload,
+ * and rejects them with a "503 Service Unavailable" and a "Retry-After" header when the limiter queue is full.
+ */
+public class WorkloadFilter extends OncePerRequestFilter {
+
+	private static final Logger LOG = LoggerFactory.getLogger(WorkloadFilter.class);
+
+	private final WorkloadService workloadService;
+
+	public WorkloadFilter(WorkloadService workloadService) {
+		this.workloadService = workloadService;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		String path = getPath(request);
+		WorkloadService.Workload workload = workloadService.getWorkload(request.getMethod(), path);
+		if (workload == null) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		WorkloadLimiter limiter = workloadService.getLimiter(workload);
+		if (!limiter.tryAcquire()) {
+			LOG.warn("Request [{}] rejected : the {} workload is saturated", path, limiter.getName());
+			response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(workloadService.getRetryAfter()));
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+					String.format("Too many %s requests, please retry later", limiter.getName()));
+			return;
+		}
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			limiter.release();
+		}
+	}
+
+	/**
+	 * Returns the path as mapped by the servlet container (decoded, without the path parameters),
+	 * the raw URI being able to reach the same endpoint with another form (e.g. "/services//rest/validation")
+	 */
+	private String getPath(HttpServletRequest request) {
+		String path = request.getServletPath();
+		if (request.getPathInfo() != null) {
+			path += request.getPathInfo();
+		}
+		return path.replaceAll("/{2,}", "/");
+	}
+
+}
@@ -7,7 +7,6 @@ import eu.europa.esig.dss.model.identifier.TokenIdentifierProvider;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
-import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.validation.CertificateValidator;
 import eu.europa.esig.dss.validation.identifier.UserFriendlyIdentifierProvider;
@@ -16,6 +15,7 @@ import eu.europa.esig.dss.web.WebAppUtils;
 import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.model.CertificateForm;
 import eu.europa.esig.dss.web.model.CertificateValidationForm;
+import eu.europa.esig.dss.web.service.OverlayCertificateVerifier;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -148,7 +148,7 @@ public class CertificateValidationController extends AbstractValidationControlle
 			// reuse the default one
 			cv = certificateVerifier;
 		} else {
-			cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+			cv = new OverlayCertificateVerifier(certificateVerifier);
 			cv.setAdjunctCertSources(adjunctCertSource);
 		}
 		
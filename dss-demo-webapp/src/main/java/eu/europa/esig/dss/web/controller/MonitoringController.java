@@ -0,0 +1,61 @@
+package eu.europa.esig.dss.web.controller;
+
+import eu.europa.esig.dss.web.service.FileCacheManager;
+import eu.europa.esig.dss.web.service.NegativeCache;
+import eu.europa.esig.dss.web.service.RestResponseMetrics;
+import eu.europa.esig.dss.web.service.WorkloadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.Map;
+
+/**
+ * Exposes the internal statistics, only when enabled ("monitoring.enabled") and to the authenticated monitoring user
+ */
+@Controller
+@ConditionalOnProperty(value = "monitoring.enabled", havingValue = "true")
+@RequestMapping(value = "/monitoring")
+public class MonitoringController {
+
+	@Autowired
+	private WorkloadService workloadService;
+
+	@Autowired
+	private RestResponseMetrics restResponseMetrics;
+
+	@Autowired
+	private FileCacheManager fileCacheManager;
+
+	@Autowired
+	private NegativeCache negativeCache;
+
+	@RequestMapping(value = "/workloads", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Map<String, Map<String, Object>> getWorkloads() {
+		return workloadService.getStatistics();
+	}
+
+	@RequestMapping(value = "/rest-responses", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Map<String, Map<String, Object>> getRestResponses() {
+		return restResponseMetrics.getStatistics();
+	}
+
+	@RequestMapping(value = "/file-caches", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Map<String, Map<String, Object>> getFileCaches() {
+		return fileCacheManager.getStatistics();
+	}
+
+	@RequestMapping(value = "/negative-cache", method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Map<String, Map<String, Object>> getNegativeCache() {
+		return negativeCache.getStatistics();
+	}
+
+}
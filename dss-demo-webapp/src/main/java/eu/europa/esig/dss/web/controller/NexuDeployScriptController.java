@@ -2,16 +2,20 @@ package eu.europa.esig.dss.web.controller;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,8 +31,16 @@ public class NexuDeployScriptController {
 	@Value("${nexuUrl}")
 	private String nexuUrl;
 
+	@Value("${web.resources.max-age:3600}")
+	private long maxAge;
+
 	private Template template;
 
+	/** The script only depends on the configuration, it is rendered once */
+	private String script;
+
+	private String eTag;
+
 	public NexuDeployScriptController() {
 		try {
 			Configuration cfg = new Configuration(Configuration.VERSION_2_3_22);
@@ -39,8 +51,8 @@ public class NexuDeployScriptController {
 		}
 	}
 
-	@RequestMapping("/js/nexu-deploy.js")
-	public ResponseEntity<String> loadScript() throws Exception {
+	@PostConstruct
+	public void renderScript() throws IOException, TemplateException {
 
 		StringWriter outWriter = new StringWriter();
 
@@ -52,9 +64,17 @@ public class NexuDeployScriptController {
 
 		template.process(model, outWriter);
 
-		HttpHeaders headers = new HttpHeaders();
-		headers.setContentType(MediaType.parseMediaType("text/javascript"));
+		this.script = outWriter.toString();
+		this.eTag = DigestUtils.md5DigestAsHex(script.getBytes(StandardCharsets.UTF_8));
+	}
 
-		return new ResponseEntity<>(outWriter.toString(), headers, HttpStatus.ACCEPTED);
+	@RequestMapping("/js/nexu-deploy.js")
+	public ResponseEntity<String> loadScript() {
+		// "If-None-Match" requests are answered with a "304 Not Modified" by Spring MVC
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType("text/javascript"))
+				.cacheControl(CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic())
+				.eTag(eTag)
+				.body(script);
 	}
 }
@@ -5,13 +5,13 @@ import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.service.http.commons.SSLCertificateLoader;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
-import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
 import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
 import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.validation.CertificateValidator;
 import eu.europa.esig.dss.validation.reports.CertificateReports;
 import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.model.QwacValidationForm;
+import eu.europa.esig.dss.web.service.OverlayCertificateVerifier;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -80,7 +80,7 @@ public class QwacValidationController extends AbstractValidationController {
 		List<CertificateToken> certificates = sslCertificateLoader.getCertificates(url);
 		
 		if (Utils.isCollectionNotEmpty(certificates)) {
-			CertificateVerifier cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+			CertificateVerifier cv = new OverlayCertificateVerifier(certificateVerifier);
 	        
 	        CommonCertificateSource adjunctCertificateSource = new CommonCertificateSource();
 	        for (CertificateToken certificateToken : certificates) {
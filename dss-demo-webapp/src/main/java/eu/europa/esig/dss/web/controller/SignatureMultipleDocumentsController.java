@@ -56,7 +56,7 @@ public class SignatureMultipleDocumentsController {
 	private static final String SIGNATURE_PARAMETERS = "signature-multiple-documents";
 	private static final String SIGNATURE_PROCESS = "nexu-signature-process";
 	
-	private static final String[] ALLOWED_FIELDS = { "documentsToSign", "containerType", "signatureForm", 
+	private static final String[] ALLOWED_FIELDS = { "documentsToSign", "digestsToSign[*].*", "containerType", "signatureForm", 
 			"signatureLevel", "digestAlgorithm", "signWithExpiredCertificate", "addContentTimestamp" };
 
 	@Value("${nexuUrl}")
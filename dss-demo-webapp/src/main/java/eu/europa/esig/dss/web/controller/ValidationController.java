@@ -19,7 +19,6 @@ import eu.europa.esig.dss.model.x509.CertificateToken;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
-import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
 import eu.europa.esig.dss.utils.Utils;
@@ -33,6 +32,7 @@ import eu.europa.esig.dss.web.exception.InternalServerException;
 import eu.europa.esig.dss.web.exception.SourceNotFoundException;
 import eu.europa.esig.dss.web.model.ValidationForm;
 import eu.europa.esig.dss.web.service.FOPService;
+import eu.europa.esig.dss.web.service.OverlayCertificateVerifier;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -196,7 +196,7 @@ public class ValidationController extends AbstractValidationController {
 			// reuse the default one
 			cv = certificateVerifier;
 		} else {
-			cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+			cv = new OverlayCertificateVerifier(certificateVerifier);
 			cv.setAdjunctCertSources(adjunctCertSource);
 		}
 
@@ -1,7 +1,9 @@
 package eu.europa.esig.dss.web.job;
 
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.tsl.job.TLValidationJob;
 import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.service.CertificateChainMemo;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,6 +25,12 @@ public class TSLLoaderJob {
 	@Autowired
 	private TLValidationJob job;
 
+	@Autowired
+	private TrustedListsCertificateSource trustedListSource;
+
+	@Autowired
+	private CertificateChainMemo certificateChainMemo;
+
 	@PostConstruct
 	public void init() {
 		if (Utils.isStringNotEmpty(bcRsaValidation)) {
@@ -32,12 +40,14 @@ public class TSLLoaderJob {
 			System.setProperty("org.apache.xml.security.maxReferences", xmlsecManifestMaxRefsCount);
 		}
 		job.offlineRefresh();
+		certificateChainMemo.refreshTrustAnchors(trustedListSource);
 	}
 
 	@Scheduled(initialDelayString = "${cron.initial.delay.tl.loader}", fixedDelayString = "${cron.delay.tl.loader}")
 	public void refresh() {
 		if (enable) {
 			job.onlineRefresh();
+			certificateChainMemo.refreshTrustAnchors(trustedListSource);
 		}
 	}
 
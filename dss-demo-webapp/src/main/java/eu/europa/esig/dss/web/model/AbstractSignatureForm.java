@@ -40,6 +40,8 @@ public abstract class AbstractSignatureForm {
 
 	private TimestampDTO contentTimestamp;
 
+	private String signingSessionId;
+
 	public boolean isNexuDetected() {
 		return nexuDetected;
 	}
@@ -136,4 +138,12 @@ public abstract class AbstractSignatureForm {
 		this.contentTimestamp = contentTimestamp;
 	}
 
+	public String getSigningSessionId() {
+		return signingSessionId;
+	}
+
+	public void setSigningSessionId(String signingSessionId) {
+		this.signingSessionId = signingSessionId;
+	}
+
 }
@@ -1,22 +1,28 @@
 package eu.europa.esig.dss.web.model;
 
 import eu.europa.esig.dss.enumerations.ASiCContainerType;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.utils.Utils;
 import eu.europa.esig.dss.web.WebAppUtils;
 import eu.europa.esig.dss.web.validation.AssertMultipartFile;
 import jakarta.validation.constraints.AssertTrue;
-import jakarta.validation.constraints.NotNull;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
 public class SignatureMultipleDocumentsForm extends AbstractSignatureForm implements ContainerDocumentForm {
 
-	@NotNull(message = "{error.container.type.mandatory}")
 	private ASiCContainerType containerType;
 
 	@AssertMultipartFile
 	private List<MultipartFile> documentsToSign;
 
+	/**
+	 * Digests of the documents computed by the browser, used instead of {@code documentsToSign}
+	 * when only the digests are sent to the server
+	 */
+	private List<OriginalFile> digestsToSign;
+
 	@Override
 	public ASiCContainerType getContainerType() {
 		return containerType;
@@ -34,9 +40,58 @@ public class SignatureMultipleDocumentsForm extends AbstractSignatureForm implem
 		this.documentsToSign = documentsToSign;
 	}
 
+	public List<OriginalFile> getDigestsToSign() {
+		return digestsToSign;
+	}
+
+	public void setDigestsToSign(List<OriginalFile> digestsToSign) {
+		this.digestsToSign = digestsToSign;
+	}
+
+	public boolean isSignDigestsOnly() {
+		return Utils.isCollectionNotEmpty(digestsToSign) && !WebAppUtils.isCollectionNotEmpty(documentsToSign);
+	}
+
 	@AssertTrue(message = "{error.to.sign.files.mandatory}")
 	public boolean isDocumentsToSign() {
-        return WebAppUtils.isCollectionNotEmpty(documentsToSign);
+        return WebAppUtils.isCollectionNotEmpty(documentsToSign) || isSignDigestsOnly();
+	}
+
+	@AssertTrue(message = "{error.container.type.mandatory}")
+	public boolean isContainerTypeValid() {
+		// several documents can only be signed without a container within a detached XAdES signature
+		return containerType != null || getSignatureForm() == null || SignatureForm.XAdES.equals(getSignatureForm());
+	}
+
+	@AssertTrue(message = "{error.to.sign.digests.container}")
+	public boolean isDigestsToSignValid() {
+		if (!isSignDigestsOnly()) {
+			return true;
+		}
+		// an ASiC container embeds the signed documents
+		if (containerType != null) {
+			return false;
+		}
+		for (OriginalFile originalFile : digestsToSign) {
+			if (!originalFile.isNotEmpty() || originalFile.getCompleteFile() != null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@AssertTrue(message = "{error.to.sign.digests.algorithm}")
+	public boolean isDigestsAlgorithmValid() {
+		if (!isSignDigestsOnly() || getDigestAlgorithm() == null) {
+			return true;
+		}
+		// the references of the signature are computed with the digest algorithm of the form
+		for (OriginalFile originalFile : digestsToSign) {
+			if (!getDigestAlgorithm().equals(originalFile.getDigestAlgorithm())) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 }
@@ -0,0 +1,314 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.config.CXFConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control of the REST/SOAP webservices.
+ * Every client (identified by its API key when configured, by its IP address otherwise) and every endpoint have a token bucket
+ * and a maximum number of concurrent requests. The cost of a request depends on its payload size
+ * and on the endpoint (validations being weighted).
+ */
+@Component
+public class ApiAdmissionService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ApiAdmissionService.class);
+
+	/** Key used for the new clients when the maximum number of tracked clients is reached */
+	private static final String OVERFLOW_CLIENT = "*";
+
+	/** Endpoint grouping all the paths not belonging to a webservice, so unknown paths do not add limits */
+	public static final String OTHER_ENDPOINT = "other";
+
+	/** The webservices addresses, used to group the requests by endpoint */
+	private static final String[] ENDPOINTS = new String[] {
+			CXFConfig.SOAP_SIGNATURE_ONE_DOCUMENT, CXFConfig.SOAP_SIGNATURE_MULTIPLE_DOCUMENTS, CXFConfig.SOAP_SIGNATURE_TRUSTED_LIST,
+			CXFConfig.SOAP_SIGNATURE_PAdES_WITH_EXTERNAL_CMS, CXFConfig.SOAP_SIGNATURE_EXTERNAL_CMS, CXFConfig.SOAP_VALIDATION,
+			CXFConfig.SOAP_CERTIFICATE_VALIDATION, CXFConfig.SOAP_SERVER_SIGNING, CXFConfig.SOAP_TIMESTAMP_SERVICE,
+			CXFConfig.REST_SIGNATURE_ONE_DOCUMENT, CXFConfig.REST_SIGNATURE_MULTIPLE_DOCUMENTS, CXFConfig.REST_SIGNATURE_TRUSTED_LIST,
+			CXFConfig.REST_SIGNATURE_PAdES_WITH_EXTERNAL_CMS, CXFConfig.REST_SIGNATURE_EXTERNAL_CMS, CXFConfig.REST_VALIDATION,
+			CXFConfig.REST_CERTIFICATE_VALIDATION, CXFConfig.REST_SERVER_SIGNING, CXFConfig.REST_SERVER_BULK_SIGNING,
+			CXFConfig.REST_TIMESTAMP_SERVICE, CXFConfig.REST_STREAMING_VALIDATION, CXFConfig.REST_STREAMING_SIGNATURE
+	};
+
+	/** The validation endpoints, having a higher cost */
+	private static final String[] VALIDATION_ENDPOINTS = new String[] {
+			CXFConfig.SOAP_VALIDATION, CXFConfig.SOAP_CERTIFICATE_VALIDATION,
+			CXFConfig.REST_VALIDATION, CXFConfig.REST_CERTIFICATE_VALIDATION, CXFConfig.REST_STREAMING_VALIDATION
+	};
+
+	public enum Decision {
+
+		/** The request can be processed */
+		ADMITTED,
+
+		/** The client exceeded its own limits (429) */
+		CLIENT_LIMITED,
+
+		/** The endpoint is saturated by all the clients (503) */
+		ENDPOINT_LIMITED
+
+	}
+
+	@Value("${api.admission.enabled:false}")
+	private boolean enabled;
+
+	@Value("${api.client.key.header:X-API-Key}")
+	private String clientKeyHeader;
+
+	/** The API keys having their own limits, any other key being ignored */
+	@Value("${api.client.keys:}")
+	private Set<String> clientKeys;
+
+	@Value("${api.client.rate:20}")
+	private double clientRate;
+
+	@Value("${api.client.burst:100}")
+	private long clientBurst;
+
+	@Value("${api.client.max.concurrent:8}")
+	private int clientMaxConcurrent;
+
+	@Value("${api.client.max.entries:10000}")
+	private int maxClients;
+
+	@Value("${api.endpoint.rate:100}")
+	private double endpointRate;
+
+	@Value("${api.endpoint.burst:200}")
+	private long endpointBurst;
+
+	@Value("${api.endpoint.max.concurrent:40}")
+	private int endpointMaxConcurrent;
+
+	@Value("${api.cost.size.unit:1048576}")
+	private long costSizeUnit;
+
+	/** The cost size units charged for a payload of unknown size (chunked transfer encoding) */
+	@Value("${api.cost.unknown.size:10}")
+	private long unknownSizeCost;
+
+	@Value("${api.cost.validation.weight:2}")
+	private int validationWeight;
+
+	private final Map<String, Limits> clients = new ConcurrentHashMap<>();
+
+	private final Map<String, Limits> endpoints = new ConcurrentHashMap<>();
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public String getClientKeyHeader() {
+		return clientKeyHeader;
+	}
+
+	/**
+	 * Returns the key of the client limits : the API key when it is a configured one, the IP address otherwise.
+	 * An unknown key is not trusted, as a new key on each request would give a new token bucket to the client.
+	 *
+	 * @param apiKey the API key header value (may be null)
+	 * @param remoteAddress the client IP address
+	 * @return the client key
+	 */
+	public String getClientKey(String apiKey, String remoteAddress) {
+		if (apiKey != null && clientKeys.contains(apiKey.trim())) {
+			return "key:" + apiKey.trim();
+		}
+		return "ip:" + remoteAddress;
+	}
+
+	/**
+	 * Returns the endpoint the path belongs to
+	 *
+	 * @param path the webservice path (after "/services")
+	 * @return the endpoint address, {@value #OTHER_ENDPOINT} for a path matching no webservice
+	 */
+	public String getEndpoint(String path) {
+		for (String endpoint : ENDPOINTS) {
+			if (path.equals(endpoint) || path.startsWith(endpoint + "/")) {
+				return endpoint;
+			}
+		}
+		return OTHER_ENDPOINT;
+	}
+
+	/**
+	 * Computes the number of tokens consumed by a request
+	 *
+	 * @param endpoint the endpoint address
+	 * @param contentLength the payload size (0 without payload, -1 if unknown)
+	 * @return the cost of the request
+	 */
+	public long getCost(String endpoint, long contentLength) {
+		long cost = 1;
+		if (contentLength < 0) {
+			// the payload size is not announced, the upper bound is charged
+			cost += unknownSizeCost;
+		} else if (costSizeUnit > 0) {
+			cost += contentLength / costSizeUnit;
+		}
+		for (String validationEndpoint : VALIDATION_ENDPOINTS) {
+			if (validationEndpoint.equals(endpoint)) {
+				return cost * validationWeight;
+			}
+		}
+		return cost;
+	}
+
+	/**
+	 * Tries to admit a request. When admitted, {@link Admission#release()} shall be called once the request is processed.
+	 *
+	 * @param clientKey the client API key or IP address
+	 * @param endpoint the endpoint address
+	 * @param cost the request cost
+	 * @return {@link Admission}
+	 */
+	public Admission tryAdmit(String clientKey, String endpoint, long cost) {
+		String trackedKey = getTrackedKey(clientKey);
+		Limits client;
+		while (true) {
+			client = clients.computeIfAbsent(trackedKey, k -> newClient());
+			if (!client.concurrency.tryAcquire()) {
+				return new Admission(Decision.CLIENT_LIMITED, TimeUnit.SECONDS.toNanos(1), null, null);
+			}
+			// the idle client may have been purged before the permit was acquired : its limits would no longer be
+			// shared, the new mapped instance is used instead (the check locks the entry as the purge does)
+			if (clients.computeIfPresent(trackedKey, (k, v) -> v) == client) {
+				break;
+			}
+			client.concurrency.release();
+		}
+		long clientWait = client.bucket.tryConsume(cost);
+		if (clientWait > 0) {
+			client.concurrency.release();
+			return new Admission(Decision.CLIENT_LIMITED, clientWait, null, null);
+		}
+
+		Limits endpointLimits = endpoints.computeIfAbsent(endpoint, e -> new Limits(endpointBurst, endpointRate, endpointMaxConcurrent));
+		if (!endpointLimits.concurrency.tryAcquire()) {
+			client.bucket.refund(cost);
+			client.concurrency.release();
+			return new Admission(Decision.ENDPOINT_LIMITED, TimeUnit.SECONDS.toNanos(1), null, null);
+		}
+		long endpointWait = endpointLimits.bucket.tryConsume(cost);
+		if (endpointWait > 0) {
+			endpointLimits.concurrency.release();
+			client.bucket.refund(cost);
+			client.concurrency.release();
+			return new Admission(Decision.ENDPOINT_LIMITED, endpointWait, null, null);
+		}
+		return new Admission(Decision.ADMITTED, 0, client, endpointLimits);
+	}
+
+	private String getTrackedKey(String clientKey) {
+		if (clients.containsKey(clientKey)) {
+			return clientKey;
+		}
+		if (clients.size() >= maxClients) {
+			purgeIdleClients();
+			if (clients.size() >= maxClients) {
+				LOG.warn("Maximum number of tracked API clients reached ({})", maxClients);
+				return OVERFLOW_CLIENT;
+			}
+		}
+		return clientKey;
+	}
+
+	private Limits newClient() {
+		return new Limits(clientBurst, clientRate, clientMaxConcurrent);
+	}
+
+	/**
+	 * Forgets the clients without request in progress and with a full bucket
+	 */
+	@Scheduled(initialDelayString = "${api.client.purge.delay:60000}", fixedDelayString = "${api.client.purge.delay:60000}")
+	public void purgeIdleClients() {
+		for (String clientKey : clients.keySet()) {
+			// the entry is locked while checked, see tryAdmit
+			clients.computeIfPresent(clientKey, (k, v) -> v.isIdle() ? null : v);
+		}
+	}
+
+	public int getNumberOfClients() {
+		return clients.size();
+	}
+
+	/**
+	 * The result of an admission request
+	 */
+	public static final class Admission {
+
+		private final Decision decision;
+
+		private final long retryAfterNanos;
+
+		private final Limits client;
+
+		private final Limits endpoint;
+
+		private Admission(Decision decision, long retryAfterNanos, Limits client, Limits endpoint) {
+			this.decision = decision;
+			this.retryAfterNanos = retryAfterNanos;
+			this.client = client;
+			this.endpoint = endpoint;
+		}
+
+		public Decision getDecision() {
+			return decision;
+		}
+
+		/**
+		 * Returns the delay before the client can retry, rounded up to the second (for a "Retry-After" header)
+		 *
+		 * @return number of seconds
+		 */
+		public long getRetryAfterSeconds() {
+			return Math.max(1, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+		}
+
+		/**
+		 * Releases the concurrency slots of an admitted request
+		 */
+		public void release() {
+			if (endpoint != null) {
+				endpoint.concurrency.release();
+			}
+			if (client != null) {
+				client.concurrency.release();
+			}
+		}
+
+	}
+
+	private static final class Limits {
+
+		private final TokenBucket bucket;
+
+		private final Semaphore concurrency;
+
+		private final int maxConcurrent;
+
+		private Limits(long burst, double rate, int maxConcurrent) {
+			this.bucket = new TokenBucket(burst, rate);
+			this.concurrency = new Semaphore(maxConcurrent);
+			this.maxConcurrent = maxConcurrent;
+		}
+
+		private boolean isIdle() {
+			return concurrency.availablePermits() == maxConcurrent && bucket.isFull();
+		}
+
+	}
+
+}
@@ -0,0 +1,128 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.SignatureAlgorithm;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.KeyStoreSignatureTokenConnection;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.exception.SignatureOperationException;
+import eu.europa.esig.dss.ws.converter.DTOConverter;
+import eu.europa.esig.dss.ws.converter.RemoteCertificateConverter;
+import eu.europa.esig.dss.ws.dto.RemoteCertificate;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
+import eu.europa.esig.dss.ws.dto.ToBeSignedDTO;
+import eu.europa.esig.dss.ws.signature.common.RemoteDocumentSignatureService;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteBLevelParameters;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Signs a batch of documents with a key of the server-side keystore.
+ * Instead of three round-trips per document (getDataToSign, sign, signDocument),
+ * the key is resolved once, all data to be signed are computed and signed in one pass,
+ * and the signed documents are produced one by one on demand.
+ */
+@Component
+public class BulkSigningService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BulkSigningService.class);
+
+	@Autowired
+	private RemoteDocumentSignatureService remoteSignatureService;
+
+	@Autowired
+	private KeyStoreSignatureTokenConnection remoteToken;
+
+	/**
+	 * Completes the {@code parameters} with the signing key information and computes
+	 * the signature values for all the given documents
+	 *
+	 * @param alias {@link String} alias of the key to be used from the server keystore
+	 * @param parameters {@link RemoteSignatureParameters} shared by all the documents
+	 * @param documents list of {@link RemoteDocument}s to be signed
+	 * @return list of {@link SignatureValueDTO}s, in the same order as {@code documents}
+	 */
+	public List<SignatureValueDTO> getSignatureValues(String alias, RemoteSignatureParameters parameters, List<RemoteDocument> documents) {
+		LOG.info("Start bulk signature of {} document(s)", documents.size());
+		DSSPrivateKeyEntry key = remoteToken.getKey(alias);
+		if (key == null) {
+			throw new SignatureOperationException(String.format("No key found for alias '%s'!", alias), null);
+		}
+
+		fillKeyParameters(parameters, key);
+
+		SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.getAlgorithm(parameters.getEncryptionAlgorithm(), parameters.getDigestAlgorithm());
+		if (signatureAlgorithm == null) {
+			throw new SignatureOperationException(String.format("Unsupported combination of encryption algorithm '%s' and digest algorithm '%s'!",
+					parameters.getEncryptionAlgorithm(), parameters.getDigestAlgorithm()), null);
+		}
+
+		try {
+			List<SignatureValueDTO> signatureValues = new ArrayList<>(documents.size());
+			for (RemoteDocument document : documents) {
+				ToBeSignedDTO dataToSign = remoteSignatureService.getDataToSign(document, parameters);
+				ToBeSigned toBeSigned = DTOConverter.toToBeSigned(dataToSign);
+				SignatureValue signatureValue = remoteToken.sign(toBeSigned, signatureAlgorithm, key);
+				signatureValues.add(DTOConverter.toSignatureValueDTO(signatureValue));
+			}
+			LOG.info("End bulk computation of {} signature value(s)", signatureValues.size());
+			return signatureValues;
+		} catch (Exception e) {
+			throw new SignatureOperationException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Incorporates the signature value into the document
+	 *
+	 * @param document {@link RemoteDocument} to be signed
+	 * @param parameters {@link RemoteSignatureParameters} completed by {@code getSignatureValues(...)}
+	 * @param signatureValue {@link SignatureValueDTO} computed for the document
+	 * @return {@link RemoteDocument} signed document
+	 */
+	public RemoteDocument signDocument(RemoteDocument document, RemoteSignatureParameters parameters, SignatureValueDTO signatureValue) {
+		try {
+			return remoteSignatureService.signDocument(document, parameters, signatureValue);
+		} catch (Exception e) {
+			throw new SignatureOperationException(e.getMessage(), e);
+		}
+	}
+
+	private void fillKeyParameters(RemoteSignatureParameters parameters, DSSPrivateKeyEntry key) {
+		parameters.setSigningCertificate(RemoteCertificateConverter.toRemoteCertificate(key.getCertificate()));
+
+		List<RemoteCertificate> certificateChain = new ArrayList<>();
+		CertificateToken[] keyChain = key.getCertificateChain();
+		if (Utils.isArrayNotEmpty(keyChain)) {
+			for (CertificateToken certificateToken : keyChain) {
+				certificateChain.add(RemoteCertificateConverter.toRemoteCertificate(certificateToken));
+			}
+		}
+		parameters.setCertificateChain(certificateChain);
+
+		if (parameters.getEncryptionAlgorithm() == null) {
+			parameters.setEncryptionAlgorithm(key.getEncryptionAlgorithm());
+		}
+
+		// the same signing time must be used to compute the data to be signed and to incorporate the signature value
+		RemoteBLevelParameters bLevelParams = parameters.getBLevelParams();
+		if (bLevelParams == null) {
+			bLevelParams = new RemoteBLevelParameters();
+			parameters.setBLevelParams(bLevelParams);
+		}
+		if (bLevelParams.getSigningDate() == null) {
+			bLevelParams.setSigningDate(new Date());
+		}
+	}
+
+}
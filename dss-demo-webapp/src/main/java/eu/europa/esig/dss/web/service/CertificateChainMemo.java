@@ -0,0 +1,148 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the issuer certificates retrieved for a certificate during the chain building, shared between the validations.
+ * The entries are keyed by the certificate digest, within a version of the trust anchors :
+ * the memo is cleared when the trusted certificates change (e.g. after a TL refresh).
+ * An entry is retrieved again once expired, as the AIA file cache (e.g. after a CA certificate renewal).
+ * The issuers are returned as new tokens, the tokens of a validation carry its own verification state.
+ */
+@SuppressWarnings("serial")
+public class CertificateChainMemo implements AIASource {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CertificateChainMemo.class);
+
+	private final AIASource aiaSource;
+
+	private final int maxEntries;
+
+	/** Expiration time of the entries in milliseconds (-1 never expires) */
+	private final long expirationTime;
+
+	/** Issuers by certificate digest, the least recently used are evicted first */
+	private final transient Map<String, Issuers> issuers;
+
+	/** Version of the trust anchors, incremented when the trusted certificates change */
+	private long trustAnchorVersion;
+
+	/** Fingerprint of the trusted certificates of the current version */
+	private int trustAnchorFingerprint;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param aiaSource {@link AIASource} retrieving the issuers missing in the memo
+	 * @param maxEntries maximum number of memoized certificates
+	 * @param expirationTime expiration time of the entries in milliseconds (-1 never expires)
+	 */
+	public CertificateChainMemo(AIASource aiaSource, int maxEntries, long expirationTime) {
+		this.aiaSource = aiaSource;
+		this.maxEntries = maxEntries;
+		this.expirationTime = expirationTime;
+		this.issuers = new LinkedHashMap<>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Issuers> eldest) {
+				return size() > CertificateChainMemo.this.maxEntries;
+			}
+
+		};
+	}
+
+	@Override
+	public Set<CertificateToken> getCertificatesByAIA(CertificateToken certificateToken) {
+		if (maxEntries < 1) {
+			return aiaSource.getCertificatesByAIA(certificateToken);
+		}
+
+		String digest = Utils.toHex(certificateToken.getDigest(DigestAlgorithm.SHA256));
+		long version;
+		synchronized (this) {
+			version = trustAnchorVersion;
+			Issuers memoized = issuers.get(digest);
+			if (memoized != null) {
+				if (!isExpired(memoized)) {
+					return toTokens(memoized.certificates);
+				}
+				issuers.remove(digest);
+			}
+		}
+
+		Set<CertificateToken> certificates = aiaSource.getCertificatesByAIA(certificateToken);
+		if (Utils.isCollectionNotEmpty(certificates)) {
+			List<X509Certificate> retrieved = new ArrayList<>();
+			for (CertificateToken certificate : certificates) {
+				retrieved.add(certificate.getCertificate());
+			}
+			synchronized (this) {
+				// not kept if the trust anchors changed in the meantime
+				if (version == trustAnchorVersion) {
+					issuers.put(digest, new Issuers(retrieved, System.currentTimeMillis()));
+				}
+			}
+		}
+		return certificates;
+	}
+
+	private boolean isExpired(Issuers memoized) {
+		return expirationTime >= 0 && System.currentTimeMillis() - memoized.retrievalTime >= expirationTime;
+	}
+
+	private Set<CertificateToken> toTokens(List<X509Certificate> certificates) {
+		Set<CertificateToken> tokens = new LinkedHashSet<>();
+		for (X509Certificate certificate : certificates) {
+			tokens.add(new CertificateToken(certificate));
+		}
+		return tokens;
+	}
+
+	/**
+	 * Clears the memo when the trusted certificates changed since the last call
+	 *
+	 * @param trustedCertificateSource {@link CertificateSource} the trust anchors
+	 */
+	public void refreshTrustAnchors(CertificateSource trustedCertificateSource) {
+		// independent of the order of the certificates
+		int fingerprint = 0;
+		for (CertificateToken certificate : trustedCertificateSource.getCertificates()) {
+			fingerprint += certificate.getDSSIdAsString().hashCode();
+		}
+		synchronized (this) {
+			if (fingerprint != trustAnchorFingerprint) {
+				trustAnchorFingerprint = fingerprint;
+				trustAnchorVersion++;
+				issuers.clear();
+				LOG.info("Trust anchors changed, the memoized certificate chains are cleared (version {})", trustAnchorVersion);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of memoized certificates
+	 *
+	 * @return number of entries
+	 */
+	public synchronized int size() {
+		return issuers.size();
+	}
+
+	private record Issuers(List<X509Certificate> certificates, long retrievalTime) {
+	}
+
+}
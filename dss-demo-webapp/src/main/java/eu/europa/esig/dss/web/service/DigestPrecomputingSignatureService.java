@@ -0,0 +1,64 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SerializableSignatureParameters;
+import eu.europa.esig.dss.model.SerializableTimestampParameters;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
+import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
+
+import java.util.List;
+
+/**
+ * Wraps a {@code MultipleDocumentsSignatureService} in order to compute the digests of the documents
+ * in parallel with {@code DocumentDigestService} before delegating the signature operation.
+ *
+ * @param <SP> signature parameters
+ * @param <TP> timestamp parameters
+ */
+@SuppressWarnings("serial")
+public class DigestPrecomputingSignatureService<SP extends SerializableSignatureParameters, TP extends SerializableTimestampParameters>
+		implements MultipleDocumentsSignatureService<SP, TP> {
+
+	private final MultipleDocumentsSignatureService<SP, TP> service;
+
+	private final transient DocumentDigestService documentDigestService;
+
+	public DigestPrecomputingSignatureService(MultipleDocumentsSignatureService<SP, TP> service, DocumentDigestService documentDigestService) {
+		this.service = service;
+		this.documentDigestService = documentDigestService;
+	}
+
+	@Override
+	public TimestampToken getContentTimestamp(List<DSSDocument> toSignDocuments, SP parameters) {
+		return service.getContentTimestamp(documentDigestService.computeDigests(toSignDocuments, parameters), parameters);
+	}
+
+	@Override
+	public ToBeSigned getDataToSign(List<DSSDocument> toSignDocuments, SP parameters) {
+		return service.getDataToSign(documentDigestService.computeDigests(toSignDocuments, parameters), parameters);
+	}
+
+	@Override
+	public boolean isValidSignatureValue(ToBeSigned toBeSigned, SignatureValue signatureValue, CertificateToken signingCertificate) {
+		return service.isValidSignatureValue(toBeSigned, signatureValue, signingCertificate);
+	}
+
+	@Override
+	public DSSDocument signDocument(List<DSSDocument> toSignDocuments, SP parameters, SignatureValue signatureValue) {
+		return service.signDocument(documentDigestService.computeDigests(toSignDocuments, parameters), parameters, signatureValue);
+	}
+
+	@Override
+	public DSSDocument extendDocument(DSSDocument toExtendDocument, SP parameters) {
+		return service.extendDocument(toExtendDocument, parameters);
+	}
+
+	@Override
+	public DSSDocument timestamp(List<DSSDocument> toTimestampDocuments, TP parameters) {
+		return service.timestamp(documentDigestService.computeDigests(toTimestampDocuments, parameters), parameters);
+	}
+
+}
@@ -0,0 +1,152 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.AbstractSerializableSignatureParameters;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SerializableSignatureParameters;
+import eu.europa.esig.dss.model.SerializableTimestampParameters;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the digests of the documents to be signed in parallel, before they are given to DSS.
+ * Each document is read once for all the required digest algorithms, and the digests are kept
+ * in the document digest cache, so the manifest (ASiC) and the reference (XAdES/JAdES) digests
+ * are not computed again sequentially by the signature service.
+ */
+@Component
+public class DocumentDigestService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(DocumentDigestService.class);
+
+	private final ExecutorService executorService;
+
+	public DocumentDigestService(@Value("${digest.pipeline.threads:0}") int threads) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		AtomicInteger counter = new AtomicInteger();
+		this.executorService = Executors.newFixedThreadPool(poolSize, r -> {
+			Thread thread = new Thread(r, "dss-digest-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executorService.shutdown();
+	}
+
+	/**
+	 * Computes the digests required by the signature parameters
+	 *
+	 * @param documents list of {@link DSSDocument}s to be signed
+	 * @param parameters {@link SerializableSignatureParameters}
+	 * @return list of {@link DSSDocument}s with the computed digests, in the same order
+	 */
+	public List<DSSDocument> computeDigests(List<DSSDocument> documents, SerializableSignatureParameters parameters) {
+		return computeDigests(documents, getDigestAlgorithms(parameters));
+	}
+
+	/**
+	 * Computes the digests required by the timestamp parameters
+	 *
+	 * @param documents list of {@link DSSDocument}s to be timestamped
+	 * @param parameters {@link SerializableTimestampParameters}
+	 * @return list of {@link DSSDocument}s with the computed digests, in the same order
+	 */
+	public List<DSSDocument> computeDigests(List<DSSDocument> documents, SerializableTimestampParameters parameters) {
+		if (parameters == null || parameters.getDigestAlgorithm() == null) {
+			return documents;
+		}
+		return computeDigests(documents, Collections.singleton(parameters.getDigestAlgorithm()));
+	}
+
+	/**
+	 * Computes the given digests of the documents, one document per task.
+	 * The in memory documents are replaced by {@code MultiDigestDocument}s sharing the same content.
+	 *
+	 * @param documents list of {@link DSSDocument}s
+	 * @param digestAlgorithms collection of {@link DigestAlgorithm}s to compute for every document
+	 * @return list of {@link DSSDocument}s with the computed digests, in the same order
+	 */
+	public List<DSSDocument> computeDigests(List<DSSDocument> documents, Collection<DigestAlgorithm> digestAlgorithms) {
+		if (documents == null || documents.size() < 2 || digestAlgorithms.isEmpty()) {
+			// nothing to parallelize
+			return documents;
+		}
+
+		long start = System.nanoTime();
+		List<Future<DSSDocument>> futures = new ArrayList<>(documents.size());
+		for (DSSDocument document : documents) {
+			futures.add(executorService.submit(() -> computeDigests(document, digestAlgorithms)));
+		}
+
+		List<DSSDocument> result = new ArrayList<>(documents.size());
+		try {
+			for (Future<DSSDocument> future : futures) {
+				result.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DSSException("Interrupted while computing the document digests", e);
+		} catch (ExecutionException e) {
+			throw new DSSException(String.format("Unable to compute the document digests : %s", e.getCause().getMessage()), e.getCause());
+		} finally {
+			for (Future<DSSDocument> future : futures) {
+				future.cancel(true);
+			}
+		}
+
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("Digests {} of {} documents computed in {} ms", digestAlgorithms, documents.size(),
+					(System.nanoTime() - start) / 1000000);
+		}
+		return result;
+	}
+
+	private DSSDocument computeDigests(DSSDocument document, Collection<DigestAlgorithm> digestAlgorithms) {
+		if (document instanceof InMemoryDocument) {
+			MultiDigestDocument multiDigestDocument = document instanceof MultiDigestDocument ?
+					(MultiDigestDocument) document : new MultiDigestDocument((InMemoryDocument) document);
+			multiDigestDocument.computeDigests(digestAlgorithms);
+			return multiDigestDocument;
+		}
+		// other documents (e.g. DigestDocument) keep their own digest handling
+		return document;
+	}
+
+	private Set<DigestAlgorithm> getDigestAlgorithms(SerializableSignatureParameters parameters) {
+		Set<DigestAlgorithm> digestAlgorithms = EnumSet.noneOf(DigestAlgorithm.class);
+		if (parameters == null) {
+			return digestAlgorithms;
+		}
+		if (parameters.getDigestAlgorithm() != null) {
+			digestAlgorithms.add(parameters.getDigestAlgorithm());
+		}
+		if (parameters instanceof AbstractSerializableSignatureParameters) {
+			DigestAlgorithm referenceDigestAlgorithm = ((AbstractSerializableSignatureParameters<?>) parameters).getReferenceDigestAlgorithm();
+			if (referenceDigestAlgorithm != null) {
+				digestAlgorithms.add(referenceDigestAlgorithm);
+			}
+		}
+		return digestAlgorithms;
+	}
+
+}
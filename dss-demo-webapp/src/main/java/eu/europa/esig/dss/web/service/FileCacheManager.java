@@ -0,0 +1,319 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.utils.Utils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Manages the directories of the file caches (CRL, OCSP, AIA, trusted lists, ...) under a common root.
+ * Each cache has its own directory, sharded in hashed subdirectories by {@code ShardedFileCacheDataLoader}.
+ * The evictable caches are bounded by a time-to-live and, all caches together, by a total size :
+ * the files exceeding the time-to-live are deleted, then the least recently written files until the size fits the budget.
+ */
+@Component
+public class FileCacheManager {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FileCacheManager.class);
+
+	/** Suffix of the files being written, before their move to the final name */
+	public static final String TEMPORARY_SUFFIX = ".tmp";
+
+	/** Root directory of the caches, "java.io.tmpdir/dss-cache" when empty */
+	@Value("${cache.file.directory:}")
+	private String directory;
+
+	/** Maximum total size of the caches, in bytes */
+	@Value("${cache.file.max.size:536870912}")
+	private long maxSize;
+
+	/** Time-to-live of a cached file since its last write, in seconds */
+	@Value("${cache.file.max.age:604800}")
+	private long maxAge;
+
+	/** Number of hashed subdirectories of a cache */
+	@Value("${cache.file.shards:16}")
+	private int shards;
+
+	private File rootDirectory;
+
+	private final Map<String, CacheDirectory> caches = new ConcurrentHashMap<>();
+
+	private final LongAdder evictedFiles = new LongAdder();
+
+	private final LongAdder evictedBytes = new LongAdder();
+
+	private final AtomicLong lastEvictionMillis = new AtomicLong();
+
+	@PostConstruct
+	public void init() {
+		if (Utils.isStringEmpty(directory)) {
+			rootDirectory = new File(System.getProperty("java.io.tmpdir"), "dss-cache");
+		} else {
+			rootDirectory = new File(directory);
+		}
+		if (rootDirectory.mkdirs()) {
+			LOG.info("File cache folder : {}", rootDirectory.getAbsolutePath());
+		}
+	}
+
+	/**
+	 * Returns the directory of the given cache, its files are evicted by time-to-live and total size
+	 *
+	 * @param name the cache name
+	 * @return {@link File} directory
+	 */
+	public File getCacheDirectory(String name) {
+		return getCacheDirectory(name, true);
+	}
+
+	/**
+	 * Returns the directory of the given cache
+	 *
+	 * @param name the cache name
+	 * @param evictable false if the cached files shall be kept (e.g. the trusted lists used for the offline loading),
+	 *                  they still count in the total size
+	 * @return {@link File} directory
+	 */
+	public File getCacheDirectory(String name, boolean evictable) {
+		return caches.computeIfAbsent(name, n -> new CacheDirectory(new File(rootDirectory, n), evictable)).directory;
+	}
+
+	/**
+	 * Returns the number of hashed subdirectories of a cache
+	 *
+	 * @return number of shards
+	 */
+	public int getShards() {
+		return shards;
+	}
+
+	/**
+	 * Records a cache request
+	 *
+	 * @param name the cache name
+	 */
+	public void recordRequest(String name) {
+		CacheDirectory cache = caches.get(name);
+		if (cache != null) {
+			cache.requests.increment();
+		}
+	}
+
+	/**
+	 * Records a file written in the cache (first load or refresh)
+	 *
+	 * @param name the cache name
+	 * @param bytes the size of the written file
+	 */
+	public void recordWrite(String name, long bytes) {
+		CacheDirectory cache = caches.get(name);
+		if (cache != null) {
+			cache.writes.increment();
+			cache.writtenBytes.add(bytes);
+		}
+	}
+
+	/**
+	 * Deletes the expired files, then the least recently written files of the evictable caches
+	 * until the total size fits the budget
+	 */
+	@Scheduled(initialDelayString = "${cache.file.eviction.delay:600000}", fixedDelayString = "${cache.file.eviction.delay:600000}")
+	public synchronized void evict() {
+		long start = System.currentTimeMillis();
+		long expiration = start - maxAge * 1000;
+
+		List<CachedFile> evictable = new ArrayList<>();
+		long totalSize = 0;
+		for (CacheDirectory cache : caches.values()) {
+			long cacheFiles = 0;
+			long cacheBytes = 0;
+			for (CachedFile file : list(cache.directory)) {
+				if (cache.evictable && file.lastModified < expiration) {
+					delete(file);
+					continue;
+				}
+				if (file.temporary) {
+					// an interrupted write, or a write in progress
+					if (file.lastModified < start - 3600_000) {
+						delete(file);
+					}
+					continue;
+				}
+				cacheFiles++;
+				cacheBytes += file.size;
+				if (cache.evictable) {
+					evictable.add(file);
+				}
+			}
+			cache.files.set(cacheFiles);
+			cache.bytes.set(cacheBytes);
+			totalSize += cacheBytes;
+		}
+
+		if (totalSize > maxSize) {
+			evictable.sort(Comparator.comparingLong(f -> f.lastModified));
+			for (CachedFile file : evictable) {
+				if (totalSize <= maxSize) {
+					break;
+				}
+				if (delete(file)) {
+					totalSize -= file.size;
+					CacheDirectory cache = file.cache(caches.values());
+					if (cache != null) {
+						cache.files.decrementAndGet();
+						cache.bytes.addAndGet(-file.size);
+					}
+				}
+			}
+		}
+
+		lastEvictionMillis.set(System.currentTimeMillis() - start);
+		LOG.debug("File caches evicted in {} ms, total size : {} bytes", lastEvictionMillis.get(), totalSize);
+	}
+
+	private List<CachedFile> list(File cacheDirectory) {
+		if (!cacheDirectory.isDirectory()) {
+			return new ArrayList<>();
+		}
+		try (Stream<Path> paths = Files.walk(cacheDirectory.toPath())) {
+			List<CachedFile> files = new ArrayList<>();
+			paths.forEach(path -> {
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					if (attributes.isRegularFile()) {
+						files.add(new CachedFile(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+					}
+				} catch (IOException e) {
+					// deleted in the meantime
+					LOG.trace("Unable to read the attributes of {} : {}", path, e.getMessage());
+				}
+			});
+			return files;
+		} catch (IOException | UncheckedIOException e) {
+			throw new DSSException(String.format("Unable to list the cache directory %s : %s", cacheDirectory, e.getMessage()), e);
+		}
+	}
+
+	private boolean delete(CachedFile file) {
+		try {
+			if (Files.deleteIfExists(file.path)) {
+				evictedFiles.increment();
+				evictedBytes.add(file.size);
+				return true;
+			}
+		} catch (IOException e) {
+			LOG.warn("Unable to delete the cached file {} : {}", file.path, e.getMessage());
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the statistics by cache, and of the eviction
+	 *
+	 * @return map of statistics by cache name
+	 */
+	public Map<String, Map<String, Object>> getStatistics() {
+		Map<String, Map<String, Object>> statistics = new TreeMap<>();
+		long totalBytes = 0;
+		for (Map.Entry<String, CacheDirectory> entry : caches.entrySet()) {
+			CacheDirectory cache = entry.getValue();
+			long requests = cache.requests.sum();
+			long writes = cache.writes.sum();
+			Map<String, Object> values = new TreeMap<>();
+			values.put("directory", cache.directory.getAbsolutePath());
+			values.put("evictable", cache.evictable);
+			values.put("files", cache.files.get());
+			values.put("bytes", cache.bytes.get());
+			values.put("requests", requests);
+			values.put("writes", writes);
+			values.put("writtenBytes", cache.writtenBytes.sum());
+			statistics.put(entry.getKey(), values);
+			totalBytes += cache.bytes.get();
+		}
+		Map<String, Object> eviction = new TreeMap<>();
+		eviction.put("maxBytes", maxSize);
+		eviction.put("totalBytes", totalBytes);
+		eviction.put("evictedFiles", evictedFiles.sum());
+		eviction.put("evictedBytes", evictedBytes.sum());
+		eviction.put("lastEvictionMillis", lastEvictionMillis.get());
+		statistics.put("eviction", eviction);
+		return statistics;
+	}
+
+	private static final class CacheDirectory {
+
+		private final File directory;
+
+		private final boolean evictable;
+
+		private final LongAdder requests = new LongAdder();
+
+		private final LongAdder writes = new LongAdder();
+
+		private final LongAdder writtenBytes = new LongAdder();
+
+		/** Number of files and total size at the last eviction */
+		private final AtomicLong files = new AtomicLong();
+
+		private final AtomicLong bytes = new AtomicLong();
+
+		private CacheDirectory(File directory, boolean evictable) {
+			this.directory = directory;
+			this.evictable = evictable;
+			if (directory.mkdirs()) {
+				LOG.info("Cache folder : {}", directory.getAbsolutePath());
+			}
+		}
+
+	}
+
+	private static final class CachedFile {
+
+		private final Path path;
+
+		private final long size;
+
+		private final long lastModified;
+
+		private final boolean temporary;
+
+		private CachedFile(Path path, long size, long lastModified) {
+			this.path = path;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.temporary = path.getFileName().toString().endsWith(TEMPORARY_SUFFIX);
+		}
+
+		private CacheDirectory cache(Iterable<CacheDirectory> caches) {
+			for (CacheDirectory cache : caches) {
+				if (path.startsWith(cache.directory.toPath())) {
+					return cache;
+				}
+			}
+			return null;
+		}
+
+	}
+
+}
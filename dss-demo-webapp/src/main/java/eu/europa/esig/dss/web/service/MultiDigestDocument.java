@@ -0,0 +1,78 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.InMemoryDocument;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * In memory document able to compute several digests within a single pass over its content.
+ * The computed digests are kept in the document digest cache, so they are not computed again by DSS.
+ */
+@SuppressWarnings("serial")
+public class MultiDigestDocument extends InMemoryDocument {
+
+	/** Size of the chunks given to all the message digests before reading the next one */
+	private static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * Creates a document sharing the content of the given one
+	 *
+	 * @param document {@link InMemoryDocument}
+	 */
+	public MultiDigestDocument(InMemoryDocument document) {
+		super(document.getBytes(), document.getName(), document.getMimeType());
+	}
+
+	/**
+	 * Computes all the not yet known digests within a single pass over the document content
+	 *
+	 * @param digestAlgorithms collection of {@link DigestAlgorithm}s to compute
+	 */
+	public void computeDigests(Collection<DigestAlgorithm> digestAlgorithms) {
+		if (digestMap == null) {
+			digestMap = new EnumMap<>(DigestAlgorithm.class);
+		}
+
+		List<DigestAlgorithm> toCompute = new ArrayList<>();
+		List<MessageDigest> messageDigests = new ArrayList<>();
+		for (DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+			if (!digestMap.containsKey(digestAlgorithm) && !toCompute.contains(digestAlgorithm)) {
+				MessageDigest messageDigest = getMessageDigest(digestAlgorithm);
+				if (messageDigest != null) {
+					toCompute.add(digestAlgorithm);
+					messageDigests.add(messageDigest);
+				}
+			}
+		}
+		if (toCompute.isEmpty()) {
+			return;
+		}
+
+		byte[] bytes = getBytes();
+		for (int offset = 0; offset < bytes.length; offset += CHUNK_SIZE) {
+			int length = Math.min(CHUNK_SIZE, bytes.length - offset);
+			for (MessageDigest messageDigest : messageDigests) {
+				messageDigest.update(bytes, offset, length);
+			}
+		}
+		for (int i = 0; i < toCompute.size(); i++) {
+			digestMap.put(toCompute.get(i), messageDigests.get(i).digest());
+		}
+	}
+
+	private MessageDigest getMessageDigest(DigestAlgorithm digestAlgorithm) {
+		try {
+			return digestAlgorithm.getMessageDigest();
+		} catch (NoSuchAlgorithmException e) {
+			// not supported by the default providers, the digest will be computed by DSS on demand
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,179 @@
+package eu.europa.esig.dss.web.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Remembers the URLs of the failed revocation and AIA lookups, so the following lookups of the same URL
+ * fail immediately instead of paying the connection timeout again.
+ * A failure is kept for a time-to-live, multiplied on each consecutive failure of the same type up to a maximum.
+ */
+@Component
+public class NegativeCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NegativeCache.class);
+
+	private static final Pattern HTTP_STATUS = Pattern.compile("HTTP status code : (\\d{3})");
+
+	@Value("${negative.cache.enabled:true}")
+	private boolean enabled;
+
+	/** Time-to-live of a first failure, in seconds */
+	@Value("${negative.cache.ttl:60}")
+	private long ttl;
+
+	/** Maximum time-to-live of a repeated failure, in seconds */
+	@Value("${negative.cache.max.ttl:900}")
+	private long maxTtl;
+
+	/** Multiplier of the time-to-live on each consecutive failure */
+	@Value("${negative.cache.backoff.multiplier:2}")
+	private double backoffMultiplier;
+
+	/** Maximum number of failed URLs kept at the same time */
+	@Value("${negative.cache.max.entries:10000}")
+	private int maxEntries;
+
+	private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+
+	/**
+	 * Checks whether the lookup of the URL failed recently
+	 *
+	 * @param url the URL to be fetched
+	 * @return {@link Failure} the last failure if it is still within its time-to-live, NULL otherwise
+	 */
+	public Failure getActiveFailure(String url) {
+		if (!enabled) {
+			return null;
+		}
+		Failure failure = failures.get(url);
+		if (failure == null || !failure.isActive()) {
+			return null;
+		}
+		failure.skipped.increment();
+		return failure;
+	}
+
+	/**
+	 * Records a failed lookup
+	 *
+	 * @param url the fetched URL
+	 * @param exception the failure cause
+	 */
+	public void recordFailure(String url, Exception exception) {
+		if (!enabled || (failures.size() >= maxEntries && !failures.containsKey(url))) {
+			return;
+		}
+		String type = getFailureType(exception);
+		failures.compute(url, (u, previous) -> {
+			int consecutive = previous != null && previous.type.equals(type) ? previous.consecutiveFailures + 1 : 1;
+			long backoff = (long) Math.min(maxTtl, ttl * Math.pow(backoffMultiplier, consecutive - 1));
+			LOG.debug("Lookup of '{}' failed ({}), skipped for {} seconds", url, type, backoff);
+			return new Failure(type, consecutive, Instant.now().plusSeconds(backoff));
+		});
+	}
+
+	/**
+	 * Forgets the failures of a URL after a successful lookup
+	 *
+	 * @param url the fetched URL
+	 */
+	public void recordSuccess(String url) {
+		if (!failures.isEmpty()) {
+			failures.remove(url);
+		}
+	}
+
+	/**
+	 * Returns the failure type : the HTTP status code, or the name of the root cause (e.g. UnknownHostException)
+	 *
+	 * @param exception the failure
+	 * @return the failure type
+	 */
+	static String getFailureType(Throwable exception) {
+		Throwable cause = exception;
+		Throwable rootCause = exception;
+		while (cause != null) {
+			if (cause.getMessage() != null) {
+				Matcher matcher = HTTP_STATUS.matcher(cause.getMessage());
+				if (matcher.find()) {
+					return "HTTP " + matcher.group(1);
+				}
+			}
+			rootCause = cause;
+			cause = cause.getCause() != cause ? cause.getCause() : null;
+		}
+		return rootCause.getClass().getSimpleName();
+	}
+
+	/**
+	 * Removes the failures which exceeded the maximum time-to-live, the consecutive failures are counted again
+	 */
+	@Scheduled(initialDelayString = "${negative.cache.purge.delay:60000}", fixedDelayString = "${negative.cache.purge.delay:60000}")
+	public void purgeExpired() {
+		Instant limit = Instant.now().minusSeconds(maxTtl);
+		failures.values().removeIf(failure -> failure.retryAt.isBefore(limit));
+	}
+
+	/**
+	 * Returns the failed URLs with their failure type, the number of consecutive failures and the next allowed lookup
+	 *
+	 * @return map of statistics by URL
+	 */
+	public Map<String, Map<String, Object>> getStatistics() {
+		Map<String, Map<String, Object>> statistics = new TreeMap<>();
+		for (Map.Entry<String, Failure> entry : failures.entrySet()) {
+			Failure failure = entry.getValue();
+			Map<String, Object> values = new TreeMap<>();
+			values.put("type", failure.type);
+			values.put("consecutiveFailures", failure.consecutiveFailures);
+			values.put("retryAt", failure.retryAt.toString());
+			values.put("active", failure.isActive());
+			values.put("skippedLookups", failure.skipped.sum());
+			statistics.put(entry.getKey(), values);
+		}
+		return statistics;
+	}
+
+	public static final class Failure {
+
+		private final String type;
+
+		private final int consecutiveFailures;
+
+		private final Instant retryAt;
+
+		private final LongAdder skipped = new LongAdder();
+
+		private Failure(String type, int consecutiveFailures, Instant retryAt) {
+			this.type = type;
+			this.consecutiveFailures = consecutiveFailures;
+			this.retryAt = retryAt;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public Instant getRetryAt() {
+			return retryAt;
+		}
+
+		private boolean isActive() {
+			return Instant.now().isBefore(retryAt);
+		}
+
+	}
+
+}
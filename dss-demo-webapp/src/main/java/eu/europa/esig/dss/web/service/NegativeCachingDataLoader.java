@@ -0,0 +1,110 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Data loader failing immediately on the URLs which recently failed, according to the {@code NegativeCache}.
+ * The GET lookups (CRL, AIA) are skipped on any failure, the POST lookups (OCSP) only on a connection failure,
+ * since the response may depend on the request.
+ */
+@SuppressWarnings("serial")
+public class NegativeCachingDataLoader implements DataLoader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(NegativeCachingDataLoader.class);
+
+	private final DataLoader dataLoader;
+
+	private final transient NegativeCache negativeCache;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param dataLoader {@link DataLoader} performing the lookups
+	 * @param negativeCache {@link NegativeCache}
+	 */
+	public NegativeCachingDataLoader(DataLoader dataLoader, NegativeCache negativeCache) {
+		this.dataLoader = dataLoader;
+		this.negativeCache = negativeCache;
+	}
+
+	@Override
+	public byte[] get(String url) {
+		checkFailure(url);
+		try {
+			byte[] bytes = dataLoader.get(url);
+			negativeCache.recordSuccess(url);
+			return bytes;
+		} catch (RuntimeException e) {
+			negativeCache.recordFailure(url, e);
+			throw e;
+		}
+	}
+
+	@Override
+	public DataAndUrl get(List<String> urlStrings) {
+		if (Utils.isCollectionEmpty(urlStrings)) {
+			throw new DSSExternalResourceException("Cannot process the GET call. List of URLs is empty!");
+		}
+		for (String urlString : urlStrings) {
+			try {
+				byte[] bytes = get(urlString);
+				if (Utils.isArrayNotEmpty(bytes)) {
+					return new DataAndUrl(urlString, bytes);
+				}
+			} catch (Exception e) {
+				LOG.warn("Impossible to obtain data using '{}' : {}", urlString, e.getMessage());
+			}
+		}
+		throw new DSSExternalResourceException(String.format("Unable to process GET call for urls [%s]", urlStrings));
+	}
+
+	@Override
+	public byte[] post(String url, byte[] content) {
+		checkFailure(url);
+		try {
+			byte[] bytes = dataLoader.post(url, content);
+			negativeCache.recordSuccess(url);
+			return bytes;
+		} catch (RuntimeException e) {
+			if (isConnectionFailure(e)) {
+				negativeCache.recordFailure(url, e);
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void setContentType(String contentType) {
+		dataLoader.setContentType(contentType);
+	}
+
+	private void checkFailure(String url) {
+		NegativeCache.Failure failure = negativeCache.getActiveFailure(url);
+		if (failure != null) {
+			throw new DSSExternalResourceException(String.format("The lookup of '%s' recently failed (%s), it is skipped until %s",
+					url, failure.getType(), failure.getRetryAt()));
+		}
+	}
+
+	private boolean isConnectionFailure(Throwable exception) {
+		if (NegativeCache.getFailureType(exception).startsWith("HTTP ")) {
+			return false;
+		}
+		Throwable cause = exception;
+		while (cause != null) {
+			if (cause instanceof IOException) {
+				return true;
+			}
+			cause = cause.getCause() != cause ? cause.getCause() : null;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,367 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.alert.StatusAlert;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.RevocationDataLoadingStrategyFactory;
+import eu.europa.esig.dss.spi.validation.RevocationDataVerifier;
+import eu.europa.esig.dss.spi.validation.TimestampTokenVerifier;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+import eu.europa.esig.dss.spi.x509.ListCertificateSource;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+
+/**
+ * Request-scoped view of the shared {@code CertificateVerifier}, replacing its complete copy
+ * (see {@code CertificateVerifierBuilder#buildCompleteCopy}).
+ * The values set on the overlay are kept locally, the others are read from the shared verifier which is never modified.
+ * The certificate sources are copied only when they are extended (e.g. the adjunct certificates of a request),
+ * and the copy shares the underlying sources.
+ */
+public class OverlayCertificateVerifier implements CertificateVerifier {
+
+	/** The shared verifier */
+	private final CertificateVerifier certificateVerifier;
+
+	private RevocationSource<CRL> crlSource;
+
+	private RevocationSource<OCSP> ocspSource;
+
+	private RevocationDataLoadingStrategyFactory revocationDataLoadingStrategyFactory;
+
+	private RevocationDataVerifier revocationDataVerifier;
+
+	private TimestampTokenVerifier timestampTokenVerifier;
+
+	private AIASource aiaSource;
+
+	private DigestAlgorithm defaultDigestAlgorithm;
+
+	private StatusAlert alertOnInvalidSignature;
+
+	private StatusAlert alertOnInvalidTimestamp;
+
+	private StatusAlert alertOnMissingRevocationData;
+
+	private StatusAlert alertOnRevokedCertificate;
+
+	private StatusAlert alertOnNoRevocationAfterBestSignatureTime;
+
+	private StatusAlert alertOnUncoveredPOE;
+
+	private StatusAlert alertOnExpiredSignature;
+
+	private StatusAlert alertOnExpiredCertificate;
+
+	private StatusAlert alertOnNotYetValidCertificate;
+
+	private StatusAlert augmentationAlertOnHigherSignatureLevel;
+
+	private StatusAlert augmentationAlertOnSignatureWithoutCertificates;
+
+	private StatusAlert augmentationAlertOnSelfSignedCertificateChains;
+
+	private Boolean revocationFallback;
+
+	private Boolean checkRevocationForUntrustedChains;
+
+	private Boolean extractPOEFromUntrustedChains;
+
+	private ListCertificateSource trustedCertSources;
+
+	private ListCertificateSource adjunctCertSources;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param certificateVerifier {@link CertificateVerifier} the shared configuration
+	 */
+	public OverlayCertificateVerifier(CertificateVerifier certificateVerifier) {
+		this.certificateVerifier = certificateVerifier;
+	}
+
+	@Override
+	public RevocationSource<CRL> getCrlSource() {
+		return crlSource != null ? crlSource : certificateVerifier.getCrlSource();
+	}
+
+	@Override
+	public void setCrlSource(RevocationSource<CRL> crlSource) {
+		this.crlSource = crlSource;
+	}
+
+	@Override
+	public RevocationSource<OCSP> getOcspSource() {
+		return ocspSource != null ? ocspSource : certificateVerifier.getOcspSource();
+	}
+
+	@Override
+	public void setOcspSource(RevocationSource<OCSP> ocspSource) {
+		this.ocspSource = ocspSource;
+	}
+
+	@Override
+	public RevocationDataLoadingStrategyFactory getRevocationDataLoadingStrategyFactory() {
+		return revocationDataLoadingStrategyFactory != null ? revocationDataLoadingStrategyFactory : certificateVerifier.getRevocationDataLoadingStrategyFactory();
+	}
+
+	@Override
+	public void setRevocationDataLoadingStrategyFactory(RevocationDataLoadingStrategyFactory revocationDataLoadingStrategyFactory) {
+		this.revocationDataLoadingStrategyFactory = revocationDataLoadingStrategyFactory;
+	}
+
+	@Override
+	public RevocationDataVerifier getRevocationDataVerifier() {
+		return revocationDataVerifier != null ? revocationDataVerifier : certificateVerifier.getRevocationDataVerifier();
+	}
+
+	@Override
+	public void setRevocationDataVerifier(RevocationDataVerifier revocationDataVerifier) {
+		this.revocationDataVerifier = revocationDataVerifier;
+	}
+
+	@Override
+	public TimestampTokenVerifier getTimestampTokenVerifier() {
+		return timestampTokenVerifier != null ? timestampTokenVerifier : certificateVerifier.getTimestampTokenVerifier();
+	}
+
+	@Override
+	public void setTimestampTokenVerifier(TimestampTokenVerifier timestampTokenVerifier) {
+		this.timestampTokenVerifier = timestampTokenVerifier;
+	}
+
+	@Override
+	public AIASource getAIASource() {
+		return aiaSource != null ? aiaSource : certificateVerifier.getAIASource();
+	}
+
+	@Override
+	public void setAIASource(AIASource aiaSource) {
+		this.aiaSource = aiaSource;
+	}
+
+	@Override
+	@Deprecated
+	public DigestAlgorithm getDefaultDigestAlgorithm() {
+		return defaultDigestAlgorithm != null ? defaultDigestAlgorithm : certificateVerifier.getDefaultDigestAlgorithm();
+	}
+
+	@Override
+	@Deprecated
+	public void setDefaultDigestAlgorithm(DigestAlgorithm defaultDigestAlgorithm) {
+		this.defaultDigestAlgorithm = defaultDigestAlgorithm;
+	}
+
+	@Override
+	public StatusAlert getAlertOnInvalidSignature() {
+		return alertOnInvalidSignature != null ? alertOnInvalidSignature : certificateVerifier.getAlertOnInvalidSignature();
+	}
+
+	@Override
+	public void setAlertOnInvalidSignature(StatusAlert alertOnInvalidSignature) {
+		this.alertOnInvalidSignature = alertOnInvalidSignature;
+	}
+
+	@Override
+	public StatusAlert getAlertOnInvalidTimestamp() {
+		return alertOnInvalidTimestamp != null ? alertOnInvalidTimestamp : certificateVerifier.getAlertOnInvalidTimestamp();
+	}
+
+	@Override
+	public void setAlertOnInvalidTimestamp(StatusAlert alertOnInvalidTimestamp) {
+		this.alertOnInvalidTimestamp = alertOnInvalidTimestamp;
+	}
+
+	@Override
+	public StatusAlert getAlertOnMissingRevocationData() {
+		return alertOnMissingRevocationData != null ? alertOnMissingRevocationData : certificateVerifier.getAlertOnMissingRevocationData();
+	}
+
+	@Override
+	public void setAlertOnMissingRevocationData(StatusAlert alertOnMissingRevocationData) {
+		this.alertOnMissingRevocationData = alertOnMissingRevocationData;
+	}
+
+	@Override
+	public StatusAlert getAlertOnRevokedCertificate() {
+		return alertOnRevokedCertificate != null ? alertOnRevokedCertificate : certificateVerifier.getAlertOnRevokedCertificate();
+	}
+
+	@Override
+	public void setAlertOnRevokedCertificate(StatusAlert alertOnRevokedCertificate) {
+		this.alertOnRevokedCertificate = alertOnRevokedCertificate;
+	}
+
+	@Override
+	public StatusAlert getAlertOnNoRevocationAfterBestSignatureTime() {
+		return alertOnNoRevocationAfterBestSignatureTime != null ? alertOnNoRevocationAfterBestSignatureTime : certificateVerifier.getAlertOnNoRevocationAfterBestSignatureTime();
+	}
+
+	@Override
+	public void setAlertOnNoRevocationAfterBestSignatureTime(StatusAlert alertOnNoRevocationAfterBestSignatureTime) {
+		this.alertOnNoRevocationAfterBestSignatureTime = alertOnNoRevocationAfterBestSignatureTime;
+	}
+
+	@Override
+	public StatusAlert getAlertOnUncoveredPOE() {
+		return alertOnUncoveredPOE != null ? alertOnUncoveredPOE : certificateVerifier.getAlertOnUncoveredPOE();
+	}
+
+	@Override
+	public void setAlertOnUncoveredPOE(StatusAlert alertOnUncoveredPOE) {
+		this.alertOnUncoveredPOE = alertOnUncoveredPOE;
+	}
+
+	@Override
+	@Deprecated
+	public StatusAlert getAlertOnExpiredSignature() {
+		return alertOnExpiredSignature != null ? alertOnExpiredSignature : certificateVerifier.getAlertOnExpiredSignature();
+	}
+
+	@Override
+	@Deprecated
+	public void setAlertOnExpiredSignature(StatusAlert alertOnExpiredSignature) {
+		this.alertOnExpiredSignature = alertOnExpiredSignature;
+	}
+
+	@Override
+	public StatusAlert getAlertOnExpiredCertificate() {
+		return alertOnExpiredCertificate != null ? alertOnExpiredCertificate : certificateVerifier.getAlertOnExpiredCertificate();
+	}
+
+	@Override
+	public void setAlertOnExpiredCertificate(StatusAlert alertOnExpiredCertificate) {
+		this.alertOnExpiredCertificate = alertOnExpiredCertificate;
+	}
+
+	@Override
+	public StatusAlert getAlertOnNotYetValidCertificate() {
+		return alertOnNotYetValidCertificate != null ? alertOnNotYetValidCertificate : certificateVerifier.getAlertOnNotYetValidCertificate();
+	}
+
+	@Override
+	public void setAlertOnNotYetValidCertificate(StatusAlert alertOnNotYetValidCertificate) {
+		this.alertOnNotYetValidCertificate = alertOnNotYetValidCertificate;
+	}
+
+	@Override
+	public StatusAlert getAugmentationAlertOnHigherSignatureLevel() {
+		return augmentationAlertOnHigherSignatureLevel != null ? augmentationAlertOnHigherSignatureLevel : certificateVerifier.getAugmentationAlertOnHigherSignatureLevel();
+	}
+
+	@Override
+	public void setAugmentationAlertOnHigherSignatureLevel(StatusAlert augmentationAlertOnHigherSignatureLevel) {
+		this.augmentationAlertOnHigherSignatureLevel = augmentationAlertOnHigherSignatureLevel;
+	}
+
+	@Override
+	public StatusAlert getAugmentationAlertOnSignatureWithoutCertificates() {
+		return augmentationAlertOnSignatureWithoutCertificates != null ? augmentationAlertOnSignatureWithoutCertificates : certificateVerifier.getAugmentationAlertOnSignatureWithoutCertificates();
+	}
+
+	@Override
+	public void setAugmentationAlertOnSignatureWithoutCertificates(StatusAlert augmentationAlertOnSignatureWithoutCertificates) {
+		this.augmentationAlertOnSignatureWithoutCertificates = augmentationAlertOnSignatureWithoutCertificates;
+	}
+
+	@Override
+	public StatusAlert getAugmentationAlertOnSelfSignedCertificateChains() {
+		return augmentationAlertOnSelfSignedCertificateChains != null ? augmentationAlertOnSelfSignedCertificateChains : certificateVerifier.getAugmentationAlertOnSelfSignedCertificateChains();
+	}
+
+	@Override
+	public void setAugmentationAlertOnSelfSignedCertificateChains(StatusAlert augmentationAlertOnSelfSignedCertificateChains) {
+		this.augmentationAlertOnSelfSignedCertificateChains = augmentationAlertOnSelfSignedCertificateChains;
+	}
+
+	@Override
+	public boolean isRevocationFallback() {
+		return revocationFallback != null ? revocationFallback : certificateVerifier.isRevocationFallback();
+	}
+
+	@Override
+	public void setRevocationFallback(boolean revocationFallback) {
+		this.revocationFallback = revocationFallback;
+	}
+
+	@Override
+	public boolean isCheckRevocationForUntrustedChains() {
+		return checkRevocationForUntrustedChains != null ? checkRevocationForUntrustedChains : certificateVerifier.isCheckRevocationForUntrustedChains();
+	}
+
+	@Override
+	public void setCheckRevocationForUntrustedChains(boolean checkRevocationForUntrustedChains) {
+		this.checkRevocationForUntrustedChains = checkRevocationForUntrustedChains;
+	}
+
+	@Override
+	@Deprecated
+	public boolean isExtractPOEFromUntrustedChains() {
+		return extractPOEFromUntrustedChains != null ? extractPOEFromUntrustedChains : certificateVerifier.isExtractPOEFromUntrustedChains();
+	}
+
+	@Override
+	@Deprecated
+	public void setExtractPOEFromUntrustedChains(boolean extractPOEFromUntrustedChains) {
+		this.extractPOEFromUntrustedChains = extractPOEFromUntrustedChains;
+	}
+
+	@Override
+	public ListCertificateSource getTrustedCertSources() {
+		return trustedCertSources != null ? trustedCertSources : certificateVerifier.getTrustedCertSources();
+	}
+
+	@Override
+	public void setTrustedCertSources(CertificateSource... certSources) {
+		this.trustedCertSources = toListCertificateSource(new ListCertificateSource(), certSources);
+	}
+
+	@Override
+	public void addTrustedCertSources(CertificateSource... certSources) {
+		this.trustedCertSources = toListCertificateSource(copy(getTrustedCertSources()), certSources);
+	}
+
+	@Override
+	public void setTrustedCertSources(ListCertificateSource trustedListCertificateSource) {
+		this.trustedCertSources = trustedListCertificateSource;
+	}
+
+	@Override
+	public ListCertificateSource getAdjunctCertSources() {
+		return adjunctCertSources != null ? adjunctCertSources : certificateVerifier.getAdjunctCertSources();
+	}
+
+	@Override
+	public void setAdjunctCertSources(CertificateSource... certSources) {
+		this.adjunctCertSources = toListCertificateSource(new ListCertificateSource(), certSources);
+	}
+
+	@Override
+	public void addAdjunctCertSources(CertificateSource... certSources) {
+		this.adjunctCertSources = toListCertificateSource(copy(getAdjunctCertSources()), certSources);
+	}
+
+	@Override
+	public void setAdjunctCertSources(ListCertificateSource adjunctListCertificateSource) {
+		this.adjunctCertSources = adjunctListCertificateSource;
+	}
+
+	private ListCertificateSource copy(ListCertificateSource listCertificateSource) {
+		// the list is copied on the first addition, the sources are shared
+		ListCertificateSource copy = new ListCertificateSource();
+		if (listCertificateSource != null) {
+			copy.addAll(listCertificateSource);
+		}
+		return copy;
+	}
+
+	private ListCertificateSource toListCertificateSource(ListCertificateSource listCertificateSource, CertificateSource... certSources) {
+		for (CertificateSource certificateSource : certSources) {
+			listCertificateSource.add(certificateSource);
+		}
+		return listCertificateSource;
+	}
+
+}
@@ -0,0 +1,67 @@
+package eu.europa.esig.dss.web.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the size and the serialization time of the JSON responses of the REST webservices, by endpoint
+ */
+@Component
+public class RestResponseMetrics {
+
+	private final Map<String, EndpointMetrics> metrics = new ConcurrentHashMap<>();
+
+	/**
+	 * Records a serialized response
+	 *
+	 * @param endpoint the endpoint address
+	 * @param bytes number of serialized bytes (before compression)
+	 * @param nanos serialization time
+	 */
+	public void record(String endpoint, long bytes, long nanos) {
+		EndpointMetrics endpointMetrics = metrics.computeIfAbsent(endpoint, e -> new EndpointMetrics());
+		endpointMetrics.count.increment();
+		endpointMetrics.bytes.add(bytes);
+		endpointMetrics.nanos.add(nanos);
+		endpointMetrics.maxBytes.accumulateAndGet(bytes, Math::max);
+	}
+
+	/**
+	 * Returns the statistics by endpoint
+	 *
+	 * @return map of statistics by endpoint address
+	 */
+	public Map<String, Map<String, Object>> getStatistics() {
+		Map<String, Map<String, Object>> statistics = new TreeMap<>();
+		for (Map.Entry<String, EndpointMetrics> entry : metrics.entrySet()) {
+			EndpointMetrics endpointMetrics = entry.getValue();
+			long count = endpointMetrics.count.sum();
+			Map<String, Object> values = new TreeMap<>();
+			values.put("responses", count);
+			values.put("totalBytes", endpointMetrics.bytes.sum());
+			values.put("maxBytes", endpointMetrics.maxBytes.get());
+			values.put("averageBytes", count > 0 ? endpointMetrics.bytes.sum() / count : 0);
+			values.put("averageSerializationMicros", count > 0 ? endpointMetrics.nanos.sum() / count / 1000 : 0);
+			statistics.put(entry.getKey(), values);
+		}
+		return statistics;
+	}
+
+	private static final class EndpointMetrics {
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder bytes = new LongAdder();
+
+		private final LongAdder nanos = new LongAdder();
+
+		private final AtomicLong maxBytes = new AtomicLong();
+
+	}
+
+}
@@ -0,0 +1,171 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.service.http.commons.FileCacheDataLoader;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.client.http.DSSCacheFileLoader;
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import eu.europa.esig.dss.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * File cache data loader spreading the cached files over hashed subdirectories of a {@code FileCacheManager} directory,
+ * each one handled by its own {@code FileCacheDataLoader}.
+ * The files loaded with a GET request are written to a temporary file, then moved to their final name.
+ */
+@SuppressWarnings("serial")
+public class ShardedFileCacheDataLoader implements DataLoader, DSSCacheFileLoader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ShardedFileCacheDataLoader.class);
+
+	private final String name;
+
+	private final transient FileCacheManager fileCacheManager;
+
+	private final DataLoader dataLoader;
+
+	private final FileCacheDataLoader[] shards;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param name the cache name, its directory within the {@code FileCacheManager}
+	 * @param fileCacheManager {@link FileCacheManager}
+	 * @param dataLoader {@link DataLoader} loading the missing or expired files
+	 * @param cacheExpirationTime expiration time of the cached files in milliseconds (-1 never expires)
+	 */
+	public ShardedFileCacheDataLoader(String name, FileCacheManager fileCacheManager, DataLoader dataLoader, long cacheExpirationTime) {
+		this.name = name;
+		this.fileCacheManager = fileCacheManager;
+		this.dataLoader = dataLoader;
+
+		File directory = fileCacheManager.getCacheDirectory(name);
+		this.shards = new FileCacheDataLoader[Math.max(1, fileCacheManager.getShards())];
+		for (int i = 0; i < shards.length; i++) {
+			File shardDirectory = new File(directory, String.format("%02x", i));
+			shardDirectory.mkdirs();
+			AtomicFileCacheDataLoader shard = new AtomicFileCacheDataLoader(shardDirectory);
+			shard.setDataLoader(dataLoader);
+			shard.setCacheExpirationTime(cacheExpirationTime);
+			shards[i] = shard;
+		}
+	}
+
+	private FileCacheDataLoader getShard(String url) {
+		Objects.requireNonNull(url, "URL must be defined!");
+		return getShard(url.hashCode());
+	}
+
+	private FileCacheDataLoader getShard(String url, byte[] content) {
+		Objects.requireNonNull(url, "URL must be defined!");
+		// the requests posted to a same URL (e.g. OCSP) are spread by their content
+		return getShard(31 * url.hashCode() + Arrays.hashCode(content));
+	}
+
+	private FileCacheDataLoader getShard(int hash) {
+		fileCacheManager.recordRequest(name);
+		return shards[Math.floorMod(hash, shards.length)];
+	}
+
+	@Override
+	public byte[] get(String url) {
+		return getShard(url).get(url);
+	}
+
+	@Override
+	public DataAndUrl get(List<String> urlStrings) {
+		if (Utils.isCollectionEmpty(urlStrings)) {
+			throw new DSSExternalResourceException("Cannot process the GET call. List of URLs is empty!");
+		}
+		for (String urlString : urlStrings) {
+			try {
+				byte[] bytes = get(urlString);
+				if (Utils.isArrayNotEmpty(bytes)) {
+					return new DataAndUrl(urlString, bytes);
+				}
+			} catch (Exception e) {
+				LOG.warn("Impossible to obtain data using '{}' : {}", urlString, e.getMessage());
+			}
+		}
+		throw new DSSExternalResourceException(String.format("Unable to process GET call for urls [%s]", urlStrings));
+	}
+
+	@Override
+	public byte[] post(String url, byte[] content) {
+		// the cached response is identified by the URL and the request content
+		return getShard(url, content).post(url, content);
+	}
+
+	@Override
+	public void setContentType(String contentType) {
+		dataLoader.setContentType(contentType);
+	}
+
+	@Override
+	public DSSDocument getDocument(String url) {
+		return getShard(url).getDocument(url);
+	}
+
+	@Override
+	public DSSDocument getDocument(String url, boolean refresh) {
+		return getShard(url).getDocument(url, refresh);
+	}
+
+	@Override
+	public DSSDocument getDocumentFromCache(String url) {
+		return getShard(url).getDocumentFromCache(url);
+	}
+
+	@Override
+	@Deprecated
+	public boolean remove(String url) {
+		return getShard(url).remove(url);
+	}
+
+	private final class AtomicFileCacheDataLoader extends FileCacheDataLoader {
+
+		private final File directory;
+
+		private AtomicFileCacheDataLoader(File directory) {
+			this.directory = directory;
+			setFileCacheDirectory(directory);
+		}
+
+		@Override
+		public File createFile(String urlString, byte[] bytes) {
+			// same file name as FileCacheDataLoader
+			File file = new File(directory, DSSUtils.getNormalizedString(urlString));
+			Path temporary = null;
+			try {
+				temporary = Files.createTempFile(directory.toPath(), ".dss-", FileCacheManager.TEMPORARY_SUFFIX);
+				Files.write(temporary, bytes);
+				try {
+					Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				fileCacheManager.recordWrite(name, bytes.length);
+				return file;
+			} catch (IOException e) {
+				if (temporary != null) {
+					temporary.toFile().delete();
+				}
+				throw new DSSExternalResourceException(String.format("Unable to cache the file for the URL '%s' : %s", urlString, e.getMessage()), e);
+			}
+		}
+
+	}
+
+}
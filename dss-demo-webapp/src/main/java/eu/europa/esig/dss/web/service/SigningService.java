@@ -38,7 +38,6 @@ import eu.europa.esig.dss.signature.DocumentSignatureService;
 import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
-import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
 import eu.europa.esig.dss.spi.x509.tsp.KeyEntityTSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
 import eu.europa.esig.dss.spi.x509.tsp.TimestampToken;
@@ -78,6 +77,12 @@ public class SigningService {
 	@Autowired
 	private TSPSource tspSource;
 
+	@Autowired
+	private SigningSessionCache signingSessionCache;
+
+	@Autowired
+	private DocumentDigestService documentDigestService;
+
 	public boolean isMockTSPSourceUsed() {
 		return tspSource instanceof KeyEntityTSPSource;
 	}
@@ -116,6 +121,7 @@ public class SigningService {
 		try {
 			DSSDocument toSignDocument = WebAppUtils.toDSSDocument(form.getDocumentToSign());
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDocument, parameters);
+			keepSigningSession(form, service, parameters, Collections.singletonList(toSignDocument));
 			LOG.info("End getDataToSign with one document");
 			return toBeSigned;
 		} catch (Exception e) {
@@ -133,6 +139,7 @@ public class SigningService {
 		try {
 			DigestDocument toSignDigest = new DigestDocument(form.getDigestAlgorithm(), form.getDigestToSign(), form.getDocumentName());
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDigest, parameters);
+			keepSigningSession(form, service, parameters, Collections.singletonList(toSignDigest));
 			LOG.info("End getDataToSign with one digest");
 			return toBeSigned;
 		} catch (Exception e) {
@@ -149,8 +156,9 @@ public class SigningService {
 		AbstractSignatureParameters parameters = fillParameters(form);
 
 		try {
-			List<DSSDocument> toSignDocuments = WebAppUtils.toDSSDocuments(form.getDocumentsToSign());
+			List<DSSDocument> toSignDocuments = documentDigestService.computeDigests(getDocumentsToSign(form), parameters);
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDocuments, parameters);
+			keepSigningSession(form, (DocumentSignatureService) service, parameters, toSignDocuments);
 			LOG.info("End getDataToSign with multiple documents");
 			return toBeSigned;
 		} catch (Exception e) {
@@ -167,9 +175,11 @@ public class SigningService {
 		JAdESSignatureParameters parameters = fillParameters(form);
 
 		try {
-			List<DSSDocument> toSignDocuments = WebAppUtils.toDSSDocuments(form.getDocumentsToSign());
+			List<DSSDocument> toSignDocuments = documentDigestService.computeDigests(
+					WebAppUtils.toDSSDocuments(form.getDocumentsToSign()), parameters);
 			ToBeSigned toBeSigned = service.getDataToSign(toSignDocuments, parameters);
-				
+			keepSigningSession(form, (DocumentSignatureService) service, parameters, toSignDocuments);
+
 			LOG.info("End getDataToSign with one JAdES");
 			return toBeSigned;
 		} catch (Exception e) {
@@ -244,7 +254,7 @@ public class SigningService {
 		AbstractSignatureParameters parameters = fillParameters(form);
 
 		try {
-			TimestampToken contentTimestamp = service.getContentTimestamp(WebAppUtils.toDSSDocuments(form.getDocumentsToSign()), parameters);
+			TimestampToken contentTimestamp = service.getContentTimestamp(getDocumentsToSign(form), parameters);
 
 			LOG.info("End getContentTimestamp with  multiple documents");
 			return contentTimestamp;
@@ -299,7 +309,11 @@ public class SigningService {
 
 	@SuppressWarnings({ "rawtypes" })
 	private AbstractSignatureParameters fillParameters(SignatureMultipleDocumentsForm form) {
-		AbstractSignatureParameters finalParameters = getASiCSignatureParameters(form.getContainerType(), form.getSignatureForm());
+		AbstractSignatureParameters finalParameters = getSignatureParameters(form.getContainerType(), form.getSignatureForm());
+		if (form.getContainerType() == null) {
+			// the documents are referenced by a detached signature
+			finalParameters.setSignaturePackaging(SignaturePackaging.DETACHED);
+		}
 
 		fillParameters(finalParameters, form);
 
@@ -398,12 +412,26 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDocument(SignatureDocumentForm form) {
 		LOG.info("Start signDocument with one document");
-		DocumentSignatureService service = getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
-
-		AbstractSignatureParameters parameters = fillParameters(form);
+		SigningSessionCache.SigningSession session = signingSessionCache.remove(form.getSigningSessionId());
+		form.setSigningSessionId(null);
+
+		DocumentSignatureService service;
+		AbstractSignatureParameters parameters;
+		DSSDocument toSignDocument;
+		if (session != null) {
+			service = session.getService();
+			parameters = session.getParameters();
+			toSignDocument = session.getDocuments().get(0);
+		} else {
+			service = getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
+			parameters = fillParameters(form);
+			toSignDocument = null;
+		}
 
 		try {
-			DSSDocument toSignDocument = WebAppUtils.toDSSDocument(form.getDocumentToSign());
+			if (toSignDocument == null) {
+				toSignDocument = WebAppUtils.toDSSDocument(form.getDocumentToSign());
+			}
 			SignatureAlgorithm sigAlgorithm = SignatureAlgorithm.getAlgorithm(form.getEncryptionAlgorithm(), form.getDigestAlgorithm());
 			SignatureValue signatureValue = new SignatureValue(sigAlgorithm, form.getSignatureValue());
 			DSSDocument signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
@@ -417,9 +445,18 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDigest(SignatureDigestForm form) {
 		LOG.info("Start signDigest with one digest");
-		DocumentSignatureService service = getSignatureService(null, form.getSignatureForm(), form.isSignWithExpiredCertificate());
-
-		AbstractSignatureParameters parameters = fillParameters(form);
+		SigningSessionCache.SigningSession session = signingSessionCache.remove(form.getSigningSessionId());
+		form.setSigningSessionId(null);
+
+		DocumentSignatureService service;
+		AbstractSignatureParameters parameters;
+		if (session != null) {
+			service = session.getService();
+			parameters = session.getParameters();
+		} else {
+			service = getSignatureService(null, form.getSignatureForm(), form.isSignWithExpiredCertificate());
+			parameters = fillParameters(form);
+		}
 
 		try {
 			DigestDocument toSignDigest = new DigestDocument(form.getDigestAlgorithm(), form.getDigestToSign(), form.getDocumentName());
@@ -436,13 +473,27 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDocument(SignatureMultipleDocumentsForm form) {
 		LOG.info("Start signDocument with multiple documents");
-		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
-				getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
-
-		AbstractSignatureParameters parameters = fillParameters(form);
+		SigningSessionCache.SigningSession session = signingSessionCache.remove(form.getSigningSessionId());
+		form.setSigningSessionId(null);
+
+		MultipleDocumentsSignatureService service;
+		AbstractSignatureParameters parameters;
+		List<DSSDocument> toSignDocuments;
+		if (session != null) {
+			service = (MultipleDocumentsSignatureService) session.getService();
+			parameters = session.getParameters();
+			toSignDocuments = session.getDocuments();
+		} else {
+			service = (MultipleDocumentsSignatureService)
+					getSignatureService(form.getContainerType(), form.getSignatureForm(), form.isSignWithExpiredCertificate());
+			parameters = fillParameters(form);
+			toSignDocuments = null;
+		}
 
 		try {
-			List<DSSDocument> toSignDocuments = WebAppUtils.toDSSDocuments(form.getDocumentsToSign());
+			if (toSignDocuments == null) {
+				toSignDocuments = documentDigestService.computeDigests(getDocumentsToSign(form), parameters);
+			}
 			SignatureAlgorithm sigAlgorithm = SignatureAlgorithm.getAlgorithm(form.getEncryptionAlgorithm(), form.getDigestAlgorithm());
 			SignatureValue signatureValue = new SignatureValue(sigAlgorithm, form.getSignatureValue());
 			DSSDocument signedDocument = service.signDocument(toSignDocuments, parameters, signatureValue);
@@ -456,13 +507,27 @@ public class SigningService {
 	@SuppressWarnings({ "rawtypes", "unchecked" })
 	public DSSDocument signDocument(SignatureJAdESForm form) {
 		LOG.info("Start signDocument with JAdES");
-		
-		MultipleDocumentsSignatureService service = (MultipleDocumentsSignatureService)
-				getSignatureService(SignatureForm.JAdES, form.isSignWithExpiredCertificate());
-		JAdESSignatureParameters parameters = fillParameters(form);
+		SigningSessionCache.SigningSession session = signingSessionCache.remove(form.getSigningSessionId());
+		form.setSigningSessionId(null);
+
+		MultipleDocumentsSignatureService service;
+		AbstractSignatureParameters parameters;
+		List<DSSDocument> toSignDocuments;
+		if (session != null) {
+			service = (MultipleDocumentsSignatureService) session.getService();
+			parameters = session.getParameters();
+			toSignDocuments = session.getDocuments();
+		} else {
+			service = (MultipleDocumentsSignatureService) getSignatureService(SignatureForm.JAdES, form.isSignWithExpiredCertificate());
+			parameters = fillParameters(form);
+			toSignDocuments = null;
+		}
 
 		try {
-			List<DSSDocument> toSignDocuments = WebAppUtils.toDSSDocuments(form.getDocumentsToSign());
+			if (toSignDocuments == null) {
+				toSignDocuments = documentDigestService.computeDigests(
+						WebAppUtils.toDSSDocuments(form.getDocumentsToSign()), parameters);
+			}
 			SignatureAlgorithm sigAlgorithm = SignatureAlgorithm.getAlgorithm(form.getEncryptionAlgorithm(), form.getDigestAlgorithm());
 			SignatureValue signatureValue = new SignatureValue(sigAlgorithm, form.getSignatureValue());
 			DSSDocument signedDocument = service.signDocument(toSignDocuments, parameters, signatureValue);
@@ -496,6 +561,28 @@ public class SigningService {
 		}
     }
 
+	/**
+	 * Returns the documents to be signed, or the {@code DigestDocument}s computed by the browser
+	 * when only the digests of the documents have been sent
+	 */
+	private List<DSSDocument> getDocumentsToSign(SignatureMultipleDocumentsForm form) {
+		if (form.isSignDigestsOnly()) {
+			return WebAppUtils.originalFilesToDSSDocuments(form.getDigestsToSign());
+		}
+		return WebAppUtils.toDSSDocuments(form.getDocumentsToSign());
+	}
+
+	/**
+	 * Keeps the prepared service, parameters and documents for the signature step,
+	 * and releases the state of a previous incomplete signature of the same form
+	 */
+	@SuppressWarnings("rawtypes")
+	private void keepSigningSession(AbstractSignatureForm form, DocumentSignatureService service,
+									AbstractSignatureParameters parameters, List<DSSDocument> documents) {
+		signingSessionCache.remove(form.getSigningSessionId());
+		form.setSigningSessionId(signingSessionCache.put(new SigningSessionCache.SigningSession(service, parameters, documents)));
+	}
+
 	@SuppressWarnings("rawtypes")
 	private DocumentSignatureService getSignatureService(SignatureForm signatureForm) {
 		return getSignatureService(null, signatureForm, false);
@@ -513,7 +600,7 @@ public class SigningService {
 
 	@SuppressWarnings("rawtypes")
 	private DocumentSignatureService getSignatureService(ASiCContainerType containerType, SignatureForm signatureForm, boolean signWithExpiredCertificate) {
-		CertificateVerifier cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+		CertificateVerifier cv = new OverlayCertificateVerifier(certificateVerifier);
 		if (signWithExpiredCertificate) {
 			cv.setAlertOnExpiredCertificate(new LogOnStatusAlert());
 		}
@@ -544,7 +631,7 @@ public class SigningService {
 	
     @SuppressWarnings("rawtypes")
 	private CounterSignatureService getCounterSignatureService(boolean isZipContainer, SignatureForm signatureForm, boolean signWithExpiredCertificate) {
-		CertificateVerifier cv = new CertificateVerifierBuilder(certificateVerifier).buildCompleteCopy();
+		CertificateVerifier cv = new OverlayCertificateVerifier(certificateVerifier);
 		if (signWithExpiredCertificate) {
 			cv.setAlertOnExpiredCertificate(new LogOnStatusAlert());
 		}
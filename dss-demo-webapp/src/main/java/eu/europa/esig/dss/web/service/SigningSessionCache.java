@@ -0,0 +1,201 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the state prepared on the "get data to sign" step (signature service, filled parameters and parsed documents)
+ * under a signing-session handle, so the "sign document" step only has to inject the signature value.
+ * The cache is bounded by a time-to-live, a maximum number of sessions and a maximum total size of the kept documents.
+ * When a session is evicted, the signature is still performed by rebuilding the state from the form.
+ */
+@Component
+public class SigningSessionCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SigningSessionCache.class);
+
+	/** Time-to-live of a signing session, in seconds */
+	@Value("${signing.session.ttl:300}")
+	private long ttl;
+
+	/** Maximum number of signing sessions kept at the same time */
+	@Value("${signing.session.max.entries:100}")
+	private int maxEntries;
+
+	/** Maximum total size of the documents kept within the signing sessions, in bytes */
+	@Value("${signing.session.max.size:104857600}")
+	private long maxSize;
+
+	/** Sessions in their creation order, the eldest are evicted first */
+	private final Map<String, SigningSession> sessions = new LinkedHashMap<>();
+
+	/** Current total size of the kept documents */
+	private long totalSize;
+
+	/**
+	 * Stores the signing session state
+	 *
+	 * @param session {@link SigningSession} to be kept until the signature value is received
+	 * @return {@link String} handle of the session, NULL if the session cannot be kept within the memory bounds
+	 */
+	public synchronized String put(SigningSession session) {
+		purgeExpired();
+		if (session.getSize() > maxSize || maxEntries < 1) {
+			LOG.debug("The signing session of {} bytes exceeds the cache bounds and is not kept", session.getSize());
+			return null;
+		}
+
+		Iterator<SigningSession> it = sessions.values().iterator();
+		while (it.hasNext() && (sessions.size() >= maxEntries || totalSize + session.getSize() > maxSize)) {
+			totalSize -= it.next().getSize();
+			it.remove();
+		}
+
+		String handle = UUID.randomUUID().toString();
+		sessions.put(handle, session);
+		totalSize += session.getSize();
+		return handle;
+	}
+
+	/**
+	 * Retrieves and releases the signing session state
+	 *
+	 * @param handle {@link String} handle returned on {@code put(...)}
+	 * @return {@link SigningSession} if still available, NULL otherwise
+	 */
+	public synchronized SigningSession remove(String handle) {
+		if (handle == null) {
+			return null;
+		}
+		SigningSession session = sessions.remove(handle);
+		if (session == null) {
+			return null;
+		}
+		totalSize -= session.getSize();
+		if (session.isExpired(ttl)) {
+			return null;
+		}
+		return session;
+	}
+
+	/**
+	 * Releases the expired signing sessions (the never completed signatures)
+	 */
+	@Scheduled(initialDelayString = "${signing.session.purge.delay:60000}", fixedDelayString = "${signing.session.purge.delay:60000}")
+	public synchronized void purgeExpired() {
+		Iterator<SigningSession> it = sessions.values().iterator();
+		while (it.hasNext()) {
+			SigningSession session = it.next();
+			if (!session.isExpired(ttl)) {
+				// sessions are ordered by creation time
+				break;
+			}
+			totalSize -= session.getSize();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Gets the number of the currently kept signing sessions
+	 *
+	 * @return number of sessions
+	 */
+	public synchronized int getNumberOfEntries() {
+		return sessions.size();
+	}
+
+	/**
+	 * Gets the total size of the documents within the currently kept signing sessions
+	 *
+	 * @return size in bytes
+	 */
+	public synchronized long getTotalSize() {
+		return totalSize;
+	}
+
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * The state computed on the "get data to sign" step
+	 */
+	@SuppressWarnings("rawtypes")
+	public static class SigningSession {
+
+		private final DocumentSignatureService service;
+
+		private final AbstractSignatureParameters parameters;
+
+		private final List<DSSDocument> documents;
+
+		private final long size;
+
+		private final long creationTime;
+
+		public SigningSession(DocumentSignatureService service, AbstractSignatureParameters parameters, List<DSSDocument> documents) {
+			this.service = service;
+			this.parameters = parameters;
+			this.documents = documents;
+			this.size = computeSize(documents);
+			this.creationTime = System.currentTimeMillis();
+		}
+
+		private static long computeSize(List<DSSDocument> documents) {
+			long size = 0;
+			for (DSSDocument document : documents) {
+				if (document instanceof InMemoryDocument) {
+					size += ((InMemoryDocument) document).getBytes().length;
+				} else if (document instanceof FileDocument) {
+					size += ((FileDocument) document).getFile().length();
+				} else if (!(document instanceof DigestDocument)) {
+					// the digest documents have no content
+					size += DSSUtils.getFileByteSize(document);
+				}
+			}
+			return size;
+		}
+
+		public DocumentSignatureService getService() {
+			return service;
+		}
+
+		public AbstractSignatureParameters getParameters() {
+			return parameters;
+		}
+
+		public List<DSSDocument> getDocuments() {
+			return documents;
+		}
+
+		public long getSize() {
+			return size;
+		}
+
+		private boolean isExpired(long ttl) {
+			return System.currentTimeMillis() - creationTime > ttl * 1000;
+		}
+
+	}
+
+}
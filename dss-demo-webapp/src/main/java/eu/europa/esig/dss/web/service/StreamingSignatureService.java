@@ -0,0 +1,122 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
+import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.enumerations.ASiCContainerType;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.jades.signature.JAdESService;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.ws.converter.DTOConverter;
+import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
+import eu.europa.esig.dss.ws.dto.ToBeSignedDTO;
+import eu.europa.esig.dss.ws.signature.common.AbstractRemoteSignatureServiceImpl;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Signs documents provided as {@code DSSDocument}s (e.g. backed by a file) with the parameters of the remote signature service,
+ * so a large document does not need to be held in memory as a {@code RemoteDocument}
+ */
+@Component
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class StreamingSignatureService extends AbstractRemoteSignatureServiceImpl {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamingSignatureService.class);
+
+	@Autowired
+	private XAdESService xadesService;
+
+	@Autowired
+	private CAdESService cadesService;
+
+	@Autowired
+	private PAdESService padesService;
+
+	@Autowired
+	private JAdESService jadesService;
+
+	@Autowired
+	private ASiCWithXAdESService asicWithXadesService;
+
+	@Autowired
+	private ASiCWithCAdESService asicWithCadesService;
+
+	/**
+	 * Computes the data to be signed
+	 *
+	 * @param document {@link DSSDocument} to be signed
+	 * @param remoteParameters {@link RemoteSignatureParameters}
+	 * @return {@link ToBeSignedDTO}
+	 */
+	public ToBeSignedDTO getDataToSign(DSSDocument document, RemoteSignatureParameters remoteParameters) {
+		Objects.requireNonNull(document, "document must be defined!");
+		Objects.requireNonNull(remoteParameters, "remoteParameters must be defined!");
+		LOG.info("GetDataToSign in process...");
+		DocumentSignatureService service = getServiceForSignature(remoteParameters);
+		AbstractSignatureParameters parameters = (AbstractSignatureParameters) createParameters(remoteParameters);
+		ToBeSigned dataToSign = service.getDataToSign(document, parameters);
+		LOG.info("GetDataToSign is finished");
+		return DTOConverter.toToBeSignedDTO(dataToSign);
+	}
+
+	/**
+	 * Incorporates the signature value into the document
+	 *
+	 * @param document {@link DSSDocument} to be signed
+	 * @param remoteParameters {@link RemoteSignatureParameters} used to compute the data to be signed
+	 * @param signatureValueDTO {@link SignatureValueDTO}
+	 * @return {@link DSSDocument} the signed document
+	 */
+	public DSSDocument signDocument(DSSDocument document, RemoteSignatureParameters remoteParameters, SignatureValueDTO signatureValueDTO) {
+		Objects.requireNonNull(document, "document must be defined!");
+		Objects.requireNonNull(remoteParameters, "remoteParameters must be defined!");
+		Objects.requireNonNull(signatureValueDTO, "signatureValue must be defined!");
+		LOG.info("SignDocument in process...");
+		DocumentSignatureService service = getServiceForSignature(remoteParameters);
+		AbstractSignatureParameters parameters = (AbstractSignatureParameters) createParameters(remoteParameters);
+		DSSDocument signedDocument = service.signDocument(document, parameters, toSignatureValue(signatureValueDTO));
+		LOG.info("SignDocument is finished");
+		return signedDocument;
+	}
+
+	private DocumentSignatureService getServiceForSignature(RemoteSignatureParameters remoteParameters) {
+		Objects.requireNonNull(remoteParameters.getSignatureLevel(), "signatureLevel must be defined!");
+		SignatureForm signatureForm = remoteParameters.getSignatureLevel().getSignatureForm();
+		ASiCContainerType asicContainerType = remoteParameters.getAsicContainerType();
+		if (asicContainerType != null) {
+			switch (signatureForm) {
+				case CAdES:
+					return asicWithCadesService;
+				case XAdES:
+					return asicWithXadesService;
+				default:
+					throw new DSSException(String.format("Unrecognized format (only XAdES or CAdES are allowed with ASiC) : %s", signatureForm));
+			}
+		}
+		switch (signatureForm) {
+			case CAdES:
+				return cadesService;
+			case PAdES:
+				return padesService;
+			case XAdES:
+				return xadesService;
+			case JAdES:
+				return jadesService;
+			default:
+				throw new DSSException(String.format("Unrecognized format : %s", signatureForm));
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.spi.exception.IllegalInputException;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Validates documents provided as {@code DSSDocument}s (e.g. backed by a file),
+ * with the same configuration as the remote validation service
+ */
+@Component
+public class StreamingValidationService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(StreamingValidationService.class);
+
+	@Autowired
+	private CertificateVerifier certificateVerifier;
+
+	/** The default policy parsed for the remote validation service */
+	@Autowired(required = false)
+	private ValidationPolicy parsedDefaultPolicy;
+
+	/**
+	 * Validates the signed document
+	 *
+	 * @param signedDocument {@link DSSDocument} to be validated
+	 * @param policy {@link DSSDocument} custom validation policy (optional)
+	 * @return {@link WSReportsDTO}
+	 */
+	public WSReportsDTO validateDocument(DSSDocument signedDocument, DSSDocument policy) {
+		LOG.info("ValidateDocument in process...");
+		SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(signedDocument);
+		validator.setCertificateVerifier(certificateVerifier);
+
+		Reports reports;
+		if (policy != null) {
+			reports = validator.validateDocument(getValidationPolicy(policy));
+		} else if (parsedDefaultPolicy != null) {
+			reports = validator.validateDocument(parsedDefaultPolicy);
+		} else {
+			reports = validator.validateDocument();
+		}
+		WSReportsDTO reportsDTO = new WSReportsDTO(reports.getDiagnosticDataJaxb(), reports.getSimpleReportJaxb(),
+				reports.getDetailedReportJaxb(), reports.getEtsiValidationReportJaxb());
+		LOG.info("ValidateDocument is finished");
+		return reportsDTO;
+	}
+
+	private ValidationPolicy getValidationPolicy(DSSDocument policy) {
+		try (InputStream is = policy.openStream()) {
+			return ValidationPolicyFacade.newFacade().getValidationPolicy(is);
+		} catch (Exception e) {
+			throw new IllegalInputException(String.format("Unable to load the validation policy : %s", e.getMessage()), e);
+		}
+	}
+
+}
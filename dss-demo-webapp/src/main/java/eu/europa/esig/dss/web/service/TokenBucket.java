@@ -0,0 +1,76 @@
+package eu.europa.esig.dss.web.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled at a constant rate up to its capacity.
+ * A request consumes a number of tokens depending on its cost.
+ */
+public class TokenBucket {
+
+	private final long capacity;
+
+	private final double tokensPerNano;
+
+	private double tokens;
+
+	private long lastRefill;
+
+	/**
+	 * Default constructor
+	 *
+	 * @param capacity maximum number of tokens (burst)
+	 * @param tokensPerSecond refill rate
+	 */
+	public TokenBucket(long capacity, double tokensPerSecond) {
+		if (capacity < 1 || tokensPerSecond <= 0) {
+			throw new IllegalArgumentException("The capacity and the refill rate of a token bucket shall be positive");
+		}
+		this.capacity = capacity;
+		this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+		this.tokens = capacity;
+		this.lastRefill = System.nanoTime();
+	}
+
+	/**
+	 * Consumes the tokens, if available
+	 *
+	 * @param cost number of tokens to consume (limited to the capacity of the bucket)
+	 * @return 0 if the tokens have been consumed, otherwise the number of nanoseconds before they are available
+	 */
+	public synchronized long tryConsume(long cost) {
+		refill();
+		long toConsume = Math.min(cost, capacity);
+		if (tokens >= toConsume) {
+			tokens -= toConsume;
+			return 0;
+		}
+		return Math.max(1, (long) Math.ceil((toConsume - tokens) / tokensPerNano));
+	}
+
+	/**
+	 * Gives back tokens consumed for a request which has not been processed
+	 *
+	 * @param cost number of tokens consumed
+	 */
+	public synchronized void refund(long cost) {
+		tokens = Math.min(capacity, tokens + Math.min(cost, capacity));
+	}
+
+	/**
+	 * Checks if the bucket is full (i.e. not used for a while)
+	 *
+	 * @return TRUE if all the tokens are available
+	 */
+	public synchronized boolean isFull() {
+		refill();
+		return tokens >= capacity;
+	}
+
+	private void refill() {
+		long now = System.nanoTime();
+		tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+		lastRefill = now;
+	}
+
+}
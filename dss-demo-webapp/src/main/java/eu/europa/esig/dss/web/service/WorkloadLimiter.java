@@ -0,0 +1,117 @@
+package eu.europa.esig.dss.web.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of requests of one workload class processed at the same time.
+ * At most {@code maxConcurrent} requests are processed, at most {@code maxQueued} requests wait
+ * (up to {@code maxWaitMillis}) for a free slot, and the other ones are rejected.
+ */
+public class WorkloadLimiter {
+
+	private final String name;
+
+	private final int maxConcurrent;
+
+	private final int maxQueued;
+
+	private final long maxWaitMillis;
+
+	private final Semaphore semaphore;
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicLong completed = new AtomicLong();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final AtomicInteger peakActive = new AtomicInteger();
+
+	public WorkloadLimiter(String name, int maxConcurrent, int maxQueued, long maxWaitMillis) {
+		if (maxConcurrent < 1) {
+			throw new IllegalArgumentException(String.format("At least one concurrent request is required for the workload '%s'", name));
+		}
+		this.name = name;
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = Math.max(0, maxQueued);
+		this.maxWaitMillis = maxWaitMillis;
+		this.semaphore = new Semaphore(maxConcurrent, true);
+	}
+
+	/**
+	 * Waits for a free slot, if the queue is not full
+	 *
+	 * @return TRUE if the request can be processed, FALSE if it is rejected
+	 */
+	public boolean tryAcquire() {
+		boolean acquired = false;
+		try {
+			// respects the waiting requests (fair semaphore)
+			acquired = semaphore.tryAcquire(0, TimeUnit.MILLISECONDS);
+			if (!acquired) {
+				if (queued.incrementAndGet() <= maxQueued) {
+					try {
+						acquired = semaphore.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+					} finally {
+						queued.decrementAndGet();
+					}
+				} else {
+					queued.decrementAndGet();
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (acquired) {
+			peakActive.accumulateAndGet(getActiveCount(), Math::max);
+		} else {
+			rejected.incrementAndGet();
+		}
+		return acquired;
+	}
+
+	/**
+	 * Releases the slot acquired with {@link #tryAcquire()}
+	 */
+	public void release() {
+		completed.incrementAndGet();
+		semaphore.release();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getMaxConcurrent() {
+		return maxConcurrent;
+	}
+
+	public int getMaxQueued() {
+		return maxQueued;
+	}
+
+	public int getActiveCount() {
+		return maxConcurrent - semaphore.availablePermits();
+	}
+
+	public int getQueuedCount() {
+		return queued.get();
+	}
+
+	public int getPeakActiveCount() {
+		return peakActive.get();
+	}
+
+	public long getCompletedCount() {
+		return completed.get();
+	}
+
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+}
@@ -0,0 +1,167 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.config.CXFConfig;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Classifies the incoming requests by workload and keeps a dedicated {@code WorkloadLimiter} for each of them,
+ * so a flood of one request type (e.g. PAdES validation) does not take all the request threads from the others.
+ */
+@Component
+public class WorkloadService {
+
+	private static final String SERVICES = "/services";
+
+	/** Urls of the requests computing a validation (POST only) */
+	private static final String[] VALIDATION_URLS = new String[] {
+			"/validation", "/certificate-validation", "/qwac-validation", "/replay-diagnostic-data",
+			SERVICES + CXFConfig.REST_VALIDATION, SERVICES + CXFConfig.REST_CERTIFICATE_VALIDATION,
+			SERVICES + CXFConfig.SOAP_VALIDATION, SERVICES + CXFConfig.SOAP_CERTIFICATE_VALIDATION,
+			SERVICES + CXFConfig.REST_STREAMING_VALIDATION
+	};
+
+	/** Urls of the requests creating or augmenting a signature or a timestamp (POST only) */
+	private static final String[] SIGNING_URLS = new String[] {
+			"/sign-a-document", "/sign-a-pdf", "/sign-a-digest", "/sign-with-jades", "/sign-multiple-documents",
+			"/counter-sign", "/extension", "/timestamp-a-document", "/merge-containers",
+			SERVICES + "/rest/signature", SERVICES + CXFConfig.REST_SERVER_SIGNING, SERVICES + CXFConfig.REST_SERVER_BULK_SIGNING,
+			SERVICES + CXFConfig.REST_TIMESTAMP_SERVICE, SERVICES + "/soap/signature", SERVICES + CXFConfig.SOAP_SERVER_SIGNING,
+			SERVICES + CXFConfig.SOAP_TIMESTAMP_SERVICE, SERVICES + CXFConfig.REST_STREAMING_SIGNATURE
+	};
+
+	/** Urls of the requests rendering a report (PDF or SVG) */
+	private static final String[] RENDERING_URLS = new String[] {
+			"/validation/download-simple-report", "/validation/download-detailed-report", "/validation/diag-data.svg"
+	};
+
+	public enum Workload {
+		VALIDATION, SIGNING, RENDERING
+	}
+
+	@Value("${workload.validation.max.concurrent:20}")
+	private int validationMaxConcurrent;
+
+	@Value("${workload.validation.max.queued:40}")
+	private int validationMaxQueued;
+
+	@Value("${workload.signing.max.concurrent:20}")
+	private int signingMaxConcurrent;
+
+	@Value("${workload.signing.max.queued:40}")
+	private int signingMaxQueued;
+
+	@Value("${workload.rendering.max.concurrent:4}")
+	private int renderingMaxConcurrent;
+
+	@Value("${workload.rendering.max.queued:16}")
+	private int renderingMaxQueued;
+
+	@Value("${workload.max.wait:30000}")
+	private long maxWaitMillis;
+
+	@Value("${workload.retry.after:10}")
+	private int retryAfter;
+
+	@Autowired
+	private ObjectProvider<ScheduledExecutorService> taskExecutor;
+
+	private final Map<Workload, WorkloadLimiter> limiters = new EnumMap<>(Workload.class);
+
+	@PostConstruct
+	public void init() {
+		limiters.put(Workload.VALIDATION, new WorkloadLimiter("validation", validationMaxConcurrent, validationMaxQueued, maxWaitMillis));
+		limiters.put(Workload.SIGNING, new WorkloadLimiter("signing", signingMaxConcurrent, signingMaxQueued, maxWaitMillis));
+		limiters.put(Workload.RENDERING, new WorkloadLimiter("rendering", renderingMaxConcurrent, renderingMaxQueued, maxWaitMillis));
+	}
+
+	/**
+	 * Returns the workload of the request
+	 *
+	 * @param method HTTP method
+	 * @param path request path, without the context path
+	 * @return {@link Workload}, or null for the cheap requests which are not limited (pages, lookups, resources)
+	 */
+	public Workload getWorkload(String method, String path) {
+		if (path == null) {
+			return null;
+		}
+		if (matches(path, RENDERING_URLS)) {
+			return Workload.RENDERING;
+		}
+		if (!"POST".equalsIgnoreCase(method)) {
+			return null;
+		}
+		if (matches(path, VALIDATION_URLS)) {
+			return Workload.VALIDATION;
+		}
+		if (matches(path, SIGNING_URLS)) {
+			return Workload.SIGNING;
+		}
+		return null;
+	}
+
+	private boolean matches(String path, String[] urls) {
+		for (String url : urls) {
+			if (path.equals(url) || path.startsWith(url + "/")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public WorkloadLimiter getLimiter(Workload workload) {
+		return limiters.get(workload);
+	}
+
+	/**
+	 * Returns the delay (in seconds) to be returned within the "Retry-After" header of a rejected request
+	 *
+	 * @return number of seconds
+	 */
+	public int getRetryAfter() {
+		return retryAfter;
+	}
+
+	/**
+	 * Returns the statistics of the request workloads and of the background jobs
+	 *
+	 * @return map of statistics by workload name
+	 */
+	public Map<String, Map<String, Object>> getStatistics() {
+		Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+		for (WorkloadLimiter limiter : limiters.values()) {
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("maxConcurrent", limiter.getMaxConcurrent());
+			values.put("maxQueued", limiter.getMaxQueued());
+			values.put("active", limiter.getActiveCount());
+			values.put("queued", limiter.getQueuedCount());
+			values.put("peakActive", limiter.getPeakActiveCount());
+			values.put("completed", limiter.getCompletedCount());
+			values.put("rejected", limiter.getRejectedCount());
+			statistics.put(limiter.getName(), values);
+		}
+
+		ScheduledExecutorService scheduledExecutorService = taskExecutor.getIfAvailable();
+		if (scheduledExecutorService instanceof ThreadPoolExecutor) {
+			ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) scheduledExecutorService;
+			Map<String, Object> values = new LinkedHashMap<>();
+			values.put("poolSize", threadPoolExecutor.getPoolSize());
+			values.put("active", threadPoolExecutor.getActiveCount());
+			values.put("scheduled", threadPoolExecutor.getQueue().size());
+			values.put("completed", threadPoolExecutor.getCompletedTaskCount());
+			statistics.put("background", values);
+		}
+		return statistics;
+	}
+
+}
@@ -0,0 +1,126 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.exception.InternalServerException;
+import jakarta.ws.rs.core.MediaType;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Converts the multipart attachments to documents backed by temporary files,
+ * so the content is streamed to the disk instead of being held in memory
+ */
+final class AttachmentDocuments {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AttachmentDocuments.class);
+
+	private AttachmentDocuments() {
+		// empty
+	}
+
+	/**
+	 * Copies the content of the attachment to a temporary file
+	 *
+	 * @param attachment {@link Attachment} (can be null)
+	 * @return {@link FileDocument}, or null if no attachment is provided
+	 */
+	static FileDocument toDSSDocument(Attachment attachment) {
+		if (attachment == null) {
+			return null;
+		}
+		Path path = null;
+		try (InputStream is = attachment.getDataHandler().getInputStream()) {
+			path = Files.createTempFile("dss-stream-", ".tmp");
+			Files.copy(is, path, StandardCopyOption.REPLACE_EXISTING);
+			FileDocument document = new FileDocument(path.toFile());
+			String filename = getFilename(attachment);
+			document.setName(filename);
+			if (filename != null) {
+				document.setMimeType(MimeType.fromFileName(filename));
+			}
+			return document;
+		} catch (IOException e) {
+			if (path != null) {
+				delete(path.toFile());
+			}
+			throw new InternalServerException(String.format("Unable to read the attachment : %s", e.getMessage()), e);
+		}
+	}
+
+	private static String getFilename(Attachment attachment) {
+		if (attachment.getContentDisposition() != null && Utils.isStringNotBlank(attachment.getContentDisposition().getFilename())) {
+			return attachment.getContentDisposition().getFilename();
+		}
+		return null;
+	}
+
+	/**
+	 * Deletes the temporary files backing the documents
+	 *
+	 * @param documents {@link DSSDocument}s (can be null)
+	 */
+	static void delete(DSSDocument... documents) {
+		for (DSSDocument document : documents) {
+			if (document instanceof FileDocument) {
+				delete(((FileDocument) document).getFile());
+			}
+		}
+	}
+
+	/**
+	 * Deletes the temporary files backing the documents once the current request is completed,
+	 * including when the response could not be written (e.g. the client disconnected)
+	 *
+	 * @param documents {@link DSSDocument}s (can be null)
+	 */
+	static void deleteOnCompletion(DSSDocument... documents) {
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		for (DSSDocument document : documents) {
+			if (document instanceof FileDocument) {
+				File file = ((FileDocument) document).getFile();
+				if (requestAttributes != null) {
+					requestAttributes.registerDestructionCallback(AttachmentDocuments.class.getName() + ":" + file.getPath(),
+							() -> delete(file), RequestAttributes.SCOPE_REQUEST);
+				} else {
+					// outside a request (no completion callback), the file is deleted at the latest on exit
+					file.deleteOnExit();
+				}
+			}
+		}
+	}
+
+	private static void delete(File file) {
+		try {
+			Files.deleteIfExists(file.toPath());
+		} catch (IOException e) {
+			LOG.warn("Unable to delete the temporary file '{}' : {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the media type of the document
+	 *
+	 * @param document {@link DSSDocument}
+	 * @return {@link MediaType}
+	 */
+	static MediaType getMediaType(DSSDocument document) {
+		if (document.getMimeType() != null) {
+			return MediaType.valueOf(document.getMimeType().getMimeTypeString());
+		}
+		return MediaType.APPLICATION_OCTET_STREAM_TYPE;
+	}
+
+}
@@ -0,0 +1,58 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Represents a request to sign a batch of documents with a server-side key
+ */
+@SuppressWarnings("serial")
+public class BulkSignDocumentsDTO implements Serializable {
+
+	/** Alias of the key to be used from the server keystore */
+	private String alias;
+
+	/** Signature parameters shared by all the documents */
+	private RemoteSignatureParameters parameters;
+
+	/** Documents to be signed, each of them resulting in a separate signed document */
+	private List<RemoteDocument> toSignDocuments;
+
+	public BulkSignDocumentsDTO() {
+		// empty
+	}
+
+	public BulkSignDocumentsDTO(String alias, RemoteSignatureParameters parameters, List<RemoteDocument> toSignDocuments) {
+		this.alias = alias;
+		this.parameters = parameters;
+		this.toSignDocuments = toSignDocuments;
+	}
+
+	public String getAlias() {
+		return alias;
+	}
+
+	public void setAlias(String alias) {
+		this.alias = alias;
+	}
+
+	public RemoteSignatureParameters getParameters() {
+		return parameters;
+	}
+
+	public void setParameters(RemoteSignatureParameters parameters) {
+		this.parameters = parameters;
+	}
+
+	public List<RemoteDocument> getToSignDocuments() {
+		return toSignDocuments;
+	}
+
+	public void setToSignDocuments(List<RemoteDocument> toSignDocuments) {
+		this.toSignDocuments = toSignDocuments;
+	}
+
+}
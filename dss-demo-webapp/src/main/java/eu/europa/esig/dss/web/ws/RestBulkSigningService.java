@@ -0,0 +1,31 @@
+package eu.europa.esig.dss.web.ws;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.io.Serializable;
+
+/**
+ * REST service allowing to sign a batch of documents with a server-side key within a single call
+ */
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public interface RestBulkSigningService extends Serializable {
+
+	/**
+	 * Signs all the documents with the same parameters and the key identified by the alias.
+	 * The response body is a JSON array of signed {@code RemoteDocument}s, in the order of
+	 * the documents in the request, written once all the documents are signed.
+	 *
+	 * @param bulkSignDocumentsDTO {@link BulkSignDocumentsDTO} the documents, the parameters and the key alias
+	 * @return {@link Response} streaming the signed documents
+	 */
+	@POST
+	@Path("sign-documents")
+	Response signDocuments(BulkSignDocumentsDTO bulkSignDocumentsDTO);
+
+}
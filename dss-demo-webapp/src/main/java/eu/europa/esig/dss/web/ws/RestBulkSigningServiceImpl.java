@@ -0,0 +1,71 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.esig.dss.web.service.BulkSigningService;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * REST implementation of the bulk server-side signing.
+ * The documents are signed before the response is committed (so a failure results in an error response),
+ * then the signed documents are serialized one by one to the output stream.
+ */
+@SuppressWarnings("serial")
+public class RestBulkSigningServiceImpl implements RestBulkSigningService {
+
+	private transient BulkSigningService service;
+
+	private transient ObjectMapper objectMapper;
+
+	public void setService(BulkSigningService service) {
+		this.service = service;
+	}
+
+	public void setObjectMapper(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public Response signDocuments(BulkSignDocumentsDTO bulkSignDocumentsDTO) {
+		Objects.requireNonNull(bulkSignDocumentsDTO, "bulkSignDocumentsDTO must be defined!");
+		Objects.requireNonNull(bulkSignDocumentsDTO.getAlias(), "alias must be defined!");
+		Objects.requireNonNull(bulkSignDocumentsDTO.getParameters(), "parameters must be defined!");
+		Objects.requireNonNull(bulkSignDocumentsDTO.getToSignDocuments(), "toSignDocuments must be defined!");
+
+		final RemoteSignatureParameters parameters = bulkSignDocumentsDTO.getParameters();
+		final List<RemoteDocument> toSignDocuments = bulkSignDocumentsDTO.getToSignDocuments();
+		final List<SignatureValueDTO> signatureValues = service.getSignatureValues(bulkSignDocumentsDTO.getAlias(), parameters, toSignDocuments);
+
+		// all the documents are signed before the response is committed, so a failure results in an error response
+		final List<RemoteDocument> signedDocuments = new ArrayList<>(toSignDocuments.size());
+		for (int i = 0; i < toSignDocuments.size(); i++) {
+			signedDocuments.add(service.signDocument(toSignDocuments.get(i), parameters, signatureValues.get(i)));
+			// releases the original document as soon as it is signed
+			toSignDocuments.set(i, null);
+		}
+
+		StreamingOutput stream = os -> {
+			try (JsonGenerator generator = objectMapper.getFactory().createGenerator(os)) {
+				generator.writeStartArray();
+				for (int i = 0; i < signedDocuments.size(); i++) {
+					objectMapper.writeValue(generator, signedDocuments.get(i));
+					// releases the signed document as soon as it is written
+					signedDocuments.set(i, null);
+					generator.flush();
+				}
+				generator.writeEndArray();
+			}
+		};
+		return Response.ok(stream, MediaType.APPLICATION_JSON_TYPE).build();
+	}
+
+}
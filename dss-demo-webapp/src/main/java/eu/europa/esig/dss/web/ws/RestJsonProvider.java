@@ -0,0 +1,93 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jakarta.rs.cfg.EndpointConfigBase;
+import com.fasterxml.jackson.jakarta.rs.cfg.ObjectWriterInjector;
+import com.fasterxml.jackson.jakarta.rs.cfg.ObjectWriterModifier;
+import com.fasterxml.jackson.jakarta.rs.json.JacksonJsonProvider;
+import eu.europa.esig.dss.web.service.RestResponseMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.apache.cxf.transport.http.AbstractHTTPDestination;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * JSON provider of the REST webservices.
+ * The responses are written compact, unless the "pretty" query parameter is set to true,
+ * and their size and serialization time are recorded by endpoint.
+ */
+public class RestJsonProvider extends JacksonJsonProvider {
+
+	/** The query parameter requesting an indented response */
+	public static final String PRETTY_PARAMETER = "pretty";
+
+	private static final ObjectWriterModifier PRETTY_PRINT = new ObjectWriterModifier() {
+
+		@Override
+		public ObjectWriter modify(EndpointConfigBase<?> endpoint, MultivaluedMap<String, Object> responseHeaders,
+								   Object valueToWrite, ObjectWriter w, JsonGenerator g) {
+			// the generator is already created at this stage
+			g.useDefaultPrettyPrinter();
+			return w.with(SerializationFeature.INDENT_OUTPUT);
+		}
+
+	};
+
+	private RestResponseMetrics metrics;
+
+	public void setMetrics(RestResponseMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+						MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+		Message message = PhaseInterceptorChain.getCurrentMessage();
+		writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream,
+				isPrettyPrintRequested(message), getEndpoint(message));
+	}
+
+	void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+				 MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream,
+				 boolean prettyPrint, String endpoint) throws IOException {
+		if (prettyPrint) {
+			// read and cleared by the super class within the same thread
+			ObjectWriterInjector.set(PRETTY_PRINT);
+		}
+
+		long start = System.nanoTime();
+		CountingOutputStream countingOutputStream = new CountingOutputStream(entityStream);
+		super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, countingOutputStream);
+
+		if (metrics != null) {
+			metrics.record(endpoint, countingOutputStream.getByteCount(), System.nanoTime() - start);
+		}
+	}
+
+	static boolean isPrettyPrintRequested(Message message) {
+		if (message == null || message.getExchange() == null || message.getExchange().getInMessage() == null) {
+			return false;
+		}
+		// the current message is the outbound one
+		HttpServletRequest request = (HttpServletRequest) message.getExchange().getInMessage().get(AbstractHTTPDestination.HTTP_REQUEST);
+		return request != null && Boolean.parseBoolean(request.getParameter(PRETTY_PARAMETER));
+	}
+
+	private String getEndpoint(Message message) {
+		if (message != null && message.getExchange() != null && message.getExchange().getEndpoint() != null) {
+			return message.getExchange().getEndpoint().getEndpointInfo().getAddress();
+		}
+		return "unknown";
+	}
+
+}
@@ -0,0 +1,52 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
+import eu.europa.esig.dss.ws.dto.ToBeSignedDTO;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.Multipart;
+
+import java.io.Serializable;
+
+/**
+ * REST service allowing to sign a document sent as a binary part of a "multipart/form-data" request.
+ * The parameters and the signature value are sent as JSON parts, the signed document is returned as a binary response.
+ */
+@Consumes(MediaType.MULTIPART_FORM_DATA)
+public interface RestStreamingSignatureService extends Serializable {
+
+	/**
+	 * Computes the data to be signed
+	 *
+	 * @param document {@link Attachment} the "document" part to be signed
+	 * @param parameters {@link RemoteSignatureParameters} the "parameters" JSON part
+	 * @return {@link ToBeSignedDTO} the data to be signed
+	 */
+	@POST
+	@Path("getDataToSign")
+	@Produces(MediaType.APPLICATION_JSON)
+	ToBeSignedDTO getDataToSign(@Multipart(value = "document") Attachment document,
+								@Multipart(value = "parameters", type = MediaType.APPLICATION_JSON) RemoteSignatureParameters parameters);
+
+	/**
+	 * Incorporates the signature value into the document
+	 *
+	 * @param document {@link Attachment} the "document" part to be signed
+	 * @param parameters {@link RemoteSignatureParameters} the "parameters" JSON part, as used to compute the data to be signed
+	 * @param signatureValue {@link SignatureValueDTO} the "signatureValue" JSON part
+	 * @return {@link Response} streaming the signed document
+	 */
+	@POST
+	@Path("signDocument")
+	@Produces({ MediaType.APPLICATION_OCTET_STREAM, MediaType.APPLICATION_JSON })
+	Response signDocument(@Multipart(value = "document") Attachment document,
+						  @Multipart(value = "parameters", type = MediaType.APPLICATION_JSON) RemoteSignatureParameters parameters,
+						  @Multipart(value = "signatureValue", type = MediaType.APPLICATION_JSON) SignatureValueDTO signatureValue);
+
+}
@@ -0,0 +1,70 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.web.service.StreamingSignatureService;
+import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
+import eu.europa.esig.dss.ws.dto.ToBeSignedDTO;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+
+import java.util.Objects;
+
+/**
+ * REST implementation of the multipart signature.
+ * The document is copied to a temporary file, which is deleted once the signed document is written to the response
+ * or, when the response is not written, once the request is completed.
+ */
+@SuppressWarnings("serial")
+public class RestStreamingSignatureServiceImpl implements RestStreamingSignatureService {
+
+	private transient StreamingSignatureService service;
+
+	public void setService(StreamingSignatureService service) {
+		this.service = service;
+	}
+
+	@Override
+	public ToBeSignedDTO getDataToSign(Attachment document, RemoteSignatureParameters parameters) {
+		Objects.requireNonNull(document, "document must be defined!");
+		DSSDocument toSignDocument = AttachmentDocuments.toDSSDocument(document);
+		try {
+			return service.getDataToSign(toSignDocument, parameters);
+		} finally {
+			AttachmentDocuments.delete(toSignDocument);
+		}
+	}
+
+	@Override
+	public Response signDocument(Attachment document, RemoteSignatureParameters parameters, SignatureValueDTO signatureValue) {
+		Objects.requireNonNull(document, "document must be defined!");
+		final DSSDocument toSignDocument = AttachmentDocuments.toDSSDocument(document);
+		final DSSDocument signedDocument;
+		try {
+			signedDocument = service.signDocument(toSignDocument, parameters, signatureValue);
+		} catch (RuntimeException e) {
+			AttachmentDocuments.delete(toSignDocument);
+			throw e;
+		}
+		// the response may never be written (e.g. the client disconnected before)
+		AttachmentDocuments.deleteOnCompletion(toSignDocument);
+
+		StreamingOutput stream = os -> {
+			try {
+				signedDocument.writeTo(os);
+			} finally {
+				// the signed document may still refer to the original content until it is written
+				AttachmentDocuments.delete(toSignDocument);
+			}
+		};
+		Response.ResponseBuilder builder = Response.ok(stream, AttachmentDocuments.getMediaType(signedDocument));
+		if (signedDocument.getName() != null) {
+			builder.header(HttpHeaders.CONTENT_DISPOSITION, String.format("attachment; filename=\"%s\"",
+					signedDocument.getName().replaceAll("[\"\\r\\n]", "_")));
+		}
+		return builder.build();
+	}
+
+}
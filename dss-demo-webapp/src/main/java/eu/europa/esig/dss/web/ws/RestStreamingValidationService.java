@@ -0,0 +1,34 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.Multipart;
+
+import java.io.Serializable;
+
+/**
+ * REST service allowing to validate a document sent as a binary part of a "multipart/form-data" request,
+ * instead of a base64-encoded JSON property
+ */
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.MULTIPART_FORM_DATA)
+public interface RestStreamingValidationService extends Serializable {
+
+	/**
+	 * Validates the signed document
+	 *
+	 * @param signedDocument {@link Attachment} the "signedDocument" part, the file name is taken from its Content-Disposition
+	 * @param policy {@link Attachment} the optional "policy" part, a custom validation policy
+	 * @return {@link WSReportsDTO} the validation reports
+	 */
+	@POST
+	@Path("validateSignature")
+	WSReportsDTO validateSignature(@Multipart(value = "signedDocument") Attachment signedDocument,
+								   @Multipart(value = "policy", required = false) Attachment policy);
+
+}
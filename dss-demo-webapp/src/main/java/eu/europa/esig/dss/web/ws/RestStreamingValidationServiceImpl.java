@@ -0,0 +1,37 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.web.service.StreamingValidationService;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+
+import java.util.Objects;
+
+/**
+ * REST implementation of the multipart validation.
+ * The parts are copied to temporary files, which are deleted once the document is validated.
+ */
+@SuppressWarnings("serial")
+public class RestStreamingValidationServiceImpl implements RestStreamingValidationService {
+
+	private transient StreamingValidationService service;
+
+	public void setService(StreamingValidationService service) {
+		this.service = service;
+	}
+
+	@Override
+	public WSReportsDTO validateSignature(Attachment signedDocument, Attachment policy) {
+		Objects.requireNonNull(signedDocument, "signedDocument must be defined!");
+		DSSDocument document = null;
+		DSSDocument policyDocument = null;
+		try {
+			document = AttachmentDocuments.toDSSDocument(signedDocument);
+			policyDocument = AttachmentDocuments.toDSSDocument(policy);
+			return service.validateDocument(document, policyDocument);
+		} finally {
+			AttachmentDocuments.delete(document, policyDocument);
+		}
+	}
+
+}
@@ -11,7 +11,7 @@ $(document).ready(function() {
 		}
 		
 		// disable algos
-		var $digestAlgoToSend = $('#digestAlgoToSend');
+		var $digestAlgoToSend = $('#digestAlgoToSend, #digestsToSend');
 		if ($digestAlgoToSend.length) {
 			var $digestAlgoInputs = $digestAlgoToSend.find('.digest-algo-input');
 			$digestAlgoInputs.each(function(i) {
@@ -0,0 +1,99 @@
+// only the detached XAdES signature can be created from the digests of the documents,
+// an ASiC container embeds the complete files
+function updateSendDigestsToSign(asicValue) {
+	if ('none' == asicValue) {
+		// several documents can only be signed without a container within a detached XAdES signature
+		$("#formCAdES").attr("disabled", true).prop("checked", false);
+		$("#formJAdES").attr("disabled", true).prop("checked", false);
+		if (crypto.subtle != null) {
+			$("#sendDigests").attr("disabled", false);
+		}
+	} else {
+		$("#sendDigests").attr("disabled", true).prop("checked", false);
+		$("#sendCompleteFiles").prop("checked", true);
+	}
+}
+
+$('input[name="containerType"]:radio').change(
+	function() {
+		updateSendDigestsToSign(this.value);
+	});
+
+$(document).ready(function() {
+	var checkedContainerType = $('input[name="containerType"]:checked');
+	if (checkedContainerType.length) {
+		updateSendDigestsToSign(checkedContainerType.val());
+	}
+});
+
+$("#sign-multiple-documents-form").submit(function(event) {
+	var documentsToSignField = $('#documentsToSign');
+	var documentsToSign = documentsToSignField[0].files;
+
+	var linkedDigests = $('#linked-digests');
+	linkedDigests.empty();
+
+	var sendDigests = $('input[name=sendDigestsToSign]:checked', this).val() == 'true';
+	if (sendDigests && documentsToSign.length > 0) {
+		// prevent default in order to wait until the digests are computed
+		event.preventDefault();
+
+		var digestAlgorithm = $('input[name=digestAlgorithm]:checked', this).val();
+		linkDigests(documentsToSign, digestAlgorithm, linkedDigests, documentsToSignField, this);
+	}
+});
+
+async function linkDigests(documentsToSign, digestAlgorithm, linkedDigests, documentsToSignField, form) {
+	var algoJavaName = "SHA-" + digestAlgorithm.substring(3);
+	for (var i = 0; i < documentsToSign.length; i++) {
+		var currentFile = documentsToSign[i];
+		addHiddenInput(linkedDigests, i, "filename", currentFile.name);
+		addHiddenInput(linkedDigests, i, "digestAlgorithm", digestAlgorithm);
+
+		var base64Digest = await getDigest(currentFile, algoJavaName);
+		addHiddenInput(linkedDigests, i, "base64Digest", base64Digest);
+	}
+
+	// the content of the documents is not sent to the server
+	documentsToSignField.prop("disabled", true);
+	form.submit();
+	documentsToSignField.prop("disabled", false);
+}
+
+function addHiddenInput(linkedDigests, i, name, value) {
+	var line = $("<input type=\"hidden\" />");
+	line.attr("id", "digestsToSign" + i + "." + name);
+	line.attr("name", "digestsToSign[" + i + "]." + name);
+	line.val(value);
+	linkedDigests.append(line);
+}
+
+function readFile(file) {
+	return new Promise(function(resolve, reject) {
+		var reader = new FileReader();
+		reader.onloadend = function () {
+			resolve(reader.result);
+		};
+		reader.onerror = function (event) {
+			console.error("File could not be read! Code " + event.target.error.code);
+			reject(event.target.error);
+		};
+		reader.readAsArrayBuffer(file);
+	});
+}
+
+async function getDigest(file, digestAlgorithm) {
+	var contents = await readFile(file);
+	const digestValue = await crypto.subtle.digest(digestAlgorithm, contents);
+	return arrayBufferToBase64(digestValue);
+}
+
+function arrayBufferToBase64(buffer) {
+    var binary = '';
+    var bytes = new Uint8Array(buffer);
+    var len = bytes.byteLength;
+    for (var i = 0; i < len; i++) {
+        binary += String.fromCharCode(bytes[i]);
+    }
+    return window.btoa(binary);
+}
@@ -0,0 +1,75 @@
+package eu.europa.esig.dss.web;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CertificateVerifierBuilder;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.web.service.OverlayCertificateVerifier;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the allocation and the time of a complete copy of the shared verifier with a request overlay,
+ * for a request supplying adjunct certificates.
+ */
+public class CertificateVerifierCopyBenchmarkApp extends DssDemoApplicationTests {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CertificateVerifierCopyBenchmarkApp.class);
+
+	private static final int NB_REQ = 100_000;
+
+	@Test
+	public void test() {
+		CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+		CommonCertificateSource adjunctCertSource = new CommonCertificateSource();
+		adjunctCertSource.addCertificate(certificate);
+
+		Function<CertificateVerifier, CertificateVerifier> completeCopy = shared -> {
+			CertificateVerifier cv = new CertificateVerifierBuilder(shared).buildCompleteCopy();
+			cv.setAdjunctCertSources(adjunctCertSource);
+			return cv;
+		};
+		Function<CertificateVerifier, CertificateVerifier> overlay = shared -> {
+			CertificateVerifier cv = new OverlayCertificateVerifier(shared);
+			cv.setAdjunctCertSources(adjunctCertSource);
+			return cv;
+		};
+
+		// warm-up
+		run(completeCopy);
+		run(overlay);
+
+		measure("Complete copy", completeCopy);
+		measure("Overlay", overlay);
+	}
+
+	private void measure(String name, Function<CertificateVerifier, CertificateVerifier> copy) {
+		com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+
+		long startBytes = threadMXBean.getThreadAllocatedBytes(threadId);
+		long startNanoTime = System.nanoTime();
+		run(copy);
+		long totalTime = System.nanoTime() - startNanoTime;
+		long totalBytes = threadMXBean.getThreadAllocatedBytes(threadId) - startBytes;
+
+		LOG.info("{} : {} bytes/req, {} ns/req", name, totalBytes / NB_REQ, totalTime / NB_REQ);
+	}
+
+	private void run(Function<CertificateVerifier, CertificateVerifier> copy) {
+		CertificateVerifier shared = getCertificateVerifier();
+		for (int i = 0; i < NB_REQ; i++) {
+			CertificateVerifier cv = copy.apply(shared);
+			assertEquals(1, cv.getAdjunctCertSources().getNumberOfCertificates());
+		}
+	}
+
+}
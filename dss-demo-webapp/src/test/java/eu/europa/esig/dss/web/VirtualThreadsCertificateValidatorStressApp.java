@@ -0,0 +1,99 @@
+package eu.europa.esig.dss.web;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.validation.CertificateValidator;
+import eu.europa.esig.dss.validation.reports.CertificateReports;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the concurrent validation of certificates (mostly blocked on OCSP/CRL/AIA requests)
+ * on the platform thread pool against one virtual thread per validation.
+ * Virtual threads require Java 21+.
+ */
+public class VirtualThreadsCertificateValidatorStressApp extends DssDemoApplicationTests {
+
+	private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsCertificateValidatorStressApp.class);
+
+	private static final int NB_REQ = 2000;
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	@Test
+	public void platformThreads() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(200);
+		try {
+			List<Future<CertificateReports>> futures = new ArrayList<>();
+			run("platform threads", () -> {
+				for (int i = 0; i < NB_REQ; i++) {
+					futures.add(executor.submit(this::validate));
+				}
+				return futures;
+			});
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void virtualThreads() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21+");
+
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dss-validation-");
+		executor.setVirtualThreads(true);
+		try {
+			List<Future<CertificateReports>> futures = new ArrayList<>();
+			run("virtual threads", () -> {
+				for (int i = 0; i < NB_REQ; i++) {
+					futures.add(executor.submit(this::validate));
+				}
+				return futures;
+			});
+		} finally {
+			executor.close();
+		}
+	}
+
+	private void run(String mode, Submitter submitter) throws InterruptedException, ExecutionException {
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		threadMXBean.resetPeakThreadCount();
+
+		long startNanoTime = System.nanoTime();
+		for (Future<CertificateReports> future : submitter.submit()) {
+			assertNotNull(future.get().getDiagnosticData());
+		}
+		long totalTime = System.nanoTime() - startNanoTime;
+
+		LOG.info("{} : {} validations in {} ms ({} ns/req), peak of {} platform threads", mode, NB_REQ,
+				totalTime / 1000000, totalTime / NB_REQ, threadMXBean.getPeakThreadCount());
+	}
+
+	private CertificateReports validate() {
+		CertificateValidator cv = CertificateValidator.fromCertificate(certificate);
+		cv.setCertificateVerifier(getCertificateVerifier());
+		return cv.validate();
+	}
+
+	private interface Submitter {
+
+		List<Future<CertificateReports>> submit();
+
+	}
+
+}
@@ -0,0 +1,112 @@
+package eu.europa.esig.dss.web.config;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.ext.logging.WireTapIn;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayloadLoggingSamplerTest {
+
+	@Test
+	public void sampleRate() {
+		PayloadLoggingSampler always = new PayloadLoggingSampler(1, false, Collections.emptyList(), 1024, 1024);
+		Message message = getInMessage(Collections.emptyMap());
+		always.handleMessage(message);
+		assertTrue(PayloadLoggingSampler.isPayloadLogged(message));
+		assertTrue(hasWireTap(message));
+
+		PayloadLoggingSampler never = new PayloadLoggingSampler(0, false, Collections.emptyList(), 1024, 1024);
+		for (int i = 0; i < 100; i++) {
+			message = getInMessage(Collections.emptyMap());
+			never.handleMessage(message);
+			assertFalse(PayloadLoggingSampler.isPayloadLogged(message));
+			assertFalse(hasWireTap(message));
+		}
+	}
+
+	@Test
+	public void logPayloadHeader() {
+		PayloadLoggingSampler sampler = new PayloadLoggingSampler(0, true, Collections.emptyList(), 1024, 1024);
+
+		Message message = getInMessage(Map.of("x-log-payload", "true"));
+		sampler.handleMessage(message);
+		assertTrue(PayloadLoggingSampler.isPayloadLogged(message));
+		assertTrue(hasWireTap(message));
+
+		message = getInMessage(Map.of(PayloadLoggingSampler.LOG_PAYLOAD_HEADER, "false"));
+		sampler.handleMessage(message);
+		assertFalse(PayloadLoggingSampler.isPayloadLogged(message));
+		assertFalse(hasWireTap(message));
+	}
+
+	@Test
+	public void logPayloadHeaderDisabled() {
+		// the header is ignored unless enabled, as any client could request the logging of its payloads
+		PayloadLoggingSampler sampler = new PayloadLoggingSampler(0, false, Collections.emptyList(), 1024, 1024);
+
+		Message message = getInMessage(Map.of(PayloadLoggingSampler.LOG_PAYLOAD_HEADER, "true"));
+		sampler.handleMessage(message);
+		assertFalse(PayloadLoggingSampler.isPayloadLogged(message));
+		assertFalse(hasWireTap(message));
+	}
+
+	@Test
+	public void correlationIds() {
+		PayloadLoggingSampler sampler = new PayloadLoggingSampler(0, false, List.of("ticket-42"), 1024, 1024);
+
+		Message message = getInMessage(Map.of(PayloadLoggingSampler.CORRELATION_ID_HEADER, "ticket-42"));
+		sampler.handleMessage(message);
+		assertTrue(PayloadLoggingSampler.isPayloadLogged(message));
+		assertTrue(hasWireTap(message));
+
+		message = getInMessage(Map.of(PayloadLoggingSampler.CORRELATION_ID_HEADER, "ticket-43"));
+		sampler.handleMessage(message);
+		assertFalse(PayloadLoggingSampler.isPayloadLogged(message));
+		assertFalse(hasWireTap(message));
+	}
+
+	@Test
+	public void requestorMessagesAreIgnored() {
+		PayloadLoggingSampler sampler = new PayloadLoggingSampler(1, false, Collections.emptyList(), 1024, 1024);
+		Message message = getInMessage(Collections.emptyMap());
+		message.put(Message.REQUESTOR_ROLE, Boolean.TRUE);
+		sampler.handleMessage(message);
+		assertFalse(PayloadLoggingSampler.isPayloadLogged(message));
+		assertFalse(hasWireTap(message));
+	}
+
+	static Message getInMessage(Map<String, String> headers) {
+		Map<String, List<String>> protocolHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		headers.forEach((name, value) -> protocolHeaders.put(name, List.of(value)));
+
+		Message message = new MessageImpl();
+		message.put(Message.PROTOCOL_HEADERS, protocolHeaders);
+		message.setInterceptorChain(new PhaseInterceptorChain(new PhaseManagerImpl().getInPhases()));
+		Exchange exchange = new ExchangeImpl();
+		exchange.setInMessage(message);
+		return message;
+	}
+
+	private static boolean hasWireTap(Message message) {
+		for (Interceptor<? extends Message> interceptor : message.getInterceptorChain()) {
+			if (interceptor instanceof WireTapIn) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
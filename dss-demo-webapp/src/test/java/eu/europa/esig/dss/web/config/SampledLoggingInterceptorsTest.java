@@ -0,0 +1,78 @@
+package eu.europa.esig.dss.web.config;
+
+import org.apache.cxf.bus.managers.PhaseManagerImpl;
+import org.apache.cxf.ext.logging.WireTapIn;
+import org.apache.cxf.interceptor.Interceptor;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.phase.PhaseInterceptor;
+import org.apache.cxf.phase.PhaseInterceptorChain;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SampledLoggingInterceptorsTest {
+
+	@Test
+	public void requestsAreNotTappedByDefault() {
+		for (PhaseInterceptor<? extends Message> interceptor : new SampledLoggingInInterceptor().getAdditionalInterceptors()) {
+			assertFalse(interceptor instanceof WireTapIn);
+		}
+	}
+
+	@Test
+	public void unsampledResponseIsNotCached() {
+		Message request = PayloadLoggingSamplerTest.getInMessage(Collections.emptyMap());
+		new PayloadLoggingSampler(0, false, Collections.emptyList(), 1024, 1024).handleMessage(request);
+
+		OutputStream os = new ByteArrayOutputStream();
+		Message response = getOutMessage(request.getExchange(), os);
+		new SampledLoggingOutInterceptor().handleMessage(response);
+
+		assertSame(os, response.getContent(OutputStream.class));
+		// only the metadata are logged once the response is sent
+		List<Interceptor<? extends Message>> interceptors = getInterceptors(response);
+		assertEquals(1, interceptors.size());
+		assertEquals(SampledLoggingOutInterceptor.class, interceptors.get(0).getClass().getEnclosingClass());
+	}
+
+	@Test
+	public void sampledResponseIsCached() {
+		Message request = PayloadLoggingSamplerTest.getInMessage(Map.of(PayloadLoggingSampler.LOG_PAYLOAD_HEADER, "true"));
+		new PayloadLoggingSampler(0, true, Collections.emptyList(), 1024, 1024).handleMessage(request);
+
+		OutputStream os = new ByteArrayOutputStream();
+		Message response = getOutMessage(request.getExchange(), os);
+		new SampledLoggingOutInterceptor().handleMessage(response);
+
+		assertNotSame(os, response.getContent(OutputStream.class));
+		assertEquals(0, getInterceptors(response).size());
+	}
+
+	private Message getOutMessage(Exchange exchange, OutputStream os) {
+		Message message = new MessageImpl();
+		message.setContent(OutputStream.class, os);
+		message.setInterceptorChain(new PhaseInterceptorChain(new PhaseManagerImpl().getOutPhases()));
+		exchange.setOutMessage(message);
+		return message;
+	}
+
+	private List<Interceptor<? extends Message>> getInterceptors(Message message) {
+		List<Interceptor<? extends Message>> interceptors = new ArrayList<>();
+		message.getInterceptorChain().forEach(interceptors::add);
+		return interceptors;
+	}
+
+}
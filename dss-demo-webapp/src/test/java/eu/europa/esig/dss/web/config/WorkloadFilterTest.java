@@ -0,0 +1,45 @@
+package eu.europa.esig.dss.web.config;
+
+import eu.europa.esig.dss.web.service.WorkloadLimiter;
+import eu.europa.esig.dss.web.service.WorkloadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class WorkloadFilterTest {
+
+	@Test
+	public void classifiesTheMappedPath() throws Exception {
+		WorkloadService workloadService = new WorkloadService();
+		ReflectionTestUtils.setField(workloadService, "validationMaxConcurrent", 1);
+		ReflectionTestUtils.setField(workloadService, "validationMaxQueued", 0);
+		ReflectionTestUtils.setField(workloadService, "signingMaxConcurrent", 1);
+		ReflectionTestUtils.setField(workloadService, "renderingMaxConcurrent", 1);
+		workloadService.init();
+		WorkloadLimiter limiter = workloadService.getLimiter(WorkloadService.Workload.VALIDATION);
+
+		WorkloadFilter filter = new WorkloadFilter(workloadService);
+		AtomicInteger active = new AtomicInteger();
+		// the raw URIs differ from the path the request is mapped to
+		filter.doFilter(getRequest("/services//rest/validation/validateSignature", "/rest/validation/validateSignature"),
+				new MockHttpServletResponse(), (request, response) -> active.addAndGet(limiter.getActiveCount()));
+		filter.doFilter(getRequest("/services/rest;x=y/validation/validateSignature", "//rest/validation/validateSignature"),
+				new MockHttpServletResponse(), (request, response) -> active.addAndGet(limiter.getActiveCount()));
+
+		assertEquals(2, active.get());
+		assertEquals(2, limiter.getCompletedCount());
+	}
+
+	private MockHttpServletRequest getRequest(String requestURI, String pathInfo) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", requestURI);
+		request.setServletPath("/services");
+		request.setPathInfo(pathInfo);
+		return request;
+	}
+
+}
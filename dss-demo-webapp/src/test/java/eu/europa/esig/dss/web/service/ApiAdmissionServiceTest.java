@@ -0,0 +1,112 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.web.DssDemoApplicationTests;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ApiAdmissionServiceTest extends DssDemoApplicationTests {
+
+	@Autowired
+	private ApiAdmissionService apiAdmissionService;
+
+	@Test
+	public void endpointAndCost() {
+		assertEquals(CXFConfig.REST_VALIDATION, apiAdmissionService.getEndpoint(CXFConfig.REST_VALIDATION + "/validateSignature"));
+		assertEquals(CXFConfig.SOAP_VALIDATION, apiAdmissionService.getEndpoint(CXFConfig.SOAP_VALIDATION));
+		assertEquals(CXFConfig.REST_SERVER_SIGNING, apiAdmissionService.getEndpoint(CXFConfig.REST_SERVER_SIGNING + "/keys"));
+		// the unknown paths share the same limits
+		assertEquals(ApiAdmissionService.OTHER_ENDPOINT, apiAdmissionService.getEndpoint("/unknown-1"));
+		assertEquals(ApiAdmissionService.OTHER_ENDPOINT, apiAdmissionService.getEndpoint(CXFConfig.REST_VALIDATION + "-unknown"));
+
+		assertEquals(1, apiAdmissionService.getCost(CXFConfig.REST_SERVER_SIGNING, 0));
+		// a payload of unknown size is charged the upper bound
+		assertEquals(11, apiAdmissionService.getCost(CXFConfig.REST_SERVER_SIGNING, -1));
+		assertEquals(22, apiAdmissionService.getCost(CXFConfig.REST_VALIDATION, -1));
+		assertEquals(3, apiAdmissionService.getCost(CXFConfig.REST_SERVER_SIGNING, 2 * 1024 * 1024 + 1));
+		assertEquals(6, apiAdmissionService.getCost(CXFConfig.REST_VALIDATION, 2 * 1024 * 1024 + 1));
+	}
+
+	@Test
+	public void clientKey() {
+		// no API key is configured by default
+		assertEquals("ip:127.0.0.1", apiAdmissionService.getClientKey(null, "127.0.0.1"));
+		assertEquals("ip:127.0.0.1", apiAdmissionService.getClientKey("any-key", "127.0.0.1"));
+
+		Object clientKeys = ReflectionTestUtils.getField(apiAdmissionService, "clientKeys");
+		ReflectionTestUtils.setField(apiAdmissionService, "clientKeys", Collections.singleton("trusted-key"));
+		try {
+			assertEquals("key:trusted-key", apiAdmissionService.getClientKey(" trusted-key ", "127.0.0.1"));
+			// a new key on each request does not give a new token bucket
+			assertEquals("ip:127.0.0.1", apiAdmissionService.getClientKey("rotated-key-1", "127.0.0.1"));
+			assertEquals("ip:127.0.0.1", apiAdmissionService.getClientKey("rotated-key-2", "127.0.0.1"));
+		} finally {
+			ReflectionTestUtils.setField(apiAdmissionService, "clientKeys", clientKeys);
+		}
+	}
+
+	@Test
+	public void clientConcurrencyLimit() {
+		List<ApiAdmissionService.Admission> admissions = new ArrayList<>();
+		ApiAdmissionService.Admission admission = apiAdmissionService.tryAdmit("ip:concurrency", CXFConfig.REST_SERVER_SIGNING, 1);
+		while (admission.getDecision() == ApiAdmissionService.Decision.ADMITTED) {
+			admissions.add(admission);
+			admission = apiAdmissionService.tryAdmit("ip:concurrency", CXFConfig.REST_SERVER_SIGNING, 1);
+		}
+		assertEquals(ApiAdmissionService.Decision.CLIENT_LIMITED, admission.getDecision());
+		assertTrue(admission.getRetryAfterSeconds() >= 1);
+
+		// another client is not impacted
+		ApiAdmissionService.Admission otherClient = apiAdmissionService.tryAdmit("ip:other", CXFConfig.REST_SERVER_SIGNING, 1);
+		assertEquals(ApiAdmissionService.Decision.ADMITTED, otherClient.getDecision());
+		otherClient.release();
+
+		admissions.get(0).release();
+		admission = apiAdmissionService.tryAdmit("ip:concurrency", CXFConfig.REST_SERVER_SIGNING, 1);
+		assertEquals(ApiAdmissionService.Decision.ADMITTED, admission.getDecision());
+		admission.release();
+		for (int i = 1; i < admissions.size(); i++) {
+			admissions.get(i).release();
+		}
+	}
+
+	@Test
+	public void clientRateLimit() {
+		// a cost exceeding the burst consumes all the tokens of the client
+		ApiAdmissionService.Admission admission = apiAdmissionService.tryAdmit("ip:rate", CXFConfig.REST_VALIDATION, Long.MAX_VALUE);
+		assertEquals(ApiAdmissionService.Decision.ADMITTED, admission.getDecision());
+		admission.release();
+
+		admission = apiAdmissionService.tryAdmit("ip:rate", CXFConfig.REST_VALIDATION, 50);
+		assertEquals(ApiAdmissionService.Decision.CLIENT_LIMITED, admission.getDecision());
+		assertTrue(admission.getRetryAfterSeconds() >= 1);
+	}
+
+	@Test
+	public void purgeIdleClients() {
+		apiAdmissionService.purgeIdleClients();
+		ApiAdmissionService.Admission admission = apiAdmissionService.tryAdmit("ip:purge", CXFConfig.REST_SERVER_SIGNING, 0);
+		assertEquals(ApiAdmissionService.Decision.ADMITTED, admission.getDecision());
+		int numberOfClients = apiAdmissionService.getNumberOfClients();
+
+		// a client with a request in progress is kept
+		apiAdmissionService.purgeIdleClients();
+		assertEquals(numberOfClients, apiAdmissionService.getNumberOfClients());
+		admission.release();
+
+		apiAdmissionService.purgeIdleClients();
+		assertEquals(numberOfClients - 1, apiAdmissionService.getNumberOfClients());
+		admission = apiAdmissionService.tryAdmit("ip:purge", CXFConfig.REST_SERVER_SIGNING, 0);
+		assertEquals(ApiAdmissionService.Decision.ADMITTED, admission.getDecision());
+		admission.release();
+	}
+
+}
@@ -0,0 +1,93 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class CertificateChainMemoTest {
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	private final CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/CA_CZ.cer"));
+
+	@Test
+	public void memoizedUntilTrustAnchorsChange() {
+		AtomicInteger calls = new AtomicInteger();
+		AIASource aiaSource = token -> {
+			calls.incrementAndGet();
+			return Collections.singleton(issuer);
+		};
+		CertificateChainMemo memo = new CertificateChainMemo(aiaSource, 10, -1);
+
+		CommonTrustedCertificateSource trustedCertificateSource = new CommonTrustedCertificateSource();
+		memo.refreshTrustAnchors(trustedCertificateSource);
+
+		assertEquals(Collections.singleton(issuer), memo.getCertificatesByAIA(certificate));
+		Set<CertificateToken> memoized = memo.getCertificatesByAIA(certificate);
+		assertEquals(Collections.singleton(issuer), memoized);
+		// a new token for each validation
+		assertNotSame(issuer, memoized.iterator().next());
+		assertEquals(1, calls.get());
+		assertEquals(1, memo.size());
+
+		// same trust anchors
+		memo.refreshTrustAnchors(trustedCertificateSource);
+		memo.getCertificatesByAIA(certificate);
+		assertEquals(1, calls.get());
+
+		trustedCertificateSource.addCertificate(issuer);
+		memo.refreshTrustAnchors(trustedCertificateSource);
+		assertEquals(0, memo.size());
+		memo.getCertificatesByAIA(certificate);
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void bounded() {
+		AtomicInteger calls = new AtomicInteger();
+		CertificateChainMemo memo = new CertificateChainMemo(token -> {
+			calls.incrementAndGet();
+			return Collections.singleton(issuer);
+		}, 1, -1);
+
+		memo.getCertificatesByAIA(certificate);
+		memo.getCertificatesByAIA(issuer);
+		assertEquals(1, memo.size());
+
+		// the least recently used entry was evicted
+		memo.getCertificatesByAIA(certificate);
+		assertEquals(3, calls.get());
+	}
+
+	@Test
+	public void expired() {
+		AtomicInteger calls = new AtomicInteger();
+		AIASource aiaSource = token -> {
+			calls.incrementAndGet();
+			return Collections.singleton(issuer);
+		};
+
+		CertificateChainMemo memo = new CertificateChainMemo(aiaSource, 10, 60_000);
+		memo.getCertificatesByAIA(certificate);
+		memo.getCertificatesByAIA(certificate);
+		assertEquals(1, calls.get());
+
+		// expired as soon as retrieved
+		memo = new CertificateChainMemo(aiaSource, 10, 0);
+		memo.getCertificatesByAIA(certificate);
+		memo.getCertificatesByAIA(certificate);
+		assertEquals(3, calls.get());
+		assertEquals(1, memo.size());
+	}
+
+}
@@ -0,0 +1,59 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DocumentDigestServiceTest {
+
+	private final DocumentDigestService documentDigestService = new DocumentDigestService(4);
+
+	@AfterEach
+	public void shutdown() {
+		documentDigestService.shutdown();
+	}
+
+	@Test
+	public void computeDigests() {
+		List<DSSDocument> documents = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			byte[] content = new byte[i * 5000 + 1];
+			Arrays.fill(content, (byte) i);
+			documents.add(new InMemoryDocument(content, "doc" + i + ".bin"));
+		}
+		DigestDocument digestDocument = new DigestDocument(DigestAlgorithm.SHA256,
+				DSSUtils.digest(DigestAlgorithm.SHA256, "digest".getBytes(StandardCharsets.UTF_8)), "digest.bin");
+		documents.add(digestDocument);
+
+		List<DigestAlgorithm> digestAlgorithms = Arrays.asList(DigestAlgorithm.SHA256, DigestAlgorithm.SHA512);
+		List<DSSDocument> result = documentDigestService.computeDigests(documents, digestAlgorithms);
+		assertEquals(documents.size(), result.size());
+
+		for (int i = 0; i < 20; i++) {
+			DSSDocument original = documents.get(i);
+			DSSDocument computed = result.get(i);
+			assertTrue(computed instanceof MultiDigestDocument);
+			assertEquals(original.getName(), computed.getName());
+			for (DigestAlgorithm digestAlgorithm : digestAlgorithms) {
+				assertArrayEquals(DSSUtils.digest(digestAlgorithm, ((InMemoryDocument) original).getBytes()),
+						computed.getDigestValue(digestAlgorithm));
+			}
+		}
+		assertSame(digestDocument, result.get(20));
+	}
+
+}
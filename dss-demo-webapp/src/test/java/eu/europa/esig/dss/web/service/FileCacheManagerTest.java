@@ -0,0 +1,117 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.spi.client.http.MemoryDataLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FileCacheManagerTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	public void shardsAndEvictsBySize() throws Exception {
+		FileCacheManager fileCacheManager = fileCacheManager(2500);
+
+		Map<String, byte[]> contents = new HashMap<>();
+		for (int i = 0; i < 4; i++) {
+			contents.put("http://dss.test/crl" + i + ".crl", new byte[1000]);
+		}
+		ShardedFileCacheDataLoader loader = new ShardedFileCacheDataLoader("crl", fileCacheManager, new MemoryDataLoader(contents), -1);
+
+		File oldest = null;
+		for (int i = 0; i < 4; i++) {
+			String url = "http://dss.test/crl" + i + ".crl";
+			assertArrayEquals(contents.get(url), loader.get(url));
+			// second call from the cache
+			assertArrayEquals(contents.get(url), loader.get(url));
+			File cached = cachedFile(fileCacheManager.getCacheDirectory("crl"), "crl" + i);
+			assertNotNull(cached);
+			cached.setLastModified(System.currentTimeMillis() - (4 - i) * 60_000L);
+			if (oldest == null) {
+				oldest = cached;
+			}
+		}
+
+		Map<String, Object> statistics = fileCacheManager.getStatistics().get("crl");
+		assertEquals(8L, statistics.get("requests"));
+		assertEquals(4L, statistics.get("writes"));
+
+		fileCacheManager.evict();
+
+		// the two least recently written files are evicted
+		assertFalse(oldest.exists());
+		statistics = fileCacheManager.getStatistics().get("crl");
+		assertEquals(2L, statistics.get("files"));
+		assertEquals(2000L, statistics.get("bytes"));
+		assertEquals(2L, fileCacheManager.getStatistics().get("eviction").get("evictedFiles"));
+	}
+
+	@Test
+	public void spreadsPostedRequests() {
+		FileCacheManager fileCacheManager = fileCacheManager(-1);
+
+		String url = "http://dss.test/ocsp";
+		ShardedFileCacheDataLoader loader = new ShardedFileCacheDataLoader("ocsp", fileCacheManager,
+				new MemoryDataLoader(Map.of(url, new byte[] { 1 })), -1);
+		for (byte i = 0; i < 16; i++) {
+			assertArrayEquals(new byte[] { 1 }, loader.post(url, new byte[] { i }));
+		}
+
+		int usedShards = 0;
+		for (File shard : fileCacheManager.getCacheDirectory("ocsp").listFiles()) {
+			if (shard.list().length > 0) {
+				usedShards++;
+			}
+		}
+		assertTrue(usedShards > 1);
+	}
+
+	@Test
+	public void keepsNotEvictableCache() throws Exception {
+		FileCacheManager fileCacheManager = fileCacheManager(0);
+
+		File tlDirectory = fileCacheManager.getCacheDirectory("tl", false);
+		File tl = new File(tlDirectory, "tl.xml");
+		assertTrue(tl.createNewFile());
+		tl.setLastModified(0);
+
+		fileCacheManager.evict();
+
+		assertTrue(tl.exists());
+	}
+
+	private FileCacheManager fileCacheManager(long maxSize) {
+		FileCacheManager fileCacheManager = new FileCacheManager();
+		ReflectionTestUtils.setField(fileCacheManager, "directory", directory.toString());
+		ReflectionTestUtils.setField(fileCacheManager, "maxSize", maxSize);
+		ReflectionTestUtils.setField(fileCacheManager, "maxAge", 3600L);
+		ReflectionTestUtils.setField(fileCacheManager, "shards", 4);
+		fileCacheManager.init();
+		return fileCacheManager;
+	}
+
+	private File cachedFile(File cacheDirectory, String name) {
+		for (File shard : cacheDirectory.listFiles()) {
+			for (File file : shard.listFiles()) {
+				if (file.getName().contains(name)) {
+					return file;
+				}
+			}
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,111 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NegativeCacheTest {
+
+	@Test
+	public void failureType() {
+		assertEquals("HTTP 404", NegativeCache.getFailureType(new DSSExternalResourceException("Unable to process GET call for url [http://dss.test/crl]",
+				new IOException("Not acceptable HTTP Status (HTTP status code : 404 / reason : Not Found)"))));
+		assertEquals("UnknownHostException", NegativeCache.getFailureType(new DSSExternalResourceException("Unable to process GET call",
+				new UnknownHostException("dss.test"))));
+	}
+
+	@Test
+	public void skipsRecentFailures() {
+		NegativeCache negativeCache = negativeCache();
+		AtomicInteger calls = new AtomicInteger();
+		DataLoader dataLoader = new NegativeCachingDataLoader(new FailingDataLoader(calls), negativeCache);
+
+		assertThrows(DSSExternalResourceException.class, () -> dataLoader.get("http://dss.test/broken.crl"));
+		assertEquals(1, calls.get());
+
+		// the second lookup does not reach the data loader
+		DSSExternalResourceException exception = assertThrows(DSSExternalResourceException.class, () -> dataLoader.get("http://dss.test/broken.crl"));
+		assertTrue(exception.getMessage().contains("UnknownHostException"));
+		assertEquals(1, calls.get());
+
+		// other URLs are still fetched
+		assertArrayEquals(new byte[] { 1 }, dataLoader.get("http://dss.test/valid.crl"));
+		assertEquals(2, calls.get());
+
+		Map<String, Object> failure = negativeCache.getStatistics().get("http://dss.test/broken.crl");
+		assertEquals("UnknownHostException", failure.get("type"));
+		assertEquals(1L, failure.get("skippedLookups"));
+		assertEquals(1, negativeCache.getStatistics().size());
+	}
+
+	@Test
+	public void backoff() {
+		NegativeCache negativeCache = negativeCache();
+		ReflectionTestUtils.setField(negativeCache, "ttl", 0L);
+
+		DataLoader dataLoader = new NegativeCachingDataLoader(new FailingDataLoader(new AtomicInteger()), negativeCache);
+		for (int i = 0; i < 3; i++) {
+			// a time-to-live of 0 does not skip the lookups
+			assertThrows(DSSExternalResourceException.class, () -> dataLoader.get("http://dss.test/broken.crl"));
+		}
+		assertEquals(3, negativeCache.getStatistics().get("http://dss.test/broken.crl").get("consecutiveFailures"));
+	}
+
+	private NegativeCache negativeCache() {
+		NegativeCache negativeCache = new NegativeCache();
+		ReflectionTestUtils.setField(negativeCache, "enabled", true);
+		ReflectionTestUtils.setField(negativeCache, "ttl", 60L);
+		ReflectionTestUtils.setField(negativeCache, "maxTtl", 900L);
+		ReflectionTestUtils.setField(negativeCache, "backoffMultiplier", 2d);
+		ReflectionTestUtils.setField(negativeCache, "maxEntries", 100);
+		return negativeCache;
+	}
+
+	@SuppressWarnings("serial")
+	private static class FailingDataLoader implements DataLoader {
+
+		private final AtomicInteger calls;
+
+		private FailingDataLoader(AtomicInteger calls) {
+			this.calls = calls;
+		}
+
+		@Override
+		public byte[] get(String url) {
+			calls.incrementAndGet();
+			if (url.contains("broken")) {
+				throw new DSSExternalResourceException("Unable to process GET call for url [" + url + "]", new UnknownHostException("dss.test"));
+			}
+			return new byte[] { 1 };
+		}
+
+		@Override
+		public DataAndUrl get(List<String> urlStrings) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public byte[] post(String url, byte[] content) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setContentType(String contentType) {
+			// not used
+		}
+
+	}
+
+}
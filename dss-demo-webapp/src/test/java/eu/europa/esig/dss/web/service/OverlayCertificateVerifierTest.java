@@ -0,0 +1,78 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.alert.ExceptionOnStatusAlert;
+import eu.europa.esig.dss.alert.LogOnStatusAlert;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
+import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
+import eu.europa.esig.dss.spi.x509.CommonTrustedCertificateSource;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OverlayCertificateVerifierTest {
+
+	private final CertificateToken certificate = DSSUtils.loadCertificate(new File("src/test/resources/CZ.cer"));
+
+	private final CertificateToken issuer = DSSUtils.loadCertificate(new File("src/test/resources/CA_CZ.cer"));
+
+	@Test
+	public void overridesWithoutModifyingSharedVerifier() {
+		CommonCertificateVerifier shared = new CommonCertificateVerifier();
+		CommonTrustedCertificateSource trustedCertSource = new CommonTrustedCertificateSource();
+		trustedCertSource.addCertificate(issuer);
+		shared.setTrustedCertSources(trustedCertSource);
+		shared.setAlertOnExpiredCertificate(new ExceptionOnStatusAlert());
+		shared.setCheckRevocationForUntrustedChains(false);
+
+		CertificateVerifier overlay = new OverlayCertificateVerifier(shared);
+		// not overridden values are read from the shared verifier
+		assertSame(shared.getTrustedCertSources(), overlay.getTrustedCertSources());
+		assertSame(shared.getAlertOnExpiredCertificate(), overlay.getAlertOnExpiredCertificate());
+		assertFalse(overlay.isCheckRevocationForUntrustedChains());
+
+		overlay.setAlertOnExpiredCertificate(new LogOnStatusAlert());
+		overlay.setCheckRevocationForUntrustedChains(true);
+		CommonCertificateSource adjunctCertSource = new CommonCertificateSource();
+		adjunctCertSource.addCertificate(certificate);
+		overlay.addAdjunctCertSources(adjunctCertSource);
+
+		assertInstanceOf(LogOnStatusAlert.class, overlay.getAlertOnExpiredCertificate());
+		assertTrue(overlay.isCheckRevocationForUntrustedChains());
+		assertTrue(overlay.getAdjunctCertSources().isKnown(certificate));
+		assertTrue(overlay.getTrustedCertSources().isTrusted(issuer));
+
+		assertInstanceOf(ExceptionOnStatusAlert.class, shared.getAlertOnExpiredCertificate());
+		assertFalse(shared.isCheckRevocationForUntrustedChains());
+		assertFalse(shared.getAdjunctCertSources().isKnown(certificate));
+	}
+
+	@Test
+	public void addedSourcesExtendSharedOnes() {
+		CommonCertificateVerifier shared = new CommonCertificateVerifier();
+		CommonCertificateSource sharedAdjunctCertSource = new CommonCertificateSource();
+		sharedAdjunctCertSource.addCertificate(issuer);
+		shared.setAdjunctCertSources(sharedAdjunctCertSource);
+
+		CertificateVerifier overlay = new OverlayCertificateVerifier(shared);
+		CommonCertificateSource adjunctCertSource = new CommonCertificateSource();
+		adjunctCertSource.addCertificate(certificate);
+
+		overlay.addAdjunctCertSources(adjunctCertSource);
+		assertEquals(2, overlay.getAdjunctCertSources().getNumberOfSources());
+		assertEquals(1, shared.getAdjunctCertSources().getNumberOfSources());
+
+		overlay.setAdjunctCertSources(adjunctCertSource);
+		assertEquals(1, overlay.getAdjunctCertSources().getNumberOfSources());
+		assertFalse(overlay.getAdjunctCertSources().isKnown(issuer));
+	}
+
+}
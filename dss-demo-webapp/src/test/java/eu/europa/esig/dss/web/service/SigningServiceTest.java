@@ -0,0 +1,160 @@
+package eu.europa.esig.dss.web.service;
+
+import eu.europa.esig.dss.enumerations.ASiCContainerType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.DigestDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.spi.DSSUtils;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.web.DssDemoApplicationTests;
+import eu.europa.esig.dss.web.config.MultipartResolverProvider;
+import eu.europa.esig.dss.web.model.OriginalFile;
+import eu.europa.esig.dss.web.model.SignatureDocumentForm;
+import eu.europa.esig.dss.web.model.SignatureMultipleDocumentsForm;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore.PasswordProtection;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SigningServiceTest extends DssDemoApplicationTests {
+
+	@Autowired
+	private SigningService signingService;
+
+	@Autowired
+	private SigningSessionCache signingSessionCache;
+
+	@BeforeEach
+	public void init() {
+		// configured by the WebConfig, not loaded in the test context
+		MultipartResolverProvider.getInstance().setMaxFileSize(1024 * 1024);
+	}
+
+	@Test
+	public void twoPhaseSigningReusesSession() throws Exception {
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(new FileInputStream("src/test/resources/user_a_rsa.p12"),
+				new PasswordProtection("password".toCharArray()))) {
+			DSSPrivateKeyEntry key = token.getKeys().get(0);
+
+			SignatureDocumentForm form = getForm(key);
+			ToBeSigned dataToSign = signingService.getDataToSign(form);
+			assertNotNull(dataToSign);
+			assertNotNull(form.getSigningSessionId());
+			int numberOfEntries = signingSessionCache.getNumberOfEntries();
+
+			SignatureValue signatureValue = token.sign(dataToSign, DigestAlgorithm.SHA256, key);
+			form.setSignatureValue(signatureValue.getValue());
+			DSSDocument signedDocument = signingService.signDocument(form);
+			assertNotNull(signedDocument);
+			assertNull(form.getSigningSessionId());
+			assertEquals(numberOfEntries - 1, signingSessionCache.getNumberOfEntries());
+		}
+	}
+
+	@Test
+	public void signingWithoutSession() throws Exception {
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(new FileInputStream("src/test/resources/user_a_rsa.p12"),
+				new PasswordProtection("password".toCharArray()))) {
+			DSSPrivateKeyEntry key = token.getKeys().get(0);
+
+			SignatureDocumentForm form = getForm(key);
+			ToBeSigned dataToSign = signingService.getDataToSign(form);
+			// simulates an evicted session
+			signingSessionCache.remove(form.getSigningSessionId());
+
+			SignatureValue signatureValue = token.sign(dataToSign, DigestAlgorithm.SHA256, key);
+			form.setSignatureValue(signatureValue.getValue());
+			DSSDocument signedDocument = signingService.signDocument(form);
+			assertNotNull(signedDocument);
+		}
+	}
+
+	@Test
+	public void signDigestsOnly() throws Exception {
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(new FileInputStream("src/test/resources/user_a_rsa.p12"),
+				new PasswordProtection("password".toCharArray()))) {
+			DSSPrivateKeyEntry key = token.getKeys().get(0);
+
+			SignatureMultipleDocumentsForm form = new SignatureMultipleDocumentsForm();
+			form.setDigestsToSign(Arrays.asList(getDigest("hello.txt", "Hello World!"), getDigest("bye.txt", "Bye World!")));
+			form.setSignatureForm(SignatureForm.XAdES);
+			form.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+			form.setDigestAlgorithm(DigestAlgorithm.SHA256);
+			form.setCertificate(key.getCertificate().getEncoded());
+			form.setEncryptionAlgorithm(key.getEncryptionAlgorithm());
+			form.setSigningDate(new Date());
+			assertTrue(form.isSignDigestsOnly());
+			assertTrue(form.isDigestsToSignValid());
+			assertTrue(form.isDigestsAlgorithmValid());
+
+			ToBeSigned dataToSign = signingService.getDataToSign(form);
+			SignatureValue signatureValue = token.sign(dataToSign, DigestAlgorithm.SHA256, key);
+			form.setSignatureValue(signatureValue.getValue());
+			DSSDocument signedDocument = signingService.signDocument(form);
+			assertNotNull(signedDocument);
+
+			// the digests shall be computed with the digest algorithm of the signature
+			form.setDigestAlgorithm(DigestAlgorithm.SHA512);
+			assertFalse(form.isDigestsAlgorithmValid());
+
+			// the documents cannot be embedded within an ASiC container
+			form.setContainerType(ASiCContainerType.ASiC_E);
+			assertFalse(form.isDigestsToSignValid());
+		}
+	}
+
+	@Test
+	public void sessionSizeCountsFileDocuments() {
+		File file = new File("src/test/resources/sample.xml");
+		byte[] bytes = "Hello World!".getBytes(StandardCharsets.UTF_8);
+		SigningSessionCache.SigningSession session = new SigningSessionCache.SigningSession(null, null,
+				Arrays.asList(new FileDocument(file), new InMemoryDocument(bytes),
+						new DigestDocument(DigestAlgorithm.SHA256, Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, bytes)))));
+		assertEquals(file.length() + bytes.length, session.getSize());
+	}
+
+	private OriginalFile getDigest(String filename, String content) {
+		OriginalFile originalFile = new OriginalFile();
+		originalFile.setFilename(filename);
+		originalFile.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		originalFile.setBase64Digest(Utils.toBase64(DSSUtils.digest(DigestAlgorithm.SHA256, content.getBytes(StandardCharsets.UTF_8))));
+		return originalFile;
+	}
+
+	private SignatureDocumentForm getForm(DSSPrivateKeyEntry key) throws Exception {
+		SignatureDocumentForm form = new SignatureDocumentForm();
+		form.setDocumentToSign(new MockMultipartFile("documentToSign", "hello.txt", "text/plain",
+				"Hello World!".getBytes(StandardCharsets.UTF_8)));
+		form.setSignatureForm(SignatureForm.CAdES);
+		form.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		form.setSignatureLevel(SignatureLevel.CAdES_BASELINE_B);
+		form.setDigestAlgorithm(DigestAlgorithm.SHA256);
+		form.setCertificate(key.getCertificate().getEncoded());
+		form.setEncryptionAlgorithm(key.getEncryptionAlgorithm());
+		form.setSigningDate(new Date());
+		return form;
+	}
+
+}
@@ -0,0 +1,65 @@
+package eu.europa.esig.dss.web.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkloadLimiterTest {
+
+	@Test
+	public void rejectsWhenSaturated() throws Exception {
+		WorkloadLimiter limiter = new WorkloadLimiter("test", 2, 1, 5000);
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertEquals(2, limiter.getActiveCount());
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch waiting = new CountDownLatch(1);
+			Future<Boolean> queued = executor.submit(() -> {
+				waiting.countDown();
+				return limiter.tryAcquire();
+			});
+			waiting.await();
+			while (limiter.getQueuedCount() == 0) {
+				Thread.sleep(10);
+			}
+
+			// the only slot of the queue is taken
+			assertFalse(limiter.tryAcquire());
+			assertEquals(1, limiter.getRejectedCount());
+
+			limiter.release();
+			assertTrue(queued.get(5, TimeUnit.SECONDS));
+			assertEquals(0, limiter.getQueuedCount());
+			assertEquals(2, limiter.getActiveCount());
+		} finally {
+			executor.shutdown();
+		}
+
+		limiter.release();
+		limiter.release();
+		assertEquals(0, limiter.getActiveCount());
+		assertEquals(3, limiter.getCompletedCount());
+		assertEquals(2, limiter.getPeakActiveCount());
+	}
+
+	@Test
+	public void rejectsAfterMaxWait() {
+		WorkloadLimiter limiter = new WorkloadLimiter("test", 1, 5, 50);
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+		assertEquals(1, limiter.getRejectedCount());
+		limiter.release();
+		assertTrue(limiter.tryAcquire());
+	}
+
+}
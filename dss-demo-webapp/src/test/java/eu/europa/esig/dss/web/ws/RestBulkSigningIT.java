@@ -0,0 +1,73 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import eu.europa.esig.dss.ws.server.signing.dto.RemoteKeyEntry;
+import eu.europa.esig.dss.ws.server.signing.rest.client.RestSignatureTokenConnection;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.client.JAXRSClientFactoryBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestBulkSigningIT extends AbstractRestIT {
+
+	private RestBulkSigningService bulkSigningService;
+	private RestSignatureTokenConnection remoteToken;
+
+	@BeforeEach
+	public void init() {
+		JAXRSClientFactoryBean factory = new JAXRSClientFactoryBean();
+		factory.setAddress(getBaseCxf() + CXFConfig.REST_SERVER_BULK_SIGNING);
+		factory.setServiceClass(RestBulkSigningService.class);
+		factory.setProviders(Arrays.asList(jacksonJsonProvider()));
+		bulkSigningService = factory.create(RestBulkSigningService.class);
+
+		factory = new JAXRSClientFactoryBean();
+		factory.setAddress(getBaseCxf() + CXFConfig.REST_SERVER_SIGNING);
+		factory.setServiceClass(RestSignatureTokenConnection.class);
+		factory.setProviders(Arrays.asList(jacksonJsonProvider()));
+		remoteToken = factory.create(RestSignatureTokenConnection.class);
+	}
+
+	@Test
+	public void testBulkSignature() {
+		List<RemoteKeyEntry> keys = remoteToken.getKeys();
+		String alias = keys.get(0).getAlias();
+
+		RemoteSignatureParameters parameters = new RemoteSignatureParameters();
+		parameters.setSignatureLevel(SignatureLevel.CAdES_BASELINE_B);
+		parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+		parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+
+		List<RemoteDocument> toSignDocuments = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			toSignDocuments.add(new RemoteDocument(("Hello World " + i).getBytes(StandardCharsets.UTF_8), "doc" + i + ".txt"));
+		}
+
+		Response response = bulkSigningService.signDocuments(new BulkSignDocumentsDTO(alias, parameters, toSignDocuments));
+		assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+
+		List<RemoteDocument> signedDocuments = response.readEntity(new GenericType<List<RemoteDocument>>() {});
+		assertEquals(toSignDocuments.size(), signedDocuments.size());
+		for (RemoteDocument signedDocument : signedDocuments) {
+			assertNotNull(signedDocument);
+			assertNotNull(signedDocument.getBytes());
+			assertTrue(signedDocument.getBytes().length > 0);
+		}
+	}
+
+}
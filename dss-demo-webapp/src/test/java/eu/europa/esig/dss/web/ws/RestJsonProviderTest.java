@@ -0,0 +1,100 @@
+package eu.europa.esig.dss.web.ws;
+
+import com.fasterxml.jackson.jakarta.rs.cfg.ObjectWriterInjector;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.web.service.RestResponseMetrics;
+import eu.europa.esig.dss.ws.dto.RemoteDocument;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import org.apache.cxf.message.Exchange;
+import org.apache.cxf.message.ExchangeImpl;
+import org.apache.cxf.message.Message;
+import org.apache.cxf.message.MessageImpl;
+import org.apache.cxf.transport.http.AbstractHTTPDestination;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestJsonProviderTest {
+
+	@Test
+	public void compactOutputIsMeasured() throws Exception {
+		RestResponseMetrics metrics = new RestResponseMetrics();
+		RestJsonProvider provider = new RestJsonProvider();
+		provider.setMapper(new CXFConfig().objectMapper());
+		provider.setMetrics(metrics);
+
+		RemoteDocument document = new RemoteDocument("Hello".getBytes(StandardCharsets.UTF_8), "hello.txt");
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		provider.writeTo(document, RemoteDocument.class, RemoteDocument.class, new Annotation[0],
+				MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), baos);
+
+		String json = baos.toString(StandardCharsets.UTF_8);
+		assertFalse(json.contains("\n"));
+
+		// no CXF message in the current thread
+		Map<String, Object> endpointMetrics = metrics.getStatistics().get("unknown");
+		assertEquals(1L, endpointMetrics.get("responses"));
+		assertEquals((long) baos.size(), endpointMetrics.get("totalBytes"));
+	}
+
+	@Test
+	public void prettyOutputIsMeasured() throws Exception {
+		RestResponseMetrics metrics = new RestResponseMetrics();
+		RestJsonProvider provider = new RestJsonProvider();
+		provider.setMapper(new CXFConfig().objectMapper());
+		provider.setMetrics(metrics);
+
+		RemoteDocument document = new RemoteDocument("Hello".getBytes(StandardCharsets.UTF_8), "hello.txt");
+		ByteArrayOutputStream compact = new ByteArrayOutputStream();
+		provider.writeTo(document, RemoteDocument.class, RemoteDocument.class, new Annotation[0],
+				MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), compact, false, "/rest/validation");
+		ByteArrayOutputStream pretty = new ByteArrayOutputStream();
+		provider.writeTo(document, RemoteDocument.class, RemoteDocument.class, new Annotation[0],
+				MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), pretty, true, "/rest/validation");
+
+		assertFalse(compact.toString(StandardCharsets.UTF_8).contains("\n"));
+		assertTrue(pretty.toString(StandardCharsets.UTF_8).contains("\n"));
+		assertTrue(pretty.size() > compact.size());
+		// the pretty printer is only injected for the current response
+		assertNull(ObjectWriterInjector.get());
+
+		Map<String, Object> endpointMetrics = metrics.getStatistics().get("/rest/validation");
+		assertEquals(2L, endpointMetrics.get("responses"));
+		assertEquals((long) compact.size() + pretty.size(), endpointMetrics.get("totalBytes"));
+		assertEquals((long) pretty.size(), endpointMetrics.get("maxBytes"));
+		assertEquals(((long) compact.size() + pretty.size()) / 2, endpointMetrics.get("averageBytes"));
+	}
+
+	@Test
+	public void prettyPrintRequested() {
+		assertFalse(RestJsonProvider.isPrettyPrintRequested(null));
+		assertFalse(RestJsonProvider.isPrettyPrintRequested(getOutMessage(null)));
+		assertFalse(RestJsonProvider.isPrettyPrintRequested(getOutMessage("false")));
+		assertTrue(RestJsonProvider.isPrettyPrintRequested(getOutMessage("true")));
+	}
+
+	private Message getOutMessage(String pretty) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		if (pretty != null) {
+			request.addParameter(RestJsonProvider.PRETTY_PARAMETER, pretty);
+		}
+		Message inMessage = new MessageImpl();
+		inMessage.put(AbstractHTTPDestination.HTTP_REQUEST, request);
+		Exchange exchange = new ExchangeImpl();
+		exchange.setInMessage(inMessage);
+		Message outMessage = new MessageImpl();
+		exchange.setOutMessage(outMessage);
+		return outMessage;
+	}
+
+}
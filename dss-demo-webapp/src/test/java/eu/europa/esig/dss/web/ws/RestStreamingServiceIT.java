@@ -0,0 +1,106 @@
+package eu.europa.esig.dss.web.ws;
+
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+import eu.europa.esig.dss.web.config.CXFConfig;
+import eu.europa.esig.dss.ws.converter.DTOConverter;
+import eu.europa.esig.dss.ws.dto.RemoteCertificate;
+import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
+import eu.europa.esig.dss.ws.dto.ToBeSignedDTO;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import eu.europa.esig.dss.ws.validation.dto.WSReportsDTO;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.jaxrs.ext.multipart.Attachment;
+import org.apache.cxf.jaxrs.ext.multipart.AttachmentBuilder;
+import org.apache.cxf.jaxrs.ext.multipart.ContentDisposition;
+import org.apache.cxf.jaxrs.ext.multipart.MultipartBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.security.KeyStore.PasswordProtection;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RestStreamingServiceIT extends AbstractRestIT {
+
+	private WebClient signatureClient() {
+		return WebClient.create(getBaseCxf() + CXFConfig.REST_STREAMING_SIGNATURE, Arrays.asList(jacksonJsonProvider()))
+				.type(MediaType.MULTIPART_FORM_DATA);
+	}
+
+	private WebClient validationClient() {
+		return WebClient.create(getBaseCxf() + CXFConfig.REST_STREAMING_VALIDATION, Arrays.asList(jacksonJsonProvider()))
+				.type(MediaType.MULTIPART_FORM_DATA).accept(MediaType.APPLICATION_JSON);
+	}
+
+	@Test
+	public void signAndValidate() throws Exception {
+		try (Pkcs12SignatureToken token = new Pkcs12SignatureToken(new FileInputStream("src/test/resources/user_a_rsa.p12"),
+				new PasswordProtection("password".toCharArray()))) {
+
+			DSSPrivateKeyEntry dssPrivateKeyEntry = token.getKeys().get(0);
+
+			RemoteSignatureParameters parameters = new RemoteSignatureParameters();
+			parameters.setSignatureLevel(SignatureLevel.XAdES_BASELINE_B);
+			parameters.setSigningCertificate(new RemoteCertificate(dssPrivateKeyEntry.getCertificate().getCertificate().getEncoded()));
+			parameters.setSignaturePackaging(SignaturePackaging.ENVELOPING);
+			parameters.setDigestAlgorithm(DigestAlgorithm.SHA256);
+
+			ToBeSignedDTO dataToSign = signatureClient().path("getDataToSign").accept(MediaType.APPLICATION_JSON)
+					.post(new MultipartBody(Arrays.asList(
+							attachment("document", "sample.xml", new FileInputStream("src/test/resources/sample.xml")),
+							jsonAttachment("parameters", parameters))), ToBeSignedDTO.class);
+			assertNotNull(dataToSign);
+
+			SignatureValue signatureValue = token.sign(DTOConverter.toToBeSigned(dataToSign), DigestAlgorithm.SHA256, dssPrivateKeyEntry);
+			Response response = signatureClient().path("signDocument").accept(MediaType.APPLICATION_OCTET_STREAM)
+					.post(new MultipartBody(Arrays.asList(
+							attachment("document", "sample.xml", new FileInputStream("src/test/resources/sample.xml")),
+							jsonAttachment("parameters", parameters),
+							jsonAttachment("signatureValue", new SignatureValueDTO(signatureValue.getAlgorithm(), signatureValue.getValue())))));
+			assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+			assertTrue(response.getHeaderString(HttpHeaders.CONTENT_DISPOSITION).contains("sample"));
+
+			byte[] signedDocument = response.readEntity(byte[].class);
+			assertTrue(signedDocument.length > 0);
+
+			WSReportsDTO reports = validationClient().path("validateSignature").post(new MultipartBody(
+					attachment("signedDocument", "sample-signed.xml", new ByteArrayInputStream(signedDocument))), WSReportsDTO.class);
+			assertNotNull(reports);
+			assertEquals(1, reports.getSimpleReport().getSignatureOrTimestampOrEvidenceRecord().size());
+		}
+	}
+
+	@Test
+	public void validate() throws Exception {
+		WSReportsDTO reports = validationClient().path("validateSignature").post(new MultipartBody(
+				attachment("signedDocument", "XAdESLTA.xml", new FileInputStream("src/test/resources/XAdESLTA.xml"))), WSReportsDTO.class);
+		assertNotNull(reports);
+		assertNotNull(reports.getDiagnosticData());
+		assertNotNull(reports.getDetailedReport());
+		assertEquals(1, reports.getSimpleReport().getSignatureOrTimestampOrEvidenceRecord().size());
+	}
+
+	private Attachment attachment(String name, String filename, InputStream is) {
+		return new AttachmentBuilder().id(name).mediaType(MediaType.APPLICATION_OCTET_STREAM).object(is)
+				.contentDisposition(new ContentDisposition(String.format("form-data; name=\"%s\"; filename=\"%s\"", name, filename)))
+				.build();
+	}
+
+	private Attachment jsonAttachment(String name, Object object) {
+		return new Attachment(name, MediaType.APPLICATION_JSON, object);
+	}
+
+}
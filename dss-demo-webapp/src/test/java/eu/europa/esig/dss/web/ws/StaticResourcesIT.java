@@ -0,0 +1,66 @@
+package eu.europa.esig.dss.web.ws;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.apache.cxf.jaxrs.client.WebClient;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StaticResourcesIT extends AbstractIT {
+
+	private static final Pattern FINGERPRINTED_CSS = Pattern.compile("/css/layout-[0-9a-f]{32}\\.css");
+
+	private String getBaseUrl() {
+		String baseCxf = getBaseCxf();
+		return baseCxf.substring(0, baseCxf.lastIndexOf("/services"));
+	}
+
+	@Test
+	public void fingerprintedCssIsCompressed() throws Exception {
+		String page = WebClient.create(getBaseUrl()).accept(MediaType.TEXT_HTML).get(String.class);
+		Matcher matcher = FINGERPRINTED_CSS.matcher(page);
+		assertTrue(matcher.find());
+
+		Response response = WebClient.create(getBaseUrl() + matcher.group())
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip").get();
+		assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+		assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(response.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+
+		byte[] compressed = response.readEntity(byte[].class);
+		try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			String css = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+			assertTrue(css.contains("{"));
+		}
+
+		response = WebClient.create(getBaseUrl() + matcher.group()).get();
+		assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+		assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+		assertTrue(response.getHeaderString(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING));
+	}
+
+	@Test
+	public void nexuDeployScriptIsRevalidated() {
+		Response response = WebClient.create(getBaseUrl() + "/js/nexu-deploy.js").get();
+		assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+		String eTag = response.getHeaderString(HttpHeaders.ETAG);
+		assertNotNull(eTag);
+
+		response = WebClient.create(getBaseUrl() + "/js/nexu-deploy.js").header(HttpHeaders.IF_NONE_MATCH, eTag).get();
+		assertEquals(Response.Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+		assertEquals(eTag, response.getHeaderString(HttpHeaders.ETAG));
+	}
+
+}
@@ -1,11 +1,12 @@
 package eu.europa.esig.dss.validation;
 
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.MimeType;
+import eu.europa.esig.dss.spi.exception.DSSExternalResourceException;
 import eu.europa.esig.dss.spi.exception.IllegalInputException;
 import eu.europa.esig.dss.jaxb.object.Message;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
-import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.policy.EtsiValidationPolicy;
 import eu.europa.esig.dss.policy.ValidationPolicy;
 import eu.europa.esig.dss.policy.ValidationPolicyFacade;
@@ -17,6 +18,7 @@ import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.simplereport.SimpleReport;
 import eu.europa.esig.dss.spi.DSSUtils;
 import eu.europa.esig.dss.spi.client.http.DataLoader;
+import eu.europa.esig.dss.spi.client.http.IgnoreDataLoader;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
@@ -30,29 +32,57 @@ import eu.europa.esig.dss.validation.reports.Reports;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.fail;
 
+/**
+ * Validates the signatures of the eSig validation tests bundle, the test cases being run concurrently
+ * (see junit-platform.properties).
+ *
+ * The bundle and its test packages are extracted on the disk, and the trusted lists of the packages are refreshed
+ * in parallel ({@code -DeSig.validation.tests.threads}, the number of processors by default). With
+ * {@code -DeSig.validation.tests.offline=true}, the trusted lists and the revocation data are only read from the cache.
+ *
+ * The fixtures are kept between the runs (and the {@code mvn clean}) in a store, by default in
+ * {@code ~/.dss-esig-validation-tests} ({@code -DeSig.validation.tests.store}), with a directory per SHA-256 digest
+ * of the bundle : the bundle, its extracted test packages and the cache of the trusted lists and the revocation data
+ * (a directory per test package).
+ * A run with the same bundle skips the extraction. The bundle of the last run is used again, a bundle being only
+ * downloaded when none is stored or with {@code -DeSig.validation.tests.download=true}.
+ */
+@Execution(ExecutionMode.CONCURRENT)
 public class EsigValidationTest {
 
     private static final String URL_ACCESS_POINT = "https://eidas.ec.europa.eu/efda/api/v2/validation-tests/testcase/testFile/all";
@@ -72,7 +102,19 @@ public class EsigValidationTest {
 
     private static final String OUTPUT_FILENAME = "target/validationTestsResult.csv";
 
-    private static final File fileCacheDirectory = new File("target/cache");
+    private static final String BUNDLE_FILENAME = "bundle.zip";
+    private static final String ARCHIVES_DIRECTORY = "archives";
+    private static final String PACKAGES_DIRECTORY = "packages";
+    private static final String CACHE_DIRECTORY = "cache";
+    private static final String LATEST_BUNDLE_FILENAME = "latest.txt";
+
+    /** Written once a directory is fully extracted, the directory being extracted again otherwise */
+    private static final String EXTRACTED_MARKER = ".extracted";
+
+    /** The directory of the current bundle in the fixture store : the bundle, its extracted content and the cache */
+    private static File bundleDirectory;
+
+    private static File fileCacheDirectory;
 
     private static DataLoader dataLoader;
 
@@ -80,12 +122,16 @@ public class EsigValidationTest {
 
     private static StringBuilder sb;
 
+    /** The rows of the test cases, sorted by test name once all the test cases are run */
+    private static final List<String> results = Collections.synchronizedList(new ArrayList<>());
+
     @BeforeAll
     public static void init() throws Exception {
         ValidationPolicyFacade policyFacade = ValidationPolicyFacade.newFacade();
         ConstraintsParameters constraints = policyFacade.unmarshall(new File(POLICY_URL));
         validationPolicy = new EtsiValidationPolicy(constraints);
-        dataLoader = new CommonsDataLoader();
+        // -DeSig.validation.tests.offline=true
+        dataLoader = Boolean.getBoolean("eSig.validation.tests.offline") ? new IgnoreDataLoader() : new CommonsDataLoader();
 
         sb = new StringBuilder();
 
@@ -98,99 +144,224 @@ public class EsigValidationTest {
         sb.append("AdES Errors,");
         sb.append("AdES Warnings,");
         sb.append("Qualifications Errors,");
-        sb.append("Qualifications Warnings");
+        sb.append("Qualifications Warnings,");
+        sb.append("Duration (ms)");
         sb.append('\n');
     }
 
-    private static Stream<Arguments> data() {
-        DSSDocument testArchive = getTestArchive();
-        List<DSSDocument> allArchiveContent = extractContainerContent(testArchive);
+    private static Stream<Arguments> data() throws Exception {
+        File testArchive = getTestArchive();
+        List<DSSDocument> allArchiveContent = getContainerContent(testArchive, new File(bundleDirectory, ARCHIVES_DIRECTORY));
+
+        // -DeSig.validation.tests.threads=...
+        int threads = Integer.getInteger("eSig.validation.tests.threads", Runtime.getRuntime().availableProcessors());
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            List<Future<Collection<Arguments>>> testPackages = new ArrayList<>();
+            for (DSSDocument testPackage : allArchiveContent) {
+                testPackages.add(executorService.submit(() -> getTestPackageData(testPackage)));
+            }
 
-        Collection<Arguments> dataToRun = new ArrayList<>();
+            Collection<Arguments> dataToRun = new ArrayList<>();
+            for (Future<Collection<Arguments>> testPackage : testPackages) {
+                dataToRun.addAll(getTestPackageData(testPackage));
+            }
+            return dataToRun.stream();
 
-        for (DSSDocument testPackage : allArchiveContent) {
-            List<DSSDocument> zipArchiveContent = extractContainerContent(testPackage);
-            Map<DSSDocument, String> documentsAndResults = getDocumentsToValidateAndExpectedResultsMap(zipArchiveContent);
+        } finally {
+            executorService.shutdownNow();
+            executorService.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
 
-            String testKey = getTestKey(testPackage);
-            KeyStoreCertificateSource keyStore = getKeyStore(zipArchiveContent, testKey);
+    private static Collection<Arguments> getTestPackageData(Future<Collection<Arguments>> testPackage) throws Exception {
+        try {
+            return testPackage.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-            TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
+    private static Collection<Arguments> getTestPackageData(DSSDocument testPackage) {
+        String testKey = getTestKey(testPackage);
+        List<DSSDocument> zipArchiveContent = getContainerContent(((FileDocument) testPackage).getFile(),
+                new File(new File(bundleDirectory, PACKAGES_DIRECTORY), testKey));
+        Map<DSSDocument, String> documentsAndResults = getDocumentsToValidateAndExpectedResultsMap(zipArchiveContent);
 
-            TLValidationJob tlValidationJob = new TLValidationJob();
-            tlValidationJob.setTrustedListCertificateSource(trustedCertSource);
-            tlValidationJob.setSynchronizationStrategy(new AcceptAllStrategy());
+        KeyStoreCertificateSource keyStore = getKeyStore(zipArchiveContent, testKey);
 
-            LOTLSource lotlSource = new LOTLSource();
-            lotlSource.setUrl(getLotlUrl(zipArchiveContent));
-            lotlSource.setCertificateSource(keyStore);
-            tlValidationJob.setListOfTrustedListSources(lotlSource);
+        TrustedListsCertificateSource trustedCertSource = new TrustedListsCertificateSource();
 
-            FileCacheDataLoader fileCacheDataLoader = new FileCacheDataLoader();
-            fileCacheDataLoader.setDataLoader(dataLoader);
-            fileCacheDataLoader.setCacheExpirationTime(-1);
-            fileCacheDataLoader.setFileCacheDirectory(fileCacheDirectory);
+        TLValidationJob tlValidationJob = new TLValidationJob();
+        tlValidationJob.setTrustedListCertificateSource(trustedCertSource);
+        tlValidationJob.setSynchronizationStrategy(new AcceptAllStrategy());
 
-            tlValidationJob.setOnlineDataLoader(fileCacheDataLoader);
+        LOTLSource lotlSource = new LOTLSource();
+        lotlSource.setUrl(getLotlUrl(zipArchiveContent));
+        lotlSource.setCertificateSource(keyStore);
+        tlValidationJob.setListOfTrustedListSources(lotlSource);
 
-            tlValidationJob.onlineRefresh();
+        // the packages are refreshed in parallel, each one with its own cache
+        FileCacheDataLoader fileCacheDataLoader = new AtomicFileCacheDataLoader(new File(fileCacheDirectory, testKey));
+        fileCacheDataLoader.setDataLoader(dataLoader);
+        fileCacheDataLoader.setCacheExpirationTime(-1);
 
-            CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
-            certificateVerifier.setTrustedCertSources(trustedCertSource);
-            certificateVerifier.setAIASource(new DefaultAIASource(fileCacheDataLoader));
-            certificateVerifier.setCrlSource(new OnlineCRLSource(fileCacheDataLoader));
-            certificateVerifier.setOcspSource(new OnlineOCSPSource(fileCacheDataLoader));
+        tlValidationJob.setOnlineDataLoader(fileCacheDataLoader);
 
-            for (Map.Entry<DSSDocument, String> entry : documentsAndResults.entrySet()) {
-                dataToRun.add(Arguments.of(entry.getKey(), entry.getValue(), certificateVerifier));
-            }
-        }
+        tlValidationJob.onlineRefresh();
+
+        CertificateVerifier certificateVerifier = new CommonCertificateVerifier();
+        certificateVerifier.setTrustedCertSources(trustedCertSource);
+        certificateVerifier.setAIASource(new DefaultAIASource(fileCacheDataLoader));
+        certificateVerifier.setCrlSource(new OnlineCRLSource(fileCacheDataLoader));
+        certificateVerifier.setOcspSource(new OnlineOCSPSource(fileCacheDataLoader));
 
-        return dataToRun.stream();
+        Collection<Arguments> dataToRun = new ArrayList<>();
+        for (Map.Entry<DSSDocument, String> entry : documentsAndResults.entrySet()) {
+            dataToRun.add(Arguments.of(entry.getKey(), entry.getValue(), certificateVerifier));
+        }
+        return dataToRun;
     }
 
-    private static DSSDocument getTestArchive() {
+    /**
+     * Returns the bundle from the fixture store, and sets the directories of this bundle
+     */
+    private static File getTestArchive() throws IOException {
+        // -DeSig.validation.tests.store=...
+        File storeDirectory = new File(System.getProperty("eSig.validation.tests.store",
+                new File(System.getProperty("user.home"), ".dss-esig-validation-tests").getPath()));
+        Files.createDirectories(storeDirectory.toPath());
+
+        File testArchive;
+        boolean downloaded = false;
+        File latestArchive = getLatestArchive(storeDirectory);
         // -DeSig.validation.tests.bundle.path=...
         String eSigValidationTestsBundlePath = System.getProperty("eSig.validation.tests.bundle.path", null);
         if (Utils.isStringNotEmpty(eSigValidationTestsBundlePath)) {
-            return new FileDocument(eSigValidationTestsBundlePath);
+            testArchive = new File(eSigValidationTestsBundlePath);
+
+        } else if (Boolean.getBoolean("eSig.validation.tests.offline")) {
+            if (latestArchive == null) {
+                fail("The bundle shall be stored by a first run, or provided with -DeSig.validation.tests.bundle.path, to run offline!");
+            }
+            testArchive = latestArchive;
+
+        } else if (latestArchive != null && !Boolean.getBoolean("eSig.validation.tests.download")) {
+            // -DeSig.validation.tests.download=true to get the current bundle
+            testArchive = latestArchive;
+
+        } else {
+            // -DeSig.validation.tests.url=...
+            String eSigValidationTestsUrl = System.getProperty("eSig.validation.tests.url", URL_ACCESS_POINT);
+            testArchive = File.createTempFile(".bundle-", ".tmp", storeDirectory);
+            try {
+                Files.write(testArchive.toPath(), dataLoader.get(eSigValidationTestsUrl));
+            } catch (RuntimeException | IOException e) {
+                Files.delete(testArchive.toPath());
+                throw e;
+            }
+            downloaded = true;
         }
 
-        // -DeSig.validation.tests.url=...
-        String eSigValidationTestsUrl = System.getProperty("eSig.validation.tests.url", URL_ACCESS_POINT);
+        String digest = Utils.toHex(new FileDocument(testArchive).getDigestValue(DigestAlgorithm.SHA256));
+        bundleDirectory = new File(storeDirectory, digest);
+        fileCacheDirectory = new File(bundleDirectory, CACHE_DIRECTORY);
+        Files.createDirectories(bundleDirectory.toPath());
+
+        File storedArchive = new File(bundleDirectory, BUNDLE_FILENAME);
+        if (!storedArchive.exists()) {
+            // an interrupted copy does not leave a truncated bundle under the digest of the complete one
+            Path temporary = Files.createTempFile(bundleDirectory.toPath(), ".bundle-", ".tmp");
+            Files.copy(testArchive.toPath(), temporary, StandardCopyOption.REPLACE_EXISTING);
+            move(temporary, storedArchive.toPath());
+        }
+        if (downloaded) {
+            Files.delete(testArchive.toPath());
+        }
+        Path latestBundle = Files.createTempFile(storeDirectory.toPath(), ".latest-", ".tmp");
+        Files.write(latestBundle, digest.getBytes());
+        move(latestBundle, new File(storeDirectory, LATEST_BUNDLE_FILENAME).toPath());
+        return storedArchive;
+    }
 
-        byte[] zipArchiveBinary = dataLoader.get(eSigValidationTestsUrl);
-        return new InMemoryDocument(zipArchiveBinary);
+    /**
+     * Returns the bundle of the last run from the fixture store, or null if no bundle is stored
+     */
+    private static File getLatestArchive(File storeDirectory) throws IOException {
+        File latestBundle = new File(storeDirectory, LATEST_BUNDLE_FILENAME);
+        if (!latestBundle.exists()) {
+            return null;
+        }
+        String digest = new String(Files.readAllBytes(latestBundle.toPath())).trim();
+        File latestArchive = new File(new File(storeDirectory, digest), BUNDLE_FILENAME);
+        return latestArchive.exists() ? latestArchive : null;
     }
 
-    private static List<DSSDocument> extractContainerContent(DSSDocument archive) {
-        List<DSSDocument> extractedContent = new ArrayList<>();
-        try (InputStream is = archive.openStream(); ZipInputStream zis = new ZipInputStream(is)) {
-            ZipEntry zipEntry;
-            while ((zipEntry = zis.getNextEntry()) != null) {
-                byte[] data = readZipEntry(zis);
-                DSSDocument currentDocument = new InMemoryDocument(data);
-                currentDocument.setName(zipEntry.getName());
-                currentDocument.setMimeType(MimeType.fromFileName(zipEntry.getName()));
-                extractedContent.add(currentDocument);
+    /**
+     * Moves the temporary file to the target, atomically when supported by the file system
+     */
+    private static void move(Path temporary, Path target) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the content of the archive, extracted in the given directory on the first run only
+     */
+    private static List<DSSDocument> getContainerContent(File archive, File directory) {
+        if (!new File(directory, EXTRACTED_MARKER).exists()) {
+            extractContainerContent(archive, directory);
+        }
+        List<DSSDocument> content = new ArrayList<>();
+        Path directoryPath = directory.toPath().toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.walk(directoryPath)) {
+            // the order of the test packages and the test cases does not depend on the file system
+            for (Path path : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                String name = directoryPath.relativize(path).toString().replace(File.separatorChar, '/');
+                if (EXTRACTED_MARKER.equals(name)) {
+                    continue;
+                }
+                DSSDocument document = new FileDocument(path.toFile());
+                document.setName(name);
+                document.setMimeType(MimeType.fromFileName(name));
+                content.add(document);
             }
         } catch (IOException e) {
-            throw new IllegalInputException("Unable to extract content from zip archive", e);
+            throw new IllegalInputException("Unable to read the extracted content", e);
         }
-        return extractedContent;
+        return content;
     }
 
-    private static byte[] readZipEntry(ZipInputStream zis) {
-        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            byte[] data = new byte[2048];
-            int nRead;
-            while ((nRead = zis.read(data)) != -1) {
-                baos.write(data, 0, nRead);
+    /**
+     * Extracts the archive in the given directory, the entries being streamed to the disk
+     */
+    private static void extractContainerContent(File archive, File directory) {
+        try (InputStream is = Files.newInputStream(archive.toPath()); ZipInputStream zis = new ZipInputStream(is)) {
+            Path directoryPath = directory.toPath().toAbsolutePath().normalize();
+            Files.createDirectories(directoryPath);
+            ZipEntry zipEntry;
+            while ((zipEntry = zis.getNextEntry()) != null) {
+                if (zipEntry.isDirectory()) {
+                    continue;
+                }
+                Path entryPath = directoryPath.resolve(zipEntry.getName()).normalize();
+                if (!entryPath.startsWith(directoryPath)) {
+                    throw new IllegalInputException(String.format("Invalid zip entry name [%s]", zipEntry.getName()));
+                }
+                Files.createDirectories(entryPath.getParent());
+                Files.copy(zis, entryPath, StandardCopyOption.REPLACE_EXISTING);
             }
-            baos.flush();
-            return baos.toByteArray();
+            Files.createFile(directoryPath.resolve(EXTRACTED_MARKER));
         } catch (IOException e) {
-            throw new IllegalInputException("Unable to read a zip entry", e);
+            throw new IllegalInputException("Unable to extract content from zip archive", e);
         }
     }
 
@@ -300,12 +471,15 @@ public class EsigValidationTest {
         SignedDocumentValidator validator = SignedDocumentValidator.fromDocument(document);
         validator.setCertificateVerifier(certificateVerifier);
 
+        long start = System.nanoTime();
         Reports reports = validator.validateDocument(validationPolicy);
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
         // reports.print();
 
         SimpleReport simpleReport = reports.getSimpleReport();
         String obtainedResult = simpleReport.getSignatureQualification(simpleReport.getFirstSignatureId()).getReadable();
 
+        StringBuilder sb = new StringBuilder();
         sb.append(document.getName()).append(",");
         sb.append(expectedResult).append(",");
         sb.append(obtainedResult).append(",");
@@ -316,8 +490,10 @@ public class EsigValidationTest {
         sb.append(toString(simpleReport.getAdESValidationErrors(simpleReport.getFirstSignatureId()))).append(",");
         sb.append(toString(simpleReport.getAdESValidationWarnings(simpleReport.getFirstSignatureId()))).append(",");
         sb.append(toString(simpleReport.getQualificationErrors(simpleReport.getFirstSignatureId()))).append(",");
-        sb.append(toString(simpleReport.getQualificationWarnings(simpleReport.getFirstSignatureId())));
+        sb.append(toString(simpleReport.getQualificationWarnings(simpleReport.getFirstSignatureId()))).append(",");
+        sb.append(duration);
         sb.append('\n');
+        results.add(sb.toString());
 
         // TODO: add equivalence map between eSig validation test cases and DSS results
         //assertEquals(expectedResult, obtainedResult);
@@ -348,7 +524,63 @@ public class EsigValidationTest {
         try (FileOutputStream fos = new FileOutputStream(OUTPUT_FILENAME);
                 PrintWriter writer = new PrintWriter(fos)) {
             writer.write(sb.toString());
+            results.stream().sorted().forEach(writer::write);
+        }
+    }
+
+    /**
+     * Writes the cached files (the GET and the POST responses) to a temporary file, then moves them to their final name,
+     * so a test case run concurrently never reads a partially written file
+     */
+    private static class AtomicFileCacheDataLoader extends FileCacheDataLoader {
+
+        private static final long serialVersionUID = 1L;
+
+        private final File directory;
+
+        private AtomicFileCacheDataLoader(File directory) {
+            this.directory = directory;
+            setFileCacheDirectory(directory);
+        }
+
+        @Override
+        public File createFile(String urlString, byte[] bytes) {
+            // same file name as FileCacheDataLoader
+            return write(urlString, DSSUtils.getNormalizedString(urlString), bytes);
+        }
+
+        @Override
+        public byte[] post(String urlString, byte[] content) {
+            // same file name as FileCacheDataLoader, the cached responses never expire
+            String fileName = DSSUtils.getNormalizedString(urlString) + "." + DSSUtils.toHex(DSSUtils.digest(DigestAlgorithm.MD5, content));
+            File file = new File(directory, fileName);
+            if (file.exists()) {
+                return DSSUtils.toByteArray(file);
+            }
+            byte[] bytes = isNetworkProtocol(urlString) ? getDataLoader().post(urlString, content) : null;
+            if (Utils.isArrayEmpty(bytes)) {
+                throw new DSSExternalResourceException(String.format("Cannot retrieve data from URL [%s]", urlString));
+            }
+            write(urlString, fileName, bytes);
+            return bytes;
         }
+
+        private File write(String urlString, String fileName, byte[] bytes) {
+            File file = new File(directory, fileName);
+            Path temporary = null;
+            try {
+                temporary = Files.createTempFile(directory.toPath(), ".dss-", ".tmp");
+                Files.write(temporary, bytes);
+                move(temporary, file.toPath());
+                return file;
+            } catch (IOException e) {
+                if (temporary != null) {
+                    temporary.toFile().delete();
+                }
+                throw new DSSExternalResourceException(String.format("Unable to cache the file for the URL '%s' : %s", urlString, e.getMessage()), e);
+            }
+        }
+
     }
 
 }
@@ -1,5 +1,6 @@
 package eu.europa.esig.dss.standalone;
 
+import eu.europa.esig.dss.standalone.batch.BatchOptions;
 import eu.europa.esig.dss.standalone.controller.MainController;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -46,6 +47,11 @@ public class DSSApplication extends Application {
 	}
 
 	public static void main(String[] args) {
+		if (args.length > 0 && BatchOptions.isCommand(args[0])) {
+			// headless batch, see DSSBatchApplication
+			DSSBatchApplication.main(args);
+			return;
+		}
 		launch(DSSApplication.class, args);
 	}
 
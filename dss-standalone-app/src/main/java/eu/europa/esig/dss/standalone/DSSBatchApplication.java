@@ -0,0 +1,97 @@
+package eu.europa.esig.dss.standalone;
+
+import eu.europa.esig.dss.enumerations.SignatureTokenType;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.standalone.batch.BatchOperation;
+import eu.europa.esig.dss.standalone.batch.BatchOptions;
+import eu.europa.esig.dss.standalone.batch.BatchProcessor;
+import eu.europa.esig.dss.standalone.batch.BatchSigning;
+import eu.europa.esig.dss.standalone.batch.BatchValidation;
+import eu.europa.esig.dss.standalone.exception.ApplicationException;
+import eu.europa.esig.dss.standalone.source.CertificateVerifierBuilder;
+import eu.europa.esig.dss.standalone.source.TLValidationJobExecutor;
+import eu.europa.esig.dss.tsl.job.TLValidationJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Console;
+
+/**
+ * Headless entry point validating or signing all the files of a directory (or matching a glob) in parallel,
+ * e.g. {@code java -jar dss-standalone-app.jar validate archive/ --threads 8}.
+ * The trusted lists, the certificate verifier and the token session are shared by all the files.
+ */
+public class DSSBatchApplication {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DSSBatchApplication.class);
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    public static int run(String[] args) {
+        BatchOptions options;
+        try {
+            options = BatchOptions.parse(args);
+        } catch (ApplicationException e) {
+            System.err.println(e.getMessage());
+            System.err.println(BatchOptions.USAGE);
+            return 2;
+        }
+
+        try {
+            TrustedListsCertificateSource tslCertificateSource = loadTrustedLists(options);
+
+            switch (options.getCommand()) {
+                case VALIDATE:
+                    CertificateVerifier certificateVerifier = new CertificateVerifierBuilder()
+                            .setTslCertificateSource(tslCertificateSource)
+                            .build();
+                    return process(options, new BatchValidation(certificateVerifier, options.getValidationPolicy()));
+                case SIGN:
+                    readPassword(options);
+                    try (BatchSigning signing = new BatchSigning(options, tslCertificateSource)) {
+                        return process(options, signing);
+                    }
+                default:
+                    throw new IllegalArgumentException("Unsupported command " + options.getCommand());
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 1;
+        } catch (Exception e) {
+            LOG.debug("Batch failure", e);
+            System.err.println(e.getMessage());
+            return 1;
+        }
+    }
+
+    private static TrustedListsCertificateSource loadTrustedLists(BatchOptions options) {
+        TLValidationJobExecutor jobExecutor = TLValidationJobExecutor.getInstance();
+        TLValidationJob job = jobExecutor.job();
+        job.offlineRefresh();
+        if (!options.isOffline()) {
+            job.onlineRefresh();
+        }
+        TrustedListsCertificateSource tslCertificateSource = jobExecutor.getCertificateSources();
+        System.out.printf("%s trusted certificates loaded%n", tslCertificateSource.getNumberOfCertificates());
+        return tslCertificateSource;
+    }
+
+    private static int process(BatchOptions options, BatchOperation operation) throws InterruptedException {
+        return new BatchProcessor(options, operation).process(System.out) == 0 ? 0 : 1;
+    }
+
+    private static void readPassword(BatchOptions options) {
+        if (options.getPassword() == null && options.getTokenType() != SignatureTokenType.MSCAPI) {
+            Console console = System.console();
+            if (console == null) {
+                throw new ApplicationException("The option --password is required when no console is available");
+            }
+            options.setPassword(console.readPassword("Token password : "));
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package eu.europa.esig.dss.standalone.batch;
+
+import java.io.File;
+import java.io.IOException;
+
+public interface BatchOperation {
+
+    /**
+     * Processes a file, called concurrently by the workers of the batch
+     *
+     * @param file the file to process
+     * @param outputDirectory the directory where the results of the file shall be written
+     * @throws IOException if the results cannot be written
+     */
+    void process(File file, File outputDirectory) throws IOException;
+
+}
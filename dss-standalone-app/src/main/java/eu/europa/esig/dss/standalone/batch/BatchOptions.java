@@ -0,0 +1,203 @@
+package eu.europa.esig.dss.standalone.batch;
+
+import eu.europa.esig.dss.enumerations.ASiCContainerType;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.enumerations.SignatureLevel;
+import eu.europa.esig.dss.enumerations.SignaturePackaging;
+import eu.europa.esig.dss.enumerations.SignatureTokenType;
+import eu.europa.esig.dss.standalone.exception.ApplicationException;
+
+import java.io.File;
+
+public class BatchOptions {
+
+    public static final String USAGE = String.join(System.lineSeparator(),
+            "Usage :",
+            "  validate <directory|glob> [--output <directory>] [--threads <n>] [--policy <file>] [--offline]",
+            "  sign <directory|glob> --level <signature level> --packaging <packaging> --token <PKCS11|PKCS12|MSCAPI>",
+            "       [--token-file <file>] [--password <password>] [--key-index <n>] [--container <ASiC_S|ASiC_E>]",
+            "       [--digest <digest algorithm>] [--output <directory>] [--threads <n>] [--offline]",
+            "",
+            "  <glob> e.g. 'archive/**/*.pdf', the reports or signed files are written in the output directory",
+            "  (default 'dss-output') with the relative paths of the processed files");
+
+    public enum Command {
+        VALIDATE, SIGN
+    }
+
+    private Command command;
+
+    private String input;
+
+    private File outputDirectory = new File("dss-output");
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private boolean offline;
+
+    private File validationPolicy;
+
+    private SignatureTokenType tokenType;
+
+    private File tokenFile;
+
+    private char[] password;
+
+    private int keyIndex = -1;
+
+    private SignatureLevel signatureLevel;
+
+    private SignaturePackaging signaturePackaging;
+
+    private ASiCContainerType asicContainerType;
+
+    private DigestAlgorithm digestAlgorithm = DigestAlgorithm.SHA256;
+
+    public static boolean isCommand(String arg) {
+        for (Command command : Command.values()) {
+            if (command.name().equalsIgnoreCase(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static BatchOptions parse(String[] args) {
+        if (args.length < 2 || !isCommand(args[0])) {
+            throw new ApplicationException("A command and an input shall be provided");
+        }
+        BatchOptions options = new BatchOptions();
+        options.command = Command.valueOf(args[0].toUpperCase());
+        options.input = args[1];
+
+        for (int i = 2; i < args.length; i++) {
+            String option = args[i];
+            if ("--offline".equals(option)) {
+                options.offline = true;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new ApplicationException(String.format("A value is expected for the option '%s'", option));
+            }
+            String value = args[++i];
+            try {
+                switch (option) {
+                    case "--output":
+                        options.outputDirectory = new File(value);
+                        break;
+                    case "--threads":
+                        options.threads = Integer.parseInt(value);
+                        break;
+                    case "--policy":
+                        options.validationPolicy = new File(value);
+                        break;
+                    case "--token":
+                        options.tokenType = SignatureTokenType.valueOf(value.toUpperCase());
+                        break;
+                    case "--token-file":
+                        options.tokenFile = new File(value);
+                        break;
+                    case "--password":
+                        options.password = value.toCharArray();
+                        break;
+                    case "--key-index":
+                        options.keyIndex = Integer.parseInt(value);
+                        break;
+                    case "--level":
+                        options.signatureLevel = SignatureLevel.valueByName(value);
+                        break;
+                    case "--packaging":
+                        options.signaturePackaging = SignaturePackaging.valueOf(value.toUpperCase());
+                        break;
+                    case "--container":
+                        options.asicContainerType = ASiCContainerType.valueByName(value);
+                        break;
+                    case "--digest":
+                        options.digestAlgorithm = DigestAlgorithm.forName(value);
+                        break;
+                    default:
+                        throw new ApplicationException(String.format("Unknown option '%s'", option));
+                }
+            } catch (IllegalArgumentException e) {
+                throw new ApplicationException(String.format("Invalid value '%s' for the option '%s'", value, option), e);
+            }
+        }
+        options.check();
+        return options;
+    }
+
+    private void check() {
+        if (threads < 1) {
+            throw new ApplicationException("The number of threads shall be positive");
+        }
+        if (Command.SIGN == command) {
+            if (signatureLevel == null || signaturePackaging == null || tokenType == null) {
+                throw new ApplicationException("The options --level, --packaging and --token are required to sign");
+            }
+            if (tokenType != SignatureTokenType.MSCAPI && tokenFile == null) {
+                throw new ApplicationException("The option --token-file is required for a PKCS#11 or PKCS#12 token");
+            }
+        }
+    }
+
+    public Command getCommand() {
+        return command;
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isOffline() {
+        return offline;
+    }
+
+    public File getValidationPolicy() {
+        return validationPolicy;
+    }
+
+    public SignatureTokenType getTokenType() {
+        return tokenType;
+    }
+
+    public File getTokenFile() {
+        return tokenFile;
+    }
+
+    public char[] getPassword() {
+        return password;
+    }
+
+    public void setPassword(char[] password) {
+        this.password = password;
+    }
+
+    public int getKeyIndex() {
+        return keyIndex;
+    }
+
+    public SignatureLevel getSignatureLevel() {
+        return signatureLevel;
+    }
+
+    public SignaturePackaging getSignaturePackaging() {
+        return signaturePackaging;
+    }
+
+    public ASiCContainerType getAsicContainerType() {
+        return asicContainerType;
+    }
+
+    public DigestAlgorithm getDigestAlgorithm() {
+        return digestAlgorithm;
+    }
+
+}
@@ -0,0 +1,156 @@
+package eu.europa.esig.dss.standalone.batch;
+
+import eu.europa.esig.dss.standalone.exception.ApplicationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BatchProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchProcessor.class);
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private final BatchOptions options;
+
+    private final BatchOperation operation;
+
+    public BatchProcessor(BatchOptions options, BatchOperation operation) {
+        this.options = options;
+        this.operation = operation;
+    }
+
+    /**
+     * Processes the input files on the worker pool and prints the throughput
+     *
+     * @param out the stream of the summary
+     * @return the number of failed files
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public int process(PrintStream out) throws InterruptedException {
+        Path baseDirectory = getBaseDirectory();
+        List<Path> files = listFiles(baseDirectory);
+        if (files.isEmpty()) {
+            throw new ApplicationException(String.format("No file found for '%s'", options.getInput()));
+        }
+        out.printf("Processing %s files with %s threads%n", files.size(), options.getThreads());
+
+        Path outputDirectory = options.getOutputDirectory().toPath();
+        AtomicInteger processed = new AtomicInteger();
+        Map<Path, String> failures = new ConcurrentHashMap<>();
+
+        long startNanoTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+        try {
+            for (Path file : files) {
+                executor.execute(() -> {
+                    Path relativePath = baseDirectory.relativize(file);
+                    Path parent = relativePath.getParent();
+                    File fileOutputDirectory = (parent != null ? outputDirectory.resolve(parent) : outputDirectory).toFile();
+                    try {
+                        operation.process(file.toFile(), fileOutputDirectory);
+                    } catch (Exception e) {
+                        LOG.debug("Unable to process {}", file, e);
+                        failures.put(relativePath, String.valueOf(e.getMessage()));
+                    }
+                    int count = processed.incrementAndGet();
+                    if (count % 100 == 0) {
+                        LOG.info("{}/{} files processed", count, files.size());
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        long totalTime = System.nanoTime() - startNanoTime;
+
+        for (Map.Entry<Path, String> failure : new TreeMap<>(failures).entrySet()) {
+            out.printf("FAILED %s : %s%n", failure.getKey(), failure.getValue());
+        }
+        double seconds = totalTime / 1_000_000_000d;
+        out.printf("%s files processed (%s failed) in %.2f s : %.2f files/s, %.1f ms/file%n", files.size(), failures.size(),
+                seconds, files.size() / seconds, totalTime / 1_000_000d / files.size());
+        return failures.size();
+    }
+
+    private Path getBaseDirectory() {
+        String input = options.getInput();
+        File file = new File(input);
+        if (file.isDirectory()) {
+            return file.toPath();
+        } else if (file.isFile()) {
+            return file.getAbsoluteFile().getParentFile().toPath();
+        }
+        // a glob : the base directory is the part before the first glob character
+        String pattern = input.replace(File.separatorChar, '/');
+        int separator = pattern.lastIndexOf('/', getFirstGlobCharacterIndex(pattern));
+        return separator < 0 ? Paths.get("") : Paths.get(pattern.substring(0, separator + 1));
+    }
+
+    private List<Path> listFiles(Path baseDirectory) {
+        String input = options.getInput();
+        File file = new File(input);
+        if (file.isFile()) {
+            return List.of(file.getAbsoluteFile().toPath());
+        }
+        PathMatcher matcher;
+        if (file.isDirectory()) {
+            matcher = path -> true;
+        } else {
+            String pattern = input.replace(File.separatorChar, '/');
+            int separator = pattern.lastIndexOf('/', getFirstGlobCharacterIndex(pattern));
+            matcher = getPathMatcher(pattern.substring(separator + 1));
+        }
+        // the results of a previous run are not processed
+        Path outputDirectory = options.getOutputDirectory().toPath().toAbsolutePath().normalize();
+        try (Stream<Path> paths = Files.walk(baseDirectory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> !path.toAbsolutePath().normalize().startsWith(outputDirectory))
+                    .filter(path -> matcher.matches(baseDirectory.relativize(path)))
+                    .sorted()
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            throw new ApplicationException(String.format("Unable to list the files of '%s' : %s", baseDirectory, e.getMessage()), e);
+        }
+    }
+
+    private PathMatcher getPathMatcher(String glob) {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        if (glob.startsWith("**/")) {
+            // '**/' also matches the files of the base directory
+            PathMatcher baseDirectoryMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob.substring(3));
+            return path -> matcher.matches(path) || baseDirectoryMatcher.matches(path);
+        }
+        return matcher;
+    }
+
+    private int getFirstGlobCharacterIndex(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        throw new ApplicationException(String.format("'%s' is neither a file, a directory nor a glob", pattern));
+    }
+
+}
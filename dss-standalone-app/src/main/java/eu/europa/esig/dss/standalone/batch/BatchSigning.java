@@ -0,0 +1,149 @@
+package eu.europa.esig.dss.standalone.batch;
+
+import eu.europa.esig.dss.enumerations.JWSSerializationType;
+import eu.europa.esig.dss.enumerations.SigDMechanism;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.standalone.exception.ApplicationException;
+import eu.europa.esig.dss.standalone.service.LocalSignatureService;
+import eu.europa.esig.dss.standalone.service.LocalSignatureServiceBuilder;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.MSCAPISignatureToken;
+import eu.europa.esig.dss.token.Pkcs11SignatureToken;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+import eu.europa.esig.dss.token.SignatureTokenConnection;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.ws.dto.RemoteCertificate;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteBLevelParameters;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.KeyStore.PasswordProtection;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class BatchSigning implements BatchOperation, Closeable {
+
+    private final BatchOptions options;
+
+    private final LocalSignatureService signatureService;
+
+    /** One token session for the whole batch */
+    private final SignatureTokenConnection token;
+
+    private final DSSPrivateKeyEntry signer;
+
+    public BatchSigning(BatchOptions options, TrustedListsCertificateSource tslCertificateSource) {
+        this.options = options;
+
+        LocalSignatureServiceBuilder signatureServiceBuilder = new LocalSignatureServiceBuilder();
+        signatureServiceBuilder.setTslCertificateSource(tslCertificateSource);
+        this.signatureService = signatureServiceBuilder.build();
+
+        this.token = getToken();
+        try {
+            this.signer = getSigner(token.getKeys());
+        } catch (RuntimeException e) {
+            token.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void process(File file, File outputDirectory) throws IOException {
+        DSSDocument toSignDocument = new FileDocument(file);
+        AbstractSignatureParameters parameters = signatureService.toParameters(buildParameters());
+
+        ToBeSigned toBeSigned = signatureService.getDataToSign(toSignDocument, parameters);
+        SignatureValue signatureValue;
+        // the token is not required to support concurrent operations
+        synchronized (token) {
+            signatureValue = token.sign(toBeSigned, options.getDigestAlgorithm(), signer);
+        }
+        DSSDocument signedDocument = signatureService.signDocument(toSignDocument, parameters, signatureValue);
+
+        Files.createDirectories(outputDirectory.toPath());
+        String name = Utils.isStringNotEmpty(signedDocument.getName()) ? signedDocument.getName() : file.getName() + "-signed";
+        signedDocument.save(new File(outputDirectory, name).getPath());
+    }
+
+    private RemoteSignatureParameters buildParameters() {
+        RemoteSignatureParameters parameters = new RemoteSignatureParameters();
+        parameters.setAsicContainerType(options.getAsicContainerType());
+        parameters.setDigestAlgorithm(options.getDigestAlgorithm());
+        parameters.setSignatureLevel(options.getSignatureLevel());
+        parameters.setSignaturePackaging(options.getSignaturePackaging());
+        RemoteBLevelParameters bLevelParams = new RemoteBLevelParameters();
+        bLevelParams.setSigningDate(new Date());
+        parameters.setBLevelParams(bLevelParams);
+        parameters.setSigningCertificate(new RemoteCertificate(signer.getCertificate().getEncoded()));
+        parameters.setEncryptionAlgorithm(signer.getEncryptionAlgorithm());
+        CertificateToken[] certificateChain = signer.getCertificateChain();
+        if (Utils.isArrayNotEmpty(certificateChain)) {
+            List<RemoteCertificate> certificateChainList = new ArrayList<>();
+            for (CertificateToken certificateToken : certificateChain) {
+                certificateChainList.add(new RemoteCertificate(certificateToken.getEncoded()));
+            }
+            parameters.setCertificateChain(certificateChainList);
+        }
+        if (SignatureForm.JAdES.equals(options.getSignatureLevel().getSignatureForm())) {
+            parameters.setJwsSerializationType(JWSSerializationType.JSON_SERIALIZATION); // allow extension
+            parameters.setSigDMechanism(SigDMechanism.OBJECT_ID_BY_URI_HASH); // to be used by default
+        }
+        return parameters;
+    }
+
+    private SignatureTokenConnection getToken() {
+        switch (options.getTokenType()) {
+            case PKCS11:
+                return new Pkcs11SignatureToken(options.getTokenFile().getAbsolutePath(), new PasswordProtection(options.getPassword()));
+            case PKCS12:
+                try {
+                    return new Pkcs12SignatureToken(options.getTokenFile(), new PasswordProtection(options.getPassword()));
+                } catch (IOException e) {
+                    throw new ApplicationException("Unable to open the PKCS#12 file : " + e.getMessage(), e);
+                }
+            case MSCAPI:
+                return new MSCAPISignatureToken();
+            default:
+                throw new IllegalArgumentException("Unsupported token type " + options.getTokenType());
+        }
+    }
+
+    private DSSPrivateKeyEntry getSigner(List<DSSPrivateKeyEntry> keys) {
+        if (Utils.isCollectionEmpty(keys)) {
+            throw new ApplicationException("No certificate found");
+        }
+        if (options.getKeyIndex() >= 0) {
+            if (options.getKeyIndex() >= keys.size()) {
+                throw new ApplicationException(String.format("No certificate at the index %s, %s certificates found",
+                        options.getKeyIndex(), keys.size()));
+            }
+            return keys.get(options.getKeyIndex());
+        }
+        if (keys.size() > 1) {
+            StringBuilder message = new StringBuilder("Several certificates found, the option --key-index shall be provided :");
+            for (int i = 0; i < keys.size(); i++) {
+                message.append(System.lineSeparator()).append(i).append(" : ").append(keys.get(i).getCertificate().getSubject().getRFC2253());
+            }
+            throw new ApplicationException(message.toString());
+        }
+        return keys.get(0);
+    }
+
+    @Override
+    public void close() {
+        token.close();
+    }
+
+}
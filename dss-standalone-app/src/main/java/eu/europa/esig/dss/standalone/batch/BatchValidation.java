@@ -0,0 +1,74 @@
+package eu.europa.esig.dss.standalone.batch;
+
+import eu.europa.esig.dss.model.FileDocument;
+import eu.europa.esig.dss.policy.ValidationPolicy;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
+import eu.europa.esig.dss.spi.policy.SignaturePolicyProvider;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.standalone.exception.ApplicationException;
+import eu.europa.esig.dss.standalone.source.DataLoaderConfigLoader;
+import eu.europa.esig.dss.standalone.source.PropertyReader;
+import eu.europa.esig.dss.utils.Utils;
+import eu.europa.esig.dss.validation.DocumentValidator;
+import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import eu.europa.esig.dss.validation.reports.Reports;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class BatchValidation implements BatchOperation {
+
+    private final CertificateVerifier certificateVerifier;
+
+    private final SignaturePolicyProvider signaturePolicyProvider;
+
+    private final ValidationPolicy validationPolicy;
+
+    public BatchValidation(CertificateVerifier certificateVerifier, File validationPolicyFile) {
+        this.certificateVerifier = certificateVerifier;
+        this.signaturePolicyProvider = new SignaturePolicyProvider();
+        this.signaturePolicyProvider.setDataLoader(DataLoaderConfigLoader.getDataLoader());
+        // parsed once for the whole batch
+        this.validationPolicy = loadValidationPolicy(validationPolicyFile);
+    }
+
+    @Override
+    public void process(File file, File outputDirectory) throws IOException {
+        DocumentValidator documentValidator = SignedDocumentValidator.fromDocument(new FileDocument(file));
+        documentValidator.setCertificateVerifier(certificateVerifier);
+        documentValidator.setSignaturePolicyProvider(signaturePolicyProvider);
+
+        Reports reports = documentValidator.validateDocument(validationPolicy);
+
+        Files.createDirectories(outputDirectory.toPath());
+        write(outputDirectory, file.getName() + "-simple-report.xml", reports.getXmlSimpleReport());
+        write(outputDirectory, file.getName() + "-detailed-report.xml", reports.getXmlDetailedReport());
+        write(outputDirectory, file.getName() + "-diagnostic-data.xml", reports.getXmlDiagnosticData());
+        write(outputDirectory, file.getName() + "-etsi-validation-report.xml", reports.getXmlValidationReport());
+    }
+
+    private void write(File outputDirectory, String name, String content) throws IOException {
+        Files.write(new File(outputDirectory, name).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ValidationPolicy loadValidationPolicy(File validationPolicyFile) {
+        try {
+            if (validationPolicyFile != null) {
+                return ValidationPolicyFacade.newFacade().getValidationPolicy(validationPolicyFile);
+            }
+            String policyPath = PropertyReader.getProperty("default.validation.policy");
+            if (Utils.isStringEmpty(policyPath)) {
+                throw new IllegalArgumentException("default.validation.policy is not defined!");
+            }
+            try (InputStream is = getClass().getClassLoader().getResourceAsStream(policyPath)) {
+                return ValidationPolicyFacade.newFacade().getValidationPolicy(is);
+            }
+        } catch (Exception e) {
+            throw new ApplicationException("Unable to load validation policy : " + e.getMessage(), e);
+        }
+    }
+
+}
@@ -57,6 +57,8 @@ public class MainController extends AbstractController {
 
     private ProgressIndicator progressRefreshLOTL;
 
+    private Label progressRefreshLOTLLabel;
+
     private TLValidationJobExecutor jobBuilder;
 
     private TLValidationJob tlValidationJob;
@@ -88,41 +90,49 @@ public class MainController extends AbstractController {
         //Create JobBuilder && TLValidationJob
         jobBuilder = TLValidationJobExecutor.getInstance();
         tlValidationJob = jobBuilder.job();
-        tlValidationJob.offlineRefresh();
         warningLabel.setVisible(false);
         updateLabelText();
 
-        refreshLOTL.setOnAction(event -> {
-            final RefreshLOTLTask task = new RefreshLOTLTask(tlValidationJob);
-            task.setOnRunning(new EventHandler<>() {
-                @Override
-                public void handle(WorkerStateEvent event) {
-                    warningLabel.setVisible(false);
-                    addLoader();
-                }
-            });
-
-            task.setOnSucceeded(new EventHandler<>() {
-                @Override
-                public void handle(WorkerStateEvent event) {
-                    removeLoader();
-                    updateLabelText();
-                }
-            });
-
-            task.setOnFailed(new EventHandler<>() {
-                @Override
-                public void handle(WorkerStateEvent event) {
-                    removeLoader();
-                    warningLabel.setVisible(true);
-                }
-            });
-
-            //start Task
-            Thread readValThread = new Thread(task);
-            readValThread.setDaemon(true);
-            readValThread.start();
+        // the trusted lists are loaded from the cache then refreshed in the background, without blocking the startup
+        refreshLOTL(true);
+        refreshLOTL.setOnAction(event -> refreshLOTL(false));
+    }
+
+    private void refreshLOTL(boolean offlineFirst) {
+        final RefreshLOTLTask task = new RefreshLOTLTask(tlValidationJob, jobBuilder.getOnlineFileLoader(), offlineFirst,
+                this::updateLabelText);
+        task.setOnRunning(new EventHandler<>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                warningLabel.setVisible(false);
+                refreshLOTL.setDisable(true);
+                addLoader(task);
+            }
+        });
+
+        task.setOnSucceeded(new EventHandler<>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                removeLoader();
+                refreshLOTL.setDisable(false);
+                updateLabelText();
+            }
+        });
+
+        task.setOnFailed(new EventHandler<>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                removeLoader();
+                refreshLOTL.setDisable(false);
+                updateLabelText();
+                warningLabel.setVisible(true);
+            }
         });
+
+        //start Task
+        Thread readValThread = new Thread(task);
+        readValThread.setDaemon(true);
+        readValThread.start();
     }
 
     private void updateLabelText() {
@@ -130,13 +140,16 @@ public class MainController extends AbstractController {
     }
 
     private void removeLoader() {
-        refreshBox.getChildren().remove(progressRefreshLOTL);
+        refreshBox.getChildren().removeAll(progressRefreshLOTL, progressRefreshLOTLLabel);
     }
 
-    private void addLoader() {
+    private void addLoader(RefreshLOTLTask task) {
         removeLoader();
         progressRefreshLOTL = new ProgressIndicator();
-        refreshBox.getChildren().add(progressRefreshLOTL);
+        progressRefreshLOTL.progressProperty().bind(task.progressProperty());
+        progressRefreshLOTLLabel = new Label();
+        progressRefreshLOTLLabel.textProperty().bind(task.messageProperty());
+        refreshBox.getChildren().addAll(progressRefreshLOTL, progressRefreshLOTLLabel);
     }
 
 }
@@ -31,6 +31,7 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
@@ -66,6 +67,9 @@ public class SignatureController extends AbstractController {
 	@FXML
 	private Button fileSelectButton;
 
+	@FXML
+	private CheckBox signSeparatelyCheckBox;
+
 	@FXML
 	public RadioButton asicNoneRadio;
 
@@ -194,11 +198,19 @@ public class SignatureController extends AbstractController {
 				DSSFileChooser fileChooser = DSSFileChooserLoader.getInstance().createFileChooser("File(s) to sign");
 				List<File> filesToSign = fileChooser.showOpenMultipleDialog(stage);
 				model.setFilesToSign(filesToSign);
+				if (Utils.collectionSize(filesToSign) < 2) {
+					model.setSignSeparately(false);
+				}
+				signSeparatelyCheckBox.setDisable(Utils.collectionSize(filesToSign) < 2);
 				updatePropertiesForm();
 			}
 		});
 		fileSelectButton.textProperty().bindBidirectional(model.filesToSignProperty(), new CollectionFilesSelectToStringConverter());
 
+		// the files are signed one by one with the same token session instead of with one signature
+		signSeparatelyCheckBox.selectedProperty().bindBidirectional(model.signSeparatelyProperty());
+		signSeparatelyCheckBox.selectedProperty().addListener((observable, oldValue, newValue) -> updatePropertiesForm());
+
 		asicNoneRadio.setSelected(true);
 		asicsRadio.setUserData(ASiCContainerType.ASiC_S);
 		asiceRadio.setUserData(ASiCContainerType.ASiC_E);
@@ -406,7 +418,7 @@ public class SignatureController extends AbstractController {
 			disableRadioButtons(envelopingRadio, envelopedRadio, detachedRadio, internallyDetachedRadio);
 			disableRadioButtons(tlSigning, xmlManifest);
 
-		} else if (Utils.collectionSize(model.getFilesToSign()) > 1) {
+		} else if (Utils.collectionSize(model.getFilesToSign()) > 1 && !model.isSignSeparately()) {
 			activateRadioButtons(xadesRadio, jadesRadio);
 			disableRadioButtons(cadesRadio, padesRadio);
 			disableRadioButtons(tlSigning, xmlManifest);
@@ -543,6 +555,8 @@ public class SignatureController extends AbstractController {
 					disableRadioButtons(tlSigning, xmlManifest);
 					break;
 			}
+		} else if (Utils.collectionSize(model.getFilesToSign()) > 1) {
+			disableRadioButtons(tlSigning, xmlManifest);
 		}
 	}
 
@@ -20,6 +20,7 @@ import eu.europa.esig.dss.standalone.exception.ApplicationException;
 import eu.europa.esig.dss.utils.Utils;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.layout.HBox;
@@ -320,24 +321,22 @@ public class TokenNodeController extends AbstractController {
     }
 
     protected String getIndicationStyle(Indication indication) {
-        StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append("-fx-font-weight: bold; ");
+        return "-fx-font-weight: bold; " + getIndicationColorStyle(indication);
+    }
+
+    static String getIndicationColorStyle(Indication indication) {
         switch (indication) {
             case TOTAL_PASSED:
             case PASSED:
-                stringBuilder.append("-fx-text-fill: green;");
-                break;
+                return "-fx-text-fill: green;";
             case INDETERMINATE:
-                stringBuilder.append("-fx-text-fill: orange;");
-                break;
+                return "-fx-text-fill: orange;";
             case TOTAL_FAILED:
             case FAILED:
-                stringBuilder.append("-fx-text-fill: red;");
-                break;
+                return "-fx-text-fill: red;";
             default:
                 throw new UnsupportedOperationException(String.format("Indication '%s' is not supported!", indication.name()));
         }
-        return stringBuilder.toString();
     }
 
     protected List<Node> getCertificateChain(XmlCertificateChain xmlCertificateChain) {
@@ -418,15 +417,7 @@ public class TokenNodeController extends AbstractController {
         if (xmlTimestamps != null && Utils.isCollectionNotEmpty(xmlTimestamps.getTimestamp())) {
             Iterator<XmlTimestamp> it = xmlTimestamps.getTimestamp().iterator();
             while (it.hasNext()) {
-                try {
-                    XmlTimestamp xmlTimestamp = it.next();
-                    Node timestampNode = TokenNodeController.loadController().create(xmlTimestamp);
-                    result.add(timestampNode);
-
-                } catch (Exception e) {
-                    LOG.error(String.format("An error occurred: %s", e.getMessage()),  e);
-                    throw new ApplicationException(e);
-                }
+                result.add(getNestedTokenNode(it.next()));
                 if (it.hasNext()) {
                     result.add(getHrNode());
                 }
@@ -440,15 +431,7 @@ public class TokenNodeController extends AbstractController {
         if (xmlEvidenceRecords != null && Utils.isCollectionNotEmpty(xmlEvidenceRecords.getEvidenceRecord())) {
             Iterator<XmlEvidenceRecord> it = xmlEvidenceRecords.getEvidenceRecord().iterator();
             while (it.hasNext()) {
-                try {
-                    XmlEvidenceRecord xmlEvidenceRecord = it.next();
-                    Node evidenceRecordNode = TokenNodeController.loadController().create(xmlEvidenceRecord);
-                    result.add(evidenceRecordNode);
-
-                } catch (Exception e) {
-                    LOG.error(String.format("An error occurred: %s", e.getMessage()),  e);
-                    throw new ApplicationException(e);
-                }
+                result.add(getNestedTokenNode(it.next()));
                 if (it.hasNext()) {
                     result.add(getHrNode());
                 }
@@ -457,6 +440,18 @@ public class TokenNodeController extends AbstractController {
         return result;
     }
 
+    /**
+     * The nested tokens are summarized, their details being displayed once selected in the token tree
+     */
+    private Node getNestedTokenNode(XmlToken token) {
+        Label idLabel = new Label(new TokenSummary(token).toString());
+        Label indicationLabel = new Label(getIndicationResultString(token));
+        indicationLabel.setStyle(getIndicationStyle(token.getIndication()));
+        HBox hBox = new HBox(10, idLabel, indicationLabel);
+        hBox.setPadding(new Insets(2, 0, 2, 0));
+        return hBox;
+    }
+
     private Node getHrNode() {
         Region hr = new Region();
         hr.getStyleClass().add("hr");
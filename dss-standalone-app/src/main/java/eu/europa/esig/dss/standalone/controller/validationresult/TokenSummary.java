@@ -0,0 +1,93 @@
+package eu.europa.esig.dss.standalone.controller.validationresult;
+
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SubIndication;
+import eu.europa.esig.dss.simplereport.jaxb.XmlEvidenceRecord;
+import eu.europa.esig.dss.simplereport.jaxb.XmlEvidenceRecords;
+import eu.europa.esig.dss.simplereport.jaxb.XmlSignature;
+import eu.europa.esig.dss.simplereport.jaxb.XmlTimestamp;
+import eu.europa.esig.dss.simplereport.jaxb.XmlTimestamps;
+import eu.europa.esig.dss.simplereport.jaxb.XmlToken;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The few values of a simple report token displayed in the token tree, the token node being built only once selected
+ */
+public class TokenSummary {
+
+    private final XmlToken token;
+
+    private final String type;
+
+    public TokenSummary(XmlToken token) {
+        this.token = token;
+        this.type = getType(token);
+    }
+
+    public XmlToken getToken() {
+        return token;
+    }
+
+    public String getId() {
+        return token.getId();
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Indication getIndication() {
+        return token.getIndication();
+    }
+
+    public SubIndication getSubIndication() {
+        return token.getSubIndication();
+    }
+
+    /**
+     * Returns the timestamps and evidence records of a signature, or the timestamps of an evidence record
+     *
+     * @return the nested tokens
+     */
+    public List<XmlToken> getNestedTokens() {
+        XmlTimestamps timestamps = null;
+        XmlEvidenceRecords evidenceRecords = null;
+        if (token instanceof XmlSignature) {
+            timestamps = ((XmlSignature) token).getTimestamps();
+            evidenceRecords = ((XmlSignature) token).getEvidenceRecords();
+        } else if (token instanceof XmlEvidenceRecord) {
+            timestamps = ((XmlEvidenceRecord) token).getTimestamps();
+        }
+        if (timestamps == null && evidenceRecords == null) {
+            return Collections.emptyList();
+        }
+        List<XmlToken> nestedTokens = new ArrayList<>();
+        if (timestamps != null) {
+            nestedTokens.addAll(timestamps.getTimestamp());
+        }
+        if (evidenceRecords != null) {
+            nestedTokens.addAll(evidenceRecords.getEvidenceRecord());
+        }
+        return nestedTokens;
+    }
+
+    private static String getType(XmlToken token) {
+        if (token instanceof XmlSignature) {
+            return "Signature";
+        } else if (token instanceof XmlTimestamp) {
+            return "Timestamp";
+        } else if (token instanceof XmlEvidenceRecord) {
+            return "Evidence record";
+        }
+        throw new UnsupportedOperationException(String.format("XmlToken class '%s' is not supported!", token.getClass().toString()));
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + getId();
+    }
+
+}
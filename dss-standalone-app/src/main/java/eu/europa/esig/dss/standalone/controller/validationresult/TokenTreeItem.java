@@ -0,0 +1,37 @@
+package eu.europa.esig.dss.standalone.controller.validationresult;
+
+import eu.europa.esig.dss.simplereport.jaxb.XmlToken;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TreeItem;
+
+/**
+ * Creates the items of the nested timestamps and evidence records on the first expansion
+ */
+public class TokenTreeItem extends TreeItem<TokenSummary> {
+
+    private final boolean leaf;
+
+    private boolean childrenLoaded;
+
+    public TokenTreeItem(XmlToken token) {
+        super(new TokenSummary(token));
+        this.leaf = getValue().getNestedTokens().isEmpty();
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return leaf;
+    }
+
+    @Override
+    public ObservableList<TreeItem<TokenSummary>> getChildren() {
+        if (!childrenLoaded) {
+            childrenLoaded = true;
+            for (XmlToken nestedToken : getValue().getNestedTokens()) {
+                super.getChildren().add(new TokenTreeItem(nestedToken));
+            }
+        }
+        return super.getChildren();
+    }
+
+}
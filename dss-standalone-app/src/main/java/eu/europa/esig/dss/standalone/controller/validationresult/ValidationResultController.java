@@ -2,7 +2,6 @@ package eu.europa.esig.dss.standalone.controller.validationresult;
 
 import eu.europa.esig.dss.detailedreport.jaxb.XmlDetailedReport;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
-import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.simplereport.jaxb.XmlSimpleReport;
 import eu.europa.esig.dss.simplereport.jaxb.XmlToken;
 import eu.europa.esig.dss.standalone.controller.AbstractController;
@@ -17,11 +16,7 @@ import eu.europa.esig.dss.validation.reports.Reports;
 import eu.europa.esig.validationreport.jaxb.ValidationReportType;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.concurrent.Service;
-import javafx.concurrent.Task;
-import javafx.concurrent.WorkerStateEvent;
+import javafx.concurrent.Worker;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
@@ -31,9 +26,11 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
-import javafx.scene.control.ListView;
 import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TreeCell;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
@@ -44,7 +41,6 @@ import java.net.URL;
 import java.util.List;
 import java.util.Objects;
 import java.util.ResourceBundle;
-import java.util.stream.Collectors;
 
 public class ValidationResultController extends AbstractController {
 
@@ -60,7 +56,7 @@ public class ValidationResultController extends AbstractController {
     public ScrollPane validationResult;
 
     @FXML
-    public ListView<String> signaturesList;
+    public TreeView<TokenSummary> tokensTree;
 
     @FXML
     public Label validationResultLabel;
@@ -89,32 +85,34 @@ public class ValidationResultController extends AbstractController {
         Objects.requireNonNull(reports, "Reports cannot be null!");
         XmlSimpleReport simpleReport = reports.getSimpleReportJaxb();
 
-        List<String> signatureIds = simpleReport.getSignatureOrTimestampOrEvidenceRecord()
-                .stream().map(XmlToken::getId).collect(Collectors.toList());
-        noValidationResult.setVisible(Utils.isCollectionEmpty(signatureIds));
+        List<XmlToken> tokens = simpleReport.getSignatureOrTimestampOrEvidenceRecord();
+        noValidationResult.setVisible(Utils.isCollectionEmpty(tokens));
 
-        if (Utils.isCollectionNotEmpty(signatureIds)) {
+        if (Utils.isCollectionNotEmpty(tokens)) {
 
-            ObservableList<String> observableList = FXCollections.observableArrayList();
-            observableList.addAll(signatureIds);
-            signaturesList.setItems(observableList);
+            // the tree is virtualized : only the visible rows are rendered, and only the selected token node is built
+            TreeItem<TokenSummary> root = new TreeItem<>();
+            for (XmlToken token : tokens) {
+                root.getChildren().add(new TokenTreeItem(token));
+            }
+            tokensTree.setRoot(root);
+            tokensTree.setShowRoot(false);
+            tokensTree.setCellFactory(treeView -> new TokenSummaryTreeCell());
 
-            signaturesList.getSelectionModel().selectedItemProperty().addListener(new ChangeListener<String>() {
+            tokensTree.getSelectionModel().selectedItemProperty().addListener(new ChangeListener<TreeItem<TokenSummary>>() {
 
                 @Override
-                public void changed(ObservableValue<? extends String> observableValue, String s, String t1) {
-                    LOG.debug("Changed signature view to '{}'", t1);
-                    for (XmlToken token : simpleReport.getSignatureOrTimestampOrEvidenceRecord()) {
-                        if (t1.equals(token.getId())) {
-                            fillValidationResult(token);
-                            break;
-                        }
+                public void changed(ObservableValue<? extends TreeItem<TokenSummary>> observableValue,
+                                    TreeItem<TokenSummary> oldValue, TreeItem<TokenSummary> newValue) {
+                    if (newValue != null) {
+                        LOG.debug("Changed token view to '{}'", newValue.getValue().getId());
+                        fillValidationResult(newValue.getValue().getToken());
                     }
                 }
 
             });
 
-            signaturesList.getSelectionModel().select(0);
+            tokensTree.getSelectionModel().select(0);
 
             // bind visibility
             noValidationResult.managedProperty().bind(noValidationResult.visibleProperty());
@@ -124,16 +122,17 @@ public class ValidationResultController extends AbstractController {
             content.maxWidthProperty().bind(validationResult.widthProperty()
                     .subtract(validationResult.getPadding().getLeft() + validationResult.getPadding().getRight()));
 
-            simpleReportGenerate.setOnAction(getReportCreationHandler(new GenerateSimpleReportTask(simpleReport)));
+            // all the reports are generated in parallel in the background, then kept for the lifetime of the view
+            simpleReportGenerate.setOnAction(getReportCreationHandler(start(new GenerateSimpleReportTask(simpleReport))));
 
             XmlDetailedReport detailedReport = reports.getDetailedReportJaxb();
-            detailedReportGenerate.setOnAction(getReportCreationHandler(new GenerateDetailedReportTask(detailedReport)));
+            detailedReportGenerate.setOnAction(getReportCreationHandler(start(new GenerateDetailedReportTask(detailedReport))));
 
             XmlDiagnosticData diagnosticData = reports.getDiagnosticDataJaxb();
-            diagnosticDataGenerate.setOnAction(getReportCreationHandler(new GenerateDiagnosticDataTask(diagnosticData)));
+            diagnosticDataGenerate.setOnAction(getReportCreationHandler(start(new GenerateDiagnosticDataTask(diagnosticData))));
 
             ValidationReportType validationReport = reports.getEtsiValidationReportJaxb();
-            etsiVrGenerate.setOnAction(getReportCreationHandler(new GenerateETSIValidationReportTask(validationReport)));
+            etsiVrGenerate.setOnAction(getReportCreationHandler(start(new GenerateETSIValidationReportTask(validationReport))));
 
             projectVersion.setText(projectVersion.getText() + PropertyReader.getProperty("project.version"));
         }
@@ -147,11 +146,16 @@ public class ValidationResultController extends AbstractController {
         validationResult.setContent(signatureNode);
     }
 
+    private GenerateReportTask start(GenerateReportTask generateReportTask) {
+        Thread reportThread = new Thread(generateReportTask);
+        reportThread.setDaemon(true);
+        reportThread.start();
+        return generateReportTask;
+    }
+
     private EventHandler<ActionEvent> getReportCreationHandler(GenerateReportTask generateReportTask) {
         return new EventHandler<ActionEvent>() {
 
-            private DSSDocument document;
-
             private ProgressIndicator progressIndicator;
 
             @Override
@@ -159,57 +163,62 @@ public class ValidationResultController extends AbstractController {
                 Region button = (Region) actionEvent.getSource();
                 Pane parent = (Pane) button.getParent();
 
-                final Service<DSSDocument> service = new Service<>() {
-                    @Override
-                    protected Task<DSSDocument> createTask() {
-                        return generateReportTask;
-                    }
-                };
-
-                service.setOnRunning(new EventHandler<WorkerStateEvent>() {
-                    @Override
-                    public void handle(WorkerStateEvent event) {
-                        parent.getChildren().remove(progressIndicator);
-                        progressIndicator = new ProgressIndicator();
-                        progressIndicator.setPrefHeight(20);
-                        progressIndicator.setPrefWidth(20);
-                        progressIndicator.setPadding(new Insets(0, 0, 0, 0));
-                        progressIndicator.setStyle("-fx-border-color:black; -fx-border-width: 1; -fx-border-style: solid;");
-                        parent.getChildren().add(progressIndicator);
-                    }
-                });
+                if (generateReportTask.isDone()) {
+                    onGenerated(generateReportTask.getState());
+                    return;
+                }
 
-                service.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+                // the report is still being generated, it is saved once available
+                parent.getChildren().remove(progressIndicator);
+                progressIndicator = new ProgressIndicator();
+                progressIndicator.setPrefHeight(20);
+                progressIndicator.setPrefWidth(20);
+                progressIndicator.setPadding(new Insets(0, 0, 0, 0));
+                progressIndicator.setStyle("-fx-border-color:black; -fx-border-width: 1; -fx-border-style: solid;");
+                parent.getChildren().add(progressIndicator);
+                button.setDisable(true);
+
+                generateReportTask.stateProperty().addListener(new ChangeListener<Worker.State>() {
                     @Override
-                    public void handle(WorkerStateEvent event) {
-                        parent.getChildren().remove(progressIndicator);
-                        button.disableProperty().unbind();
-                        button.setDisable(false);
-                        if (document == null) {
-                            document = service.getValue();
+                    public void changed(ObservableValue<? extends Worker.State> observable, Worker.State oldValue, Worker.State newValue) {
+                        if (generateReportTask.isDone()) {
+                            observable.removeListener(this);
+                            parent.getChildren().remove(progressIndicator);
+                            button.setDisable(false);
+                            onGenerated(newValue);
                         }
-                        save(document);
-                    }
-                });
-
-                service.setOnFailed(new EventHandler<WorkerStateEvent>() {
-                    @Override
-                    public void handle(WorkerStateEvent event) {
-                        parent.getChildren().remove(progressIndicator);
-                        button.disableProperty().unbind();
-                        button.setDisable(false);
-                        String errorMessage = "Oops an error occurred : " + service.getMessage();
-                        LOG.error(errorMessage, service.getException());
-                        Alert alert = new Alert(Alert.AlertType.ERROR, errorMessage, ButtonType.CLOSE);
-                        alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
-                        alert.showAndWait();
                     }
                 });
+            }
 
-                button.disableProperty().bind(service.runningProperty());
-                service.start();
+            private void onGenerated(Worker.State state) {
+                if (Worker.State.SUCCEEDED == state) {
+                    save(generateReportTask.getValue());
+                } else {
+                    String errorMessage = "Oops an error occurred : " + generateReportTask.getMessage();
+                    LOG.error(errorMessage, generateReportTask.getException());
+                    Alert alert = new Alert(Alert.AlertType.ERROR, errorMessage, ButtonType.CLOSE);
+                    alert.getDialogPane().setMinHeight(Region.USE_PREF_SIZE);
+                    alert.showAndWait();
+                }
             }
         };
     }
 
+    private static class TokenSummaryTreeCell extends TreeCell<TokenSummary> {
+
+        @Override
+        protected void updateItem(TokenSummary item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setText(null);
+                setStyle(null);
+            } else {
+                setText(item.toString());
+                setStyle(TokenNodeController.getIndicationColorStyle(item.getIndication()));
+            }
+        }
+
+    }
+
 }
@@ -7,7 +7,9 @@ import eu.europa.esig.dss.enumerations.SignatureLevel;
 import eu.europa.esig.dss.enumerations.SignaturePackaging;
 import eu.europa.esig.dss.enumerations.SignatureTokenType;
 import eu.europa.esig.dss.standalone.enumeration.SignatureOption;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -19,6 +21,7 @@ import java.util.Collection;
 public class SignatureModel {
 
 	private ObjectProperty<Collection<File>> filesToSign = new SimpleObjectProperty<>();
+	private BooleanProperty signSeparately = new SimpleBooleanProperty();
 	private ObjectProperty<ASiCContainerType> asicContainerType = new SimpleObjectProperty<>();
 	private ObjectProperty<SignatureForm> signatureForm = new SimpleObjectProperty<>();
 	private ObjectProperty<SignaturePackaging> signaturePackaging = new SimpleObjectProperty<>();
@@ -42,6 +45,18 @@ public class SignatureModel {
 		return filesToSign;
 	}
 
+	public boolean isSignSeparately() {
+		return signSeparately.get();
+	}
+
+	public void setSignSeparately(boolean signSeparately) {
+		this.signSeparately.set(signSeparately);
+	}
+
+	public BooleanProperty signSeparatelyProperty() {
+		return signSeparately;
+	}
+
 	public SignatureForm getSignatureForm() {
 		return signatureForm.get();
 	}
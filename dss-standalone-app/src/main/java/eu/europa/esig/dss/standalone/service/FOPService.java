@@ -29,7 +29,6 @@ public class FOPService {
     private static FOPService instance;
 
     private FopFactory fopFactory;
-    private FOUserAgent foUserAgent;
 
     private FOPService() {
         init();
@@ -46,17 +45,13 @@ public class FOPService {
 
             fopFactory = builder.build();
 
-            foUserAgent = fopFactory.newFOUserAgent();
-            foUserAgent.setCreator("DSS Standalone App");
-            foUserAgent.setAccessibility(true);
-
         } catch (Exception e) {
             LOG.error(String.format("Unable to instantiate FOPService: %s", e.getMessage()),  e);
             throw new ApplicationException(e);
         }
     }
 
-    public static FOPService getInstance() {
+    public static synchronized FOPService getInstance() {
         if (instance == null) {
             instance = new FOPService();
         }
@@ -64,15 +59,25 @@ public class FOPService {
     }
 
     public void generateSimpleReport(XmlSimpleReport simpleReport, OutputStream os) throws Exception {
-        Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, foUserAgent, os);
+        Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, newFOUserAgent(), os);
         Result result = new SAXResult(fop.getDefaultHandler());
         SimpleReportFacade.newFacade().generatePdfReport(simpleReport, result);
     }
 
     public void generateDetailedReport(XmlDetailedReport detailedReport, OutputStream os) throws Exception {
-        Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, foUserAgent, os);
+        Fop fop = fopFactory.newFop(MimeConstants.MIME_PDF, newFOUserAgent(), os);
         Result result = new SAXResult(fop.getDefaultHandler());
         DetailedReportFacade.newFacade().generatePdfReport(detailedReport, result);
     }
 
+    /**
+     * The user agent is not shared between the reports generated in parallel
+     */
+    private FOUserAgent newFOUserAgent() {
+        FOUserAgent foUserAgent = fopFactory.newFOUserAgent();
+        foUserAgent.setCreator("DSS Standalone App");
+        foUserAgent.setAccessibility(true);
+        return foUserAgent;
+    }
+
 }
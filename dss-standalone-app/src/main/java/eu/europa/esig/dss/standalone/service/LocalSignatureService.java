@@ -0,0 +1,164 @@
+package eu.europa.esig.dss.standalone.service;
+
+import eu.europa.esig.dss.asic.cades.ASiCWithCAdESSignatureParameters;
+import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
+import eu.europa.esig.dss.asic.xades.ASiCWithXAdESSignatureParameters;
+import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.jades.signature.JAdESService;
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.SignatureValue;
+import eu.europa.esig.dss.model.ToBeSigned;
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
+import eu.europa.esig.dss.signature.DocumentSignatureService;
+import eu.europa.esig.dss.signature.MultipleDocumentsSignatureService;
+import eu.europa.esig.dss.ws.converter.RemoteCertificateConverter;
+import eu.europa.esig.dss.ws.signature.common.AbstractRemoteSignatureServiceImpl;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
+import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteTrustedListSignatureParameters;
+import eu.europa.esig.dss.xades.TrustedListSignatureParametersBuilder;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+
+import java.util.List;
+
+/**
+ * Signs the documents in process with the DSS services : unlike the remote services, the documents are not converted
+ * to byte arrays (e.g. a file is read from the disk when required).
+ * The signature parameters are still described with the remote DTOs, converted as by the remote services.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class LocalSignatureService extends AbstractRemoteSignatureServiceImpl {
+
+    private XAdESService xadesService;
+
+    private CAdESService cadesService;
+
+    private PAdESService padesService;
+
+    private JAdESService jadesService;
+
+    private ASiCWithXAdESService asicWithXAdESService;
+
+    private ASiCWithCAdESService asicWithCAdESService;
+
+    public void setXadesService(XAdESService xadesService) {
+        this.xadesService = xadesService;
+    }
+
+    public void setCadesService(CAdESService cadesService) {
+        this.cadesService = cadesService;
+    }
+
+    public void setPadesService(PAdESService padesService) {
+        this.padesService = padesService;
+    }
+
+    public void setJadesService(JAdESService jadesService) {
+        this.jadesService = jadesService;
+    }
+
+    public void setAsicWithXAdESService(ASiCWithXAdESService asicWithXAdESService) {
+        this.asicWithXAdESService = asicWithXAdESService;
+    }
+
+    public void setAsicWithCAdESService(ASiCWithCAdESService asicWithCAdESService) {
+        this.asicWithCAdESService = asicWithCAdESService;
+    }
+
+    /**
+     * Creates the parameters of the signature, to be used for both {@code getDataToSign} and {@code signDocument}
+     *
+     * @param remoteParameters the signature parameters
+     * @return the parameters of the DSS service
+     */
+    public AbstractSignatureParameters toParameters(RemoteSignatureParameters remoteParameters) {
+        return (AbstractSignatureParameters) createParameters(remoteParameters);
+    }
+
+    /**
+     * Creates the parameters of a trusted list signature
+     *
+     * @param trustedList the trusted list to sign
+     * @param remoteParameters the trusted list signature parameters
+     * @return the parameters of the XAdES service
+     */
+    public XAdESSignatureParameters toTrustedListParameters(DSSDocument trustedList, RemoteTrustedListSignatureParameters remoteParameters) {
+        CertificateToken signingCertificate = RemoteCertificateConverter.toCertificateToken(remoteParameters.getSigningCertificate());
+        TrustedListSignatureParametersBuilder builder = new TrustedListSignatureParametersBuilder(signingCertificate, trustedList);
+        if (remoteParameters.getEncryptionAlgorithm() != null) {
+            builder.setEncryptionAlgorithm(remoteParameters.getEncryptionAlgorithm());
+        }
+        if (remoteParameters.getDigestAlgorithm() != null) {
+            builder.setDigestAlgorithm(remoteParameters.getDigestAlgorithm());
+        }
+        if (remoteParameters.getBLevelParameters() != null) {
+            builder.setBLevelParams(toBLevelParameters(remoteParameters.getBLevelParameters()));
+        }
+        if (remoteParameters.getReferenceId() != null) {
+            builder.setReferenceId(remoteParameters.getReferenceId());
+        }
+        if (remoteParameters.getReferenceDigestAlgorithm() != null) {
+            builder.setReferenceDigestAlgorithm(remoteParameters.getReferenceDigestAlgorithm());
+        }
+        return builder.build();
+    }
+
+    public ToBeSigned getDataToSign(DSSDocument toSignDocument, AbstractSignatureParameters parameters) {
+        return getService(parameters).getDataToSign(toSignDocument, parameters);
+    }
+
+    public DSSDocument signDocument(DSSDocument toSignDocument, AbstractSignatureParameters parameters, SignatureValue signatureValue) {
+        return getService(parameters).signDocument(toSignDocument, parameters, signatureValue);
+    }
+
+    public ToBeSigned getDataToSign(List<DSSDocument> toSignDocuments, AbstractSignatureParameters parameters) {
+        return getMultipleDocumentsService(parameters).getDataToSign(toSignDocuments, parameters);
+    }
+
+    public DSSDocument signDocument(List<DSSDocument> toSignDocuments, AbstractSignatureParameters parameters, SignatureValue signatureValue) {
+        return getMultipleDocumentsService(parameters).signDocument(toSignDocuments, parameters, signatureValue);
+    }
+
+    private DocumentSignatureService getService(AbstractSignatureParameters parameters) {
+        if (parameters instanceof ASiCWithXAdESSignatureParameters) {
+            return asicWithXAdESService;
+        } else if (parameters instanceof ASiCWithCAdESSignatureParameters) {
+            return asicWithCAdESService;
+        }
+        SignatureForm signatureForm = parameters.getSignatureLevel().getSignatureForm();
+        switch (signatureForm) {
+            case XAdES:
+                return xadesService;
+            case CAdES:
+                return cadesService;
+            case PAdES:
+                return padesService;
+            case JAdES:
+                return jadesService;
+            default:
+                throw new UnsupportedOperationException("Unrecognized format " + signatureForm);
+        }
+    }
+
+    private MultipleDocumentsSignatureService getMultipleDocumentsService(AbstractSignatureParameters parameters) {
+        if (parameters instanceof ASiCWithXAdESSignatureParameters) {
+            return asicWithXAdESService;
+        } else if (parameters instanceof ASiCWithCAdESSignatureParameters) {
+            return asicWithCAdESService;
+        }
+        SignatureForm signatureForm = parameters.getSignatureLevel().getSignatureForm();
+        switch (signatureForm) {
+            case XAdES:
+                return xadesService;
+            case JAdES:
+                return jadesService;
+            default:
+                throw new UnsupportedOperationException("Multiple documents signature is not supported for " + signatureForm);
+        }
+    }
+
+}
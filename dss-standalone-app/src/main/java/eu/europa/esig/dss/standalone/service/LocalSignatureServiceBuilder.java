@@ -0,0 +1,48 @@
+package eu.europa.esig.dss.standalone.service;
+
+import eu.europa.esig.dss.asic.cades.signature.ASiCWithCAdESService;
+import eu.europa.esig.dss.asic.xades.signature.ASiCWithXAdESService;
+import eu.europa.esig.dss.cades.signature.CAdESService;
+import eu.europa.esig.dss.jades.signature.JAdESService;
+import eu.europa.esig.dss.pades.signature.PAdESService;
+import eu.europa.esig.dss.spi.validation.CertificateVerifier;
+import eu.europa.esig.dss.spi.x509.tsp.TSPSource;
+import eu.europa.esig.dss.xades.signature.XAdESService;
+
+public class LocalSignatureServiceBuilder extends AbstractDocumentServiceBuilder {
+
+    public LocalSignatureService build() {
+        // the services share the certificate verifier and the TSP source
+        CertificateVerifier certificateVerifier = certificateVerifier();
+        TSPSource tspSource = tspSource();
+
+        LocalSignatureService service = new LocalSignatureService();
+
+        ASiCWithCAdESService asicWithCAdESService = new ASiCWithCAdESService(certificateVerifier);
+        asicWithCAdESService.setTspSource(tspSource);
+        service.setAsicWithCAdESService(asicWithCAdESService);
+
+        ASiCWithXAdESService asicWithXAdESService = new ASiCWithXAdESService(certificateVerifier);
+        asicWithXAdESService.setTspSource(tspSource);
+        service.setAsicWithXAdESService(asicWithXAdESService);
+
+        CAdESService cadesService = new CAdESService(certificateVerifier);
+        cadesService.setTspSource(tspSource);
+        service.setCadesService(cadesService);
+
+        XAdESService xadesService = new XAdESService(certificateVerifier);
+        xadesService.setTspSource(tspSource);
+        service.setXadesService(xadesService);
+
+        PAdESService padesService = new PAdESService(certificateVerifier);
+        padesService.setTspSource(tspSource);
+        service.setPadesService(padesService);
+
+        JAdESService jadesService = new JAdESService(certificateVerifier);
+        jadesService.setTspSource(tspSource);
+        service.setJadesService(jadesService);
+
+        return service;
+    }
+
+}
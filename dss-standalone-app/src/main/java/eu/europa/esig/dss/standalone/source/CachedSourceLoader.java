@@ -0,0 +1,152 @@
+package eu.europa.esig.dss.standalone.source;
+
+import eu.europa.esig.dss.model.x509.revocation.crl.CRL;
+import eu.europa.esig.dss.model.x509.revocation.ocsp.OCSP;
+import eu.europa.esig.dss.service.crl.JdbcCacheCRLSource;
+import eu.europa.esig.dss.service.crl.OnlineCRLSource;
+import eu.europa.esig.dss.service.http.commons.OCSPDataLoader;
+import eu.europa.esig.dss.service.ocsp.JdbcCacheOCSPSource;
+import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
+import eu.europa.esig.dss.service.x509.aia.JdbcCacheAIASource;
+import eu.europa.esig.dss.spi.client.jdbc.JdbcCacheConnector;
+import eu.europa.esig.dss.spi.x509.aia.AIASource;
+import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
+import eu.europa.esig.dss.spi.x509.revocation.RevocationSource;
+import eu.europa.esig.dss.utils.Utils;
+import org.hsqldb.jdbc.JDBCPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.sql.SQLException;
+
+/**
+ * Loads the CRL, OCSP and AIA sources shared by all the validations and signatures of the application.
+ * The retrieved revocation data and certificates are cached in an embedded database kept between the application runs,
+ * the revocation data being reused until its next update.
+ */
+public class CachedSourceLoader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CachedSourceLoader.class);
+
+    private static JdbcCacheConnector jdbcCacheConnector;
+
+    private static RevocationSource<CRL> crlSource;
+
+    private static RevocationSource<OCSP> ocspSource;
+
+    private static AIASource aiaSource;
+
+    public static synchronized RevocationSource<CRL> getCRLSource() {
+        if (crlSource == null) {
+            OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
+            onlineCRLSource.setDataLoader(DataLoaderConfigLoader.getDataLoader());
+            crlSource = onlineCRLSource;
+
+            JdbcCacheConnector connector = getJdbcCacheConnector();
+            if (connector != null) {
+                JdbcCacheCRLSource jdbcCacheCRLSource = new JdbcCacheCRLSource();
+                jdbcCacheCRLSource.setJdbcCacheConnector(connector);
+                jdbcCacheCRLSource.setProxySource(onlineCRLSource);
+                jdbcCacheCRLSource.setDefaultNextUpdateDelay(getLongProperty("cache.crl.default.next.update"));
+                jdbcCacheCRLSource.setMaxNextUpdateDelay(getLongProperty("cache.crl.max.next.update"));
+                if (initTable(jdbcCacheCRLSource::initTable)) {
+                    crlSource = jdbcCacheCRLSource;
+                }
+            }
+        }
+        return crlSource;
+    }
+
+    public static synchronized RevocationSource<OCSP> getOCSPSource() {
+        if (ocspSource == null) {
+            OnlineOCSPSource onlineOCSPSource = new OnlineOCSPSource();
+            onlineOCSPSource.setDataLoader(DataLoaderConfigLoader.getDataLoader(new OCSPDataLoader()));
+            ocspSource = onlineOCSPSource;
+
+            JdbcCacheConnector connector = getJdbcCacheConnector();
+            if (connector != null) {
+                JdbcCacheOCSPSource jdbcCacheOCSPSource = new JdbcCacheOCSPSource();
+                jdbcCacheOCSPSource.setJdbcCacheConnector(connector);
+                jdbcCacheOCSPSource.setProxySource(onlineOCSPSource);
+                jdbcCacheOCSPSource.setDefaultNextUpdateDelay(getLongProperty("cache.ocsp.default.next.update"));
+                jdbcCacheOCSPSource.setMaxNextUpdateDelay(getLongProperty("cache.ocsp.max.next.update"));
+                if (initTable(jdbcCacheOCSPSource::initTable)) {
+                    ocspSource = jdbcCacheOCSPSource;
+                }
+            }
+        }
+        return ocspSource;
+    }
+
+    public static synchronized AIASource getAIASource() {
+        if (aiaSource == null) {
+            DefaultAIASource onlineAIASource = new DefaultAIASource();
+            onlineAIASource.setDataLoader(DataLoaderConfigLoader.getDataLoader());
+            aiaSource = onlineAIASource;
+
+            JdbcCacheConnector connector = getJdbcCacheConnector();
+            if (connector != null) {
+                JdbcCacheAIASource jdbcCacheAIASource = new JdbcCacheAIASource();
+                jdbcCacheAIASource.setJdbcCacheConnector(connector);
+                jdbcCacheAIASource.setProxySource(onlineAIASource);
+                if (initTable(jdbcCacheAIASource::initTable)) {
+                    aiaSource = jdbcCacheAIASource;
+                }
+            }
+        }
+        return aiaSource;
+    }
+
+    private static JdbcCacheConnector getJdbcCacheConnector() {
+        if (jdbcCacheConnector == null && !Boolean.FALSE.equals(PropertyReader.getBooleanProperty("cache.enabled"))) {
+            File cacheDirectory = getCacheDirectory();
+            JDBCPool dataSource = new JDBCPool();
+            dataSource.setUrl("jdbc:hsqldb:file:" + new File(cacheDirectory, "dss-cache").getAbsolutePath()
+                    + ";shutdown=true;hsqldb.default_table_type=cached"); // the tables on disk, not loaded in memory
+            dataSource.setUser("sa");
+            dataSource.setPassword("");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    dataSource.close(0);
+                } catch (SQLException e) {
+                    LOG.warn("Unable to close the cache database : {}", e.getMessage());
+                }
+            }));
+            LOG.info("Revocation and AIA cache : {}", cacheDirectory.getAbsolutePath());
+            jdbcCacheConnector = new JdbcCacheConnector(dataSource);
+        }
+        return jdbcCacheConnector;
+    }
+
+    private static File getCacheDirectory() {
+        String cacheDirectory = PropertyReader.getProperty("cache.directory");
+        if (Utils.isStringNotEmpty(cacheDirectory)) {
+            return new File(cacheDirectory);
+        }
+        return new File(SystemPropertyReader.getUserHome(), ".dss-standalone" + File.separator + "cache");
+    }
+
+    private static boolean initTable(TableInitializer initializer) {
+        try {
+            initializer.initTable();
+            return true;
+        } catch (Exception e) {
+            // e.g. the database is locked by another instance of the application
+            LOG.warn("The cache database cannot be used, the data will be retrieved online : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static Long getLongProperty(String propertyKey) {
+        int value = PropertyReader.getIntProperty(propertyKey);
+        return value >= 0 ? (long) value : null;
+    }
+
+    private interface TableInitializer {
+
+        void initTable() throws SQLException;
+
+    }
+
+}
@@ -1,15 +1,11 @@
 package eu.europa.esig.dss.standalone.source;
 
 import eu.europa.esig.dss.alert.ExceptionOnStatusAlert;
-import eu.europa.esig.dss.service.crl.OnlineCRLSource;
-import eu.europa.esig.dss.service.http.commons.OCSPDataLoader;
-import eu.europa.esig.dss.service.ocsp.OnlineOCSPSource;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.validation.CertificateVerifier;
 import eu.europa.esig.dss.spi.validation.CommonCertificateVerifier;
 import eu.europa.esig.dss.spi.x509.CertificateSource;
 import eu.europa.esig.dss.spi.x509.CommonCertificateSource;
-import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
 
 public class CertificateVerifierBuilder {
 
@@ -28,10 +24,11 @@ public class CertificateVerifierBuilder {
     }
 
     public CertificateVerifier build() {
+        // the revocation and AIA sources (and their cache) are shared, only the certificate sources are specific
         CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier();
-        certificateVerifier.setCrlSource(onlineCRLSource());
-        certificateVerifier.setOcspSource(onlineOCSPSource());
-        certificateVerifier.setAIASource(onlineAIASource());
+        certificateVerifier.setCrlSource(CachedSourceLoader.getCRLSource());
+        certificateVerifier.setOcspSource(CachedSourceLoader.getOCSPSource());
+        certificateVerifier.setAIASource(CachedSourceLoader.getAIASource());
         certificateVerifier.setTrustedCertSources(tslCertificateSource, TrustedCertificateSourceLoader.getTrustedCertificateSource());
         certificateVerifier.setAdjunctCertSources(adjunctCertificateSource);
 
@@ -42,23 +39,4 @@ public class CertificateVerifierBuilder {
         return certificateVerifier;
     }
 
-    private DefaultAIASource onlineAIASource() {
-        DefaultAIASource onlineAIASource = new DefaultAIASource();
-        onlineAIASource.setDataLoader(DataLoaderConfigLoader.getDataLoader());
-        return onlineAIASource;
-    }
-
-    private OnlineCRLSource onlineCRLSource() {
-        OnlineCRLSource onlineCRLSource = new OnlineCRLSource();
-        onlineCRLSource.setDataLoader(DataLoaderConfigLoader.getDataLoader());
-        return onlineCRLSource;
-    }
-
-    private OnlineOCSPSource onlineOCSPSource() {
-        OnlineOCSPSource onlineOCSPSource = new OnlineOCSPSource();
-        OCSPDataLoader ocspDataLoader = new OCSPDataLoader();
-        onlineOCSPSource.setDataLoader(DataLoaderConfigLoader.getDataLoader(ocspDataLoader));
-        return onlineOCSPSource;
-    }
-
 }
@@ -0,0 +1,44 @@
+package eu.europa.esig.dss.standalone.source;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.spi.client.http.DSSFileLoader;
+
+import java.util.function.Consumer;
+
+/**
+ * Notifies a listener of each loaded URL (e.g. to report the progress of a trusted list refresh)
+ */
+@SuppressWarnings("serial")
+public class ObservableFileLoader implements DSSFileLoader {
+
+    private final DSSFileLoader fileLoader;
+
+    private transient volatile Consumer<String> listener;
+
+    public ObservableFileLoader(DSSFileLoader fileLoader) {
+        this.fileLoader = fileLoader;
+    }
+
+    public void setListener(Consumer<String> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public DSSDocument getDocument(String url) {
+        try {
+            return fileLoader.getDocument(url);
+        } finally {
+            Consumer<String> currentListener = listener;
+            if (currentListener != null) {
+                currentListener.accept(url);
+            }
+        }
+    }
+
+    @Override
+    @Deprecated
+    public boolean remove(String url) {
+        return fileLoader.remove(url);
+    }
+
+}
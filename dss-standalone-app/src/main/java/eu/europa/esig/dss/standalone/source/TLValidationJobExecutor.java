@@ -25,6 +25,7 @@ public class TLValidationJobExecutor {
 
 	private TrustedListsCertificateSource tslCertificateSource;
 	private File cacheDirectory;
+	private ObservableFileLoader onlineFileLoader;
 
 	private TLValidationJobExecutor() {
 		tslCertificateSource = new TrustedListsCertificateSource();
@@ -40,7 +41,7 @@ public class TLValidationJobExecutor {
 
 	public TLValidationJob job() {
 		TLValidationJob job = new TLValidationJob();
-		job.setOnlineDataLoader(onlineLoader());
+		job.setOnlineDataLoader(getOnlineFileLoader());
 		job.setOfflineDataLoader(offlineLoader());
 		job.setTrustedListCertificateSource(tslCertificateSource);
 		job.setSynchronizationStrategy(new AcceptAllStrategy());
@@ -52,14 +53,27 @@ public class TLValidationJobExecutor {
 		return job;
 	}
 
+	public synchronized ObservableFileLoader getOnlineFileLoader() {
+		if (onlineFileLoader == null) {
+			onlineFileLoader = new ObservableFileLoader(onlineLoader());
+		}
+		return onlineFileLoader;
+	}
+
 	private DSSFileLoader onlineLoader() {
 		FileCacheDataLoader onlineFileLoader = new FileCacheDataLoader();
-		onlineFileLoader.setCacheExpirationTime(0);
+		// the lists downloaded within the validity window are not downloaded again
+		onlineFileLoader.setCacheExpirationTime(tlCacheExpirationTime());
 		onlineFileLoader.setDataLoader(DataLoaderConfigLoader.getDataLoader());
 		onlineFileLoader.setFileCacheDirectory(cacheDirectory);
 		return onlineFileLoader;
 	}
 
+	private long tlCacheExpirationTime() {
+		int expiration = PropertyReader.getIntProperty("tl.cache.expiration");
+		return expiration > 0 ? expiration * 1000L : 0; // to millis
+	}
+
 	private DSSFileLoader offlineLoader() {
 		FileCacheDataLoader offlineFileLoader = new FileCacheDataLoader();
 		offlineFileLoader.setCacheExpirationTime(-1);
@@ -0,0 +1,203 @@
+package eu.europa.esig.dss.standalone.source;
+
+import eu.europa.esig.dss.enumerations.SignatureTokenType;
+import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
+import eu.europa.esig.dss.token.MSCAPISignatureToken;
+import eu.europa.esig.dss.token.Pkcs11SignatureToken;
+import eu.europa.esig.dss.token.Pkcs12SignatureToken;
+import eu.europa.esig.dss.token.SignatureTokenConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore.PasswordProtection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last opened token logged in between the signing runs, with its keys,
+ * as the login and the key enumeration of a hardware token take seconds.
+ * The signing key is still chosen by the user for each run, the last chosen key being only pre-selected.
+ * The session is reused only for the same token and password, and is closed once idle for
+ * {@code token.session.timeout} seconds (0 to close it after each run).
+ */
+public class TokenSessionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenSessionCache.class);
+
+    private static TokenSession session;
+
+    private static ScheduledExecutorService scheduler;
+
+    private static ScheduledFuture<?> idleClosing;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(TokenSessionCache::close));
+    }
+
+    /**
+     * Returns the session of the given token, opening it if the cached session is not the one requested
+     *
+     * @param tokenType the token type
+     * @param pkcsFile the PKCS#11 library or the PKCS#12 keystore, null for MS CAPI
+     * @param password the token password, null for MS CAPI
+     * @return the token session, to be released with {@link #release(TokenSession, boolean)}
+     * @throws IOException if the keystore cannot be read
+     */
+    public static synchronized TokenSession getSession(SignatureTokenType tokenType, File pkcsFile, String password) throws IOException {
+        cancelIdleClosing();
+        if (session != null && !session.isSameToken(tokenType, pkcsFile, password)) {
+            close();
+        }
+        if (session == null) {
+            LOG.debug("Opening a new {} token session", tokenType);
+            session = new TokenSession(tokenType, pkcsFile, password, openToken(tokenType, pkcsFile, password));
+        }
+        return session;
+    }
+
+    /**
+     * Releases the session after a signing run
+     *
+     * @param tokenSession the session returned by {@link #getSession(SignatureTokenType, File, String)}
+     * @param reusable false to close the session (e.g. after a token failure)
+     */
+    public static synchronized void release(TokenSession tokenSession, boolean reusable) {
+        if (tokenSession != session) {
+            tokenSession.token.close();
+            return;
+        }
+        int timeout = PropertyReader.getIntProperty("token.session.timeout");
+        if (!reusable || timeout <= 0) {
+            close();
+        } else {
+            idleClosing = getScheduler().schedule(TokenSessionCache::close, timeout, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized void close() {
+        cancelIdleClosing();
+        if (session != null) {
+            LOG.debug("Closing the {} token session", session.tokenType);
+            session.token.close();
+            session = null;
+        }
+    }
+
+    private static void cancelIdleClosing() {
+        if (idleClosing != null) {
+            idleClosing.cancel(false);
+            idleClosing = null;
+        }
+    }
+
+    private static ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "token-session-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    private static SignatureTokenConnection openToken(SignatureTokenType tokenType, File pkcsFile, String password) throws IOException {
+        switch (tokenType) {
+            case PKCS11:
+                return new Pkcs11SignatureToken(pkcsFile.getAbsolutePath(), new PasswordProtection(password.toCharArray()));
+            case PKCS12:
+                return new Pkcs12SignatureToken(pkcsFile, new PasswordProtection(password.toCharArray()));
+            case MSCAPI:
+                return new MSCAPISignatureToken();
+            default:
+                throw new IllegalArgumentException("Unsupported token type " + tokenType);
+        }
+    }
+
+    public static class TokenSession {
+
+        private final SignatureTokenType tokenType;
+
+        private final File pkcsFile;
+
+        /** The password is not kept, only its salted digest to check the next requests */
+        private final byte[] passwordSalt;
+
+        private final byte[] passwordDigest;
+
+        private final SignatureTokenConnection token;
+
+        private List<DSSPrivateKeyEntry> keys;
+
+        private DSSPrivateKeyEntry lastSelectedKey;
+
+        private TokenSession(SignatureTokenType tokenType, File pkcsFile, String password, SignatureTokenConnection token) {
+            this.tokenType = tokenType;
+            this.pkcsFile = pkcsFile != null ? pkcsFile.getAbsoluteFile() : null;
+            this.passwordSalt = new byte[16];
+            new SecureRandom().nextBytes(passwordSalt);
+            this.passwordDigest = digest(passwordSalt, password);
+            this.token = token;
+        }
+
+        public SignatureTokenConnection getToken() {
+            return token;
+        }
+
+        /**
+         * Returns the keys of the token, enumerated once per session
+         *
+         * @return the keys
+         */
+        public synchronized List<DSSPrivateKeyEntry> getKeys() {
+            if (keys == null) {
+                keys = token.getKeys();
+            }
+            return keys;
+        }
+
+        /**
+         * Returns the key chosen during the previous run, to be pre-selected
+         *
+         * @return the last selected key, null if none
+         */
+        public synchronized DSSPrivateKeyEntry getLastSelectedKey() {
+            return lastSelectedKey;
+        }
+
+        public synchronized void setLastSelectedKey(DSSPrivateKeyEntry lastSelectedKey) {
+            this.lastSelectedKey = lastSelectedKey;
+        }
+
+        private boolean isSameToken(SignatureTokenType tokenType, File pkcsFile, String password) {
+            return this.tokenType == tokenType
+                    && Objects.equals(this.pkcsFile, pkcsFile != null ? pkcsFile.getAbsoluteFile() : null)
+                    && MessageDigest.isEqual(passwordDigest, digest(passwordSalt, password));
+        }
+
+        private static byte[] digest(byte[] salt, String password) {
+            try {
+                MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+                messageDigest.update(salt);
+                if (password != null) {
+                    messageDigest.update(password.getBytes(StandardCharsets.UTF_8));
+                }
+                return messageDigest.digest();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
@@ -1,20 +1,76 @@
 package eu.europa.esig.dss.standalone.task;
 
+import eu.europa.esig.dss.model.tsl.LOTLInfo;
+import eu.europa.esig.dss.model.tsl.TLValidationJobSummary;
+import eu.europa.esig.dss.standalone.source.ObservableFileLoader;
 import eu.europa.esig.dss.tsl.job.TLValidationJob;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class RefreshLOTLTask extends Task<Void> {
 
-	private TLValidationJob job;
-	
-	public RefreshLOTLTask(TLValidationJob job) {
+	private final TLValidationJob job;
+
+	private final ObservableFileLoader onlineFileLoader;
+
+	private final boolean offlineFirst;
+
+	/** Run on the JavaFX thread once the trusted lists are loaded from the cache */
+	private final Runnable onOfflineLoaded;
+
+	public RefreshLOTLTask(TLValidationJob job, ObservableFileLoader onlineFileLoader, boolean offlineFirst,
+			Runnable onOfflineLoaded) {
 		this.job = job;
+		this.onlineFileLoader = onlineFileLoader;
+		this.offlineFirst = offlineFirst;
+		this.onOfflineLoaded = onOfflineLoaded;
 	}
-	
+
 	@Override
 	protected Void call() throws Exception {
-		job.onlineRefresh();
+		if (offlineFirst) {
+			updateMessage("Loading the trusted lists from the cache...");
+			job.offlineRefresh();
+			// the cached lists are usable while the online refresh is in progress
+			Platform.runLater(onOfflineLoaded);
+		}
+
+		// the number of lists known from the cache, unknown on the first run
+		int total = getNumberOfLists(job.getSummary());
+		AtomicInteger loaded = new AtomicInteger();
+		updateProgress(-1, 1);
+		updateMessage("Refreshing the trusted lists...");
+		onlineFileLoader.setListener(url -> {
+			int count = loaded.incrementAndGet();
+			if (total > 0) {
+				updateProgress(Math.min(count, total), total);
+				updateMessage(String.format("Trusted lists %s/%s : %s", count, total, url));
+			} else {
+				updateMessage(String.format("Trusted lists %s : %s", count, url));
+			}
+		});
+		try {
+			job.onlineRefresh();
+		} finally {
+			onlineFileLoader.setListener(null);
+		}
+
+		updateProgress(1, 1);
+		updateMessage(String.format("%s trusted lists up to date", loaded.get()));
 		return null;
 	}
 
+	private int getNumberOfLists(TLValidationJobSummary summary) {
+		if (summary == null) {
+			return 0;
+		}
+		int total = summary.getOtherTLInfos().size();
+		for (LOTLInfo lotlInfo : summary.getLOTLInfos()) {
+			total += 1 + lotlInfo.getTLInfos().size() + lotlInfo.getPivotInfos().size();
+		}
+		return total;
+	}
+
 }
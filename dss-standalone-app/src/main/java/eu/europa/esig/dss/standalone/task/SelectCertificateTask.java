@@ -16,20 +16,31 @@ public class SelectCertificateTask implements Callable<DSSPrivateKeyEntry> {
 
 	private List<DSSPrivateKeyEntry> keys;
 
-	public SelectCertificateTask(List<DSSPrivateKeyEntry> keys) {
+	private DSSPrivateKeyEntry defaultKey;
+
+	/**
+	 * @param keys the keys to choose from
+	 * @param defaultKey the key pre-selected in the dialog (e.g. the one chosen during the previous run), can be null
+	 */
+	public SelectCertificateTask(List<DSSPrivateKeyEntry> keys, DSSPrivateKeyEntry defaultKey) {
 		this.keys = keys;
+		this.defaultKey = defaultKey;
 	}
 
 	@Override
 	public DSSPrivateKeyEntry call() {
 		Map<String, DSSPrivateKeyEntry> map = new HashMap<>();
+		String defaultChoice = null;
 		for (DSSPrivateKeyEntry dssPrivateKeyEntry : keys) {
 			CertificateToken certificate = dssPrivateKeyEntry.getCertificate();
 			String text = DSSASN1Utils.getHumanReadableName(certificate) + " (" + certificate.getSerialNumber() + ")";
 			map.put(text, dssPrivateKeyEntry);
+			if (defaultKey != null && certificate.equals(defaultKey.getCertificate())) {
+				defaultChoice = text;
+			}
 		}
 		Set<String> keySet = map.keySet();
-		ChoiceDialog<String> dialog = new ChoiceDialog<>(keySet.iterator().next(), keySet);
+		ChoiceDialog<String> dialog = new ChoiceDialog<>(defaultChoice != null ? defaultChoice : keySet.iterator().next(), keySet);
 		dialog.setHeaderText("Select your certificate");
 		Optional<String> result = dialog.showAndWait();
 
@@ -1,55 +1,56 @@
 package eu.europa.esig.dss.standalone.task;
 
+import eu.europa.esig.dss.asic.common.ZipUtils;
 import eu.europa.esig.dss.enumerations.JWSSerializationType;
+import eu.europa.esig.dss.enumerations.MimeTypeEnum;
 import eu.europa.esig.dss.enumerations.SigDMechanism;
 import eu.europa.esig.dss.enumerations.SignatureForm;
+import eu.europa.esig.dss.jaxb.common.XSDAbstractUtils;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.FileDocument;
 import eu.europa.esig.dss.model.SignatureValue;
 import eu.europa.esig.dss.model.ToBeSigned;
 import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.signature.AbstractSignatureParameters;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.standalone.enumeration.SignatureOption;
 import eu.europa.esig.dss.standalone.exception.ApplicationException;
 import eu.europa.esig.dss.standalone.model.SignatureModel;
-import eu.europa.esig.dss.standalone.service.RemoteDocumentSignatureServiceBuilder;
-import eu.europa.esig.dss.standalone.service.RemoteMultipleDocumentSignatureServiceBuilder;
-import eu.europa.esig.dss.standalone.service.RemoteTrustedListSignatureServiceBuilder;
+import eu.europa.esig.dss.standalone.service.LocalSignatureService;
+import eu.europa.esig.dss.standalone.service.LocalSignatureServiceBuilder;
+import eu.europa.esig.dss.standalone.source.TokenSessionCache;
+import eu.europa.esig.dss.standalone.source.TokenSessionCache.TokenSession;
 import eu.europa.esig.dss.token.DSSPrivateKeyEntry;
-import eu.europa.esig.dss.token.MSCAPISignatureToken;
-import eu.europa.esig.dss.token.Pkcs11SignatureToken;
-import eu.europa.esig.dss.token.Pkcs12SignatureToken;
 import eu.europa.esig.dss.token.SignatureTokenConnection;
 import eu.europa.esig.dss.utils.Utils;
-import eu.europa.esig.dss.ws.converter.DTOConverter;
-import eu.europa.esig.dss.ws.converter.RemoteDocumentConverter;
 import eu.europa.esig.dss.ws.dto.RemoteCertificate;
-import eu.europa.esig.dss.ws.dto.RemoteDocument;
-import eu.europa.esig.dss.ws.dto.SignatureValueDTO;
-import eu.europa.esig.dss.ws.signature.common.RemoteDocumentSignatureService;
-import eu.europa.esig.dss.ws.signature.common.RemoteMultipleDocumentsSignatureService;
-import eu.europa.esig.dss.ws.signature.common.RemoteTrustedListSignatureService;
 import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteBLevelParameters;
 import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteSignatureParameters;
 import eu.europa.esig.dss.ws.signature.dto.parameters.RemoteTrustedListSignatureParameters;
 import eu.europa.esig.dss.xades.DSSXMLUtils;
-import eu.europa.esig.dss.xml.utils.DomUtils;
+import eu.europa.esig.dss.xades.XAdESSignatureParameters;
 import eu.europa.esig.trustedlist.TrustedListUtils;
 import eu.europa.esig.xmldsig.XmlDSigUtils;
 import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigElement;
 import eu.europa.esig.dss.xml.common.definition.xmldsig.XMLDSigNamespace;
 import javafx.application.Platform;
 import javafx.concurrent.Task;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
 
-import javax.xml.transform.dom.DOMSource;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
-import java.security.KeyStore.PasswordProtection;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class SigningTask extends Task<DSSDocument> {
@@ -59,73 +60,164 @@ public class SigningTask extends Task<DSSDocument> {
 	private final static String TRUSTED_LIST_NAMESPACE = "http://uri.etsi.org/02231/v2#";
 
 	private final SignatureModel model;
-	private final RemoteDocumentSignatureService documentsSignatureService;
 
-	private final RemoteTrustedListSignatureService trustedListSignatureService;
+	/** The documents are signed in process, without the conversion to the remote DTOs */
+	private final LocalSignatureService signatureService;
 
-	private final RemoteMultipleDocumentsSignatureService multipleDocumentsSignatureService;
+	private volatile boolean separately;
+
+	private boolean xmlManifestSigning;
 
 	public SigningTask(SignatureModel model, TrustedListsCertificateSource tslCertificateSource) {
 		this.model = model;
 
-		RemoteDocumentSignatureServiceBuilder signatureServiceBuilder = new RemoteDocumentSignatureServiceBuilder();
+		LocalSignatureServiceBuilder signatureServiceBuilder = new LocalSignatureServiceBuilder();
 		signatureServiceBuilder.setTslCertificateSource(tslCertificateSource);
-		this.documentsSignatureService = signatureServiceBuilder.build();
-
-		RemoteTrustedListSignatureServiceBuilder trustedListServiceBuilder = new RemoteTrustedListSignatureServiceBuilder();
-		this.trustedListSignatureService = trustedListServiceBuilder.build();
-
-		RemoteMultipleDocumentSignatureServiceBuilder multipleDocumentSignatureServiceBuilder = new RemoteMultipleDocumentSignatureServiceBuilder();
-		multipleDocumentSignatureServiceBuilder.setTslCertificateSource(tslCertificateSource);
-		this.multipleDocumentsSignatureService = multipleDocumentSignatureServiceBuilder.build();
+		this.signatureService = signatureServiceBuilder.build();
 	}
 
 	@Override
 	protected DSSDocument call() throws Exception {
 		updateProgress(0, 100);
-		SignatureTokenConnection token = getToken(model);
+		// the token stays logged in between the runs, with its keys
+		TokenSession session = TokenSessionCache.getSession(model.getTokenType(), model.getPkcsFile(), model.getPassword());
+		boolean reusable = false;
+		try {
+			updateProgress(5, 100);
+			List<DSSPrivateKeyEntry> keys = session.getKeys();
 
-		updateProgress(5, 100);
-		List<DSSPrivateKeyEntry> keys = token.getKeys();
+			updateProgress(10, 100);
 
-		updateProgress(10, 100);
+			DSSPrivateKeyEntry signer = getSigner(session, keys);
+
+			DSSDocument signedDocument = sign(session.getToken(), signer);
+			reusable = true;
+
+			updateProgress(100, 100);
+
+			return signedDocument;
 
-		DSSPrivateKeyEntry signer = getSigner(keys);
+		} finally {
+			TokenSessionCache.release(session, reusable);
+		}
+	}
 
-		List<DSSDocument> fileDocuments = model.getFilesToSign().stream().map(FileDocument::new).collect(Collectors.toList());
-		List<RemoteDocument> toSignDocuments = RemoteDocumentConverter.toRemoteDocuments(fileDocuments);
+	private DSSDocument sign(SignatureTokenConnection token, DSSPrivateKeyEntry signer) throws Exception {
+		// the files are read from the disk by the signature services when required
+		List<DSSDocument> toSignDocuments = model.getFilesToSign().stream().map(FileDocument::new).collect(Collectors.toList());
+		xmlManifestSigning = isXmlManifestSigning(toSignDocuments);
 
 		DSSDocument signedDocument;
-		if (Utils.collectionSize(toSignDocuments) > 1) {
-			RemoteSignatureParameters parameters = buildParameters(signer);
+		if (Utils.collectionSize(toSignDocuments) > 1 && model.isSignSeparately()) {
+			signedDocument = signSeparately(token, signer, toSignDocuments);
+
+		} else if (Utils.collectionSize(toSignDocuments) > 1) {
+			AbstractSignatureParameters parameters = buildParameters(signer);
 			ToBeSigned toBeSigned = getDataToSign(toSignDocuments, parameters);
-			SignatureValueDTO signatureValue = sign(token, signer, toBeSigned);
+			SignatureValue signatureValue = sign(token, signer, toBeSigned);
 			signedDocument = signDocument(toSignDocuments, parameters, signatureValue);
 
-		} else if (isTLSigning(fileDocuments.iterator().next())) {
-			RemoteTrustedListSignatureParameters parameters = buildTrustedListParameters(signer);
+		} else if (isTLSigning(toSignDocuments.iterator().next())) {
+			DSSDocument toSignDocument = toSignDocuments.iterator().next();
+			XAdESSignatureParameters parameters = buildTrustedListParameters(signer, toSignDocument);
 
-			RemoteDocument toSignDocument = toSignDocuments.iterator().next();
-			ToBeSigned toBeSigned = getDataToSignTrustedList(toSignDocument, parameters);
-			SignatureValueDTO signatureValue = sign(token, signer, toBeSigned);
-			signedDocument = signTrustedList(toSignDocument, parameters, signatureValue);
+			ToBeSigned toBeSigned = getDataToSign(toSignDocument, parameters);
+			SignatureValue signatureValue = sign(token, signer, toBeSigned);
+			signedDocument = signDocument(toSignDocument, parameters, signatureValue);
 
 		} else {
-			RemoteSignatureParameters parameters = buildParameters(signer);
+			AbstractSignatureParameters parameters = buildParameters(signer);
 
-			RemoteDocument toSignDocument = toSignDocuments.iterator().next();
+			DSSDocument toSignDocument = toSignDocuments.iterator().next();
 			ToBeSigned toBeSigned = getDataToSign(toSignDocument, parameters);
-			SignatureValueDTO signatureValue = sign(token, signer, toBeSigned);
+			SignatureValue signatureValue = sign(token, signer, toBeSigned);
 			signedDocument = signDocument(toSignDocument, parameters, signatureValue);
 		}
+		return signedDocument;
+	}
 
-		updateProgress(100, 100);
+	/**
+	 * Signs each document with its own signature, the token signing the digests one by one on its own thread
+	 * while the other documents are prepared and completed in parallel. The signed documents are returned in a ZIP.
+	 */
+	private DSSDocument signSeparately(SignatureTokenConnection token, DSSPrivateKeyEntry signer,
+									   List<DSSDocument> toSignDocuments) throws Exception {
+		separately = true;
+		int total = toSignDocuments.size();
+		AtomicInteger signed = new AtomicInteger();
+		updateProgress(10, 100);
 
-		return signedDocument;
+		ExecutorService documentExecutor = Executors.newFixedThreadPool(
+				Math.min(total, Runtime.getRuntime().availableProcessors()), this::newDaemonThread);
+		// the token is not required to support concurrent operations
+		ExecutorService tokenExecutor = Executors.newSingleThreadExecutor(this::newDaemonThread);
+		try {
+			List<CompletableFuture<DSSDocument>> signedDocuments = new ArrayList<>();
+			for (DSSDocument toSignDocument : toSignDocuments) {
+				AbstractSignatureParameters parameters = buildParameters(signer);
+				signedDocuments.add(CompletableFuture
+						.supplyAsync(() -> getDataToSign(toSignDocument, parameters), documentExecutor)
+						.thenApplyAsync(toBeSigned -> sign(token, signer, toBeSigned), tokenExecutor)
+						.thenApplyAsync(signatureValue -> signDocument(toSignDocument, parameters, signatureValue), documentExecutor)
+						.whenComplete((signedDocument, e) -> updateProgress(10 + 90L * signed.incrementAndGet() / total, 100)));
+			}
+
+			List<DSSDocument> documents = new ArrayList<>();
+			Set<String> names = new HashSet<>();
+			for (CompletableFuture<DSSDocument> signedDocument : signedDocuments) {
+				DSSDocument document = getSignedDocument(signedDocument);
+				document.setName(getUniqueName(document.getName(), names));
+				documents.add(document);
+			}
+
+			DSSDocument zip = ZipUtils.getInstance().createZipArchive(documents, new Date(), null);
+			zip.setName("signed-documents.zip");
+			zip.setMimeType(MimeTypeEnum.ZIP);
+			return zip;
+
+		} finally {
+			documentExecutor.shutdownNow();
+			tokenExecutor.shutdownNow();
+		}
 	}
 
-	private RemoteSignatureParameters buildParameters(DSSPrivateKeyEntry signer) {
-		updateProgress(20, 100);
+	private DSSDocument getSignedDocument(CompletableFuture<DSSDocument> signedDocument) throws Exception {
+		try {
+			return signedDocument.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	private String getUniqueName(String name, Set<String> names) {
+		String uniqueName = name;
+		for (int i = 1; !names.add(uniqueName); i++) {
+			String extension = Utils.getFileNameExtension(name);
+			uniqueName = Utils.isStringNotEmpty(extension)
+					? String.format("%s-%s.%s", name.substring(0, name.length() - extension.length() - 1), i, extension)
+					: String.format("%s-%s", name, i);
+		}
+		return uniqueName;
+	}
+
+	private Thread newDaemonThread(Runnable runnable) {
+		Thread thread = new Thread(runnable);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private void updateStepProgress(long workDone) {
+		// the batch progress is the number of signed documents
+		if (!separately) {
+			updateProgress(workDone, 100);
+		}
+	}
+
+	private AbstractSignatureParameters buildParameters(DSSPrivateKeyEntry signer) {
+		updateStepProgress(20);
 
 		RemoteSignatureParameters parameters = new RemoteSignatureParameters();
 		parameters.setAsicContainerType(model.getAsicContainerType());
@@ -145,7 +237,7 @@ public class SigningTask extends Task<DSSDocument> {
 			}
 			parameters.setCertificateChain(certificateChainList);
 		}
-		if (isXmlManifestSigning()) {
+		if (xmlManifestSigning) {
 			parameters.setManifestSignature(true);
 		}
 		if (SignatureForm.JAdES.equals(model.getSignatureForm())) {
@@ -153,11 +245,21 @@ public class SigningTask extends Task<DSSDocument> {
 			parameters.setSigDMechanism(SigDMechanism.OBJECT_ID_BY_URI_HASH); // to be used by default
 		}
 
-		return parameters;
+		return toParameters(parameters);
 	}
 
-	private RemoteTrustedListSignatureParameters buildTrustedListParameters(DSSPrivateKeyEntry signer) {
-		updateProgress(20, 100);
+	private AbstractSignatureParameters toParameters(RemoteSignatureParameters parameters) {
+		AbstractSignatureParameters signatureParameters = null;
+		try {
+			signatureParameters = signatureService.toParameters(parameters);
+		} catch (Exception e) {
+			throwException("Unable to create the signature parameters", e);
+		}
+		return signatureParameters;
+	}
+
+	private XAdESSignatureParameters buildTrustedListParameters(DSSPrivateKeyEntry signer, DSSDocument trustedList) {
+		updateStepProgress(20);
 
 		RemoteTrustedListSignatureParameters parameters = new RemoteTrustedListSignatureParameters();
 		RemoteBLevelParameters bLevelParams = new RemoteBLevelParameters();
@@ -168,18 +270,27 @@ public class SigningTask extends Task<DSSDocument> {
 		parameters.setDigestAlgorithm(model.getDigestAlgorithm());
 		parameters.setReferenceDigestAlgorithm(model.getDigestAlgorithm());
 
-		return parameters;
+		XAdESSignatureParameters signatureParameters = null;
+		try {
+			signatureParameters = signatureService.toTrustedListParameters(trustedList, parameters);
+		} catch (Exception e) {
+			throwException("Unable to create the signature parameters", e);
+		}
+		return signatureParameters;
 	}
 
+	/**
+	 * The root element is read with StAX and the schema validation streams the document,
+	 * the document being parsed only once by the signature service
+	 */
 	private boolean isTLSigning(DSSDocument toBeSigned) {
 		SignatureOption signatureOption = model.getSignatureOption();
 		if (SignatureOption.TL_SIGNING.equals(signatureOption)) {
-			if (DomUtils.isDOM(toBeSigned)) {
-				Document document = DomUtils.buildDOM(toBeSigned);
-				Element documentElement = document.getDocumentElement();
-				if (TRUSTED_LIST_PARENT_ELEMENT.equals(documentElement.getLocalName()) &&
-						TRUSTED_LIST_NAMESPACE.equals(documentElement.getNamespaceURI())) {
-					List<String> errors = DSSXMLUtils.validateAgainstXSD(TrustedListUtils.getInstance(), new DOMSource(document));
+			QName rootElement = XmlRootElementSniffer.getRootElement(toBeSigned);
+			if (rootElement != null) {
+				if (TRUSTED_LIST_PARENT_ELEMENT.equals(rootElement.getLocalPart()) &&
+						TRUSTED_LIST_NAMESPACE.equals(rootElement.getNamespaceURI())) {
+					List<String> errors = validateAgainstXSD(TrustedListUtils.getInstance(), toBeSigned);
 					if (Utils.isCollectionEmpty(errors)) {
 						return true;
 					} else {
@@ -195,21 +306,20 @@ public class SigningTask extends Task<DSSDocument> {
 		return false;
 	}
 
-	private boolean isXmlManifestSigning() {
+	private boolean isXmlManifestSigning(List<DSSDocument> toSignDocuments) {
 		SignatureOption signatureOption = model.getSignatureOption();
-		if (SignatureOption.XML_MANIFEST_SIGNING.equals(signatureOption) && Utils.collectionSize(model.getFilesToSign()) == 1) {
-			FileDocument fileToSign = new FileDocument(model.getFilesToSign().iterator().next());
-			if (DomUtils.isDOM(fileToSign)) {
-				Element document = DomUtils.buildDOM(fileToSign).getDocumentElement();
-				if (XMLDSigElement.MANIFEST.isSameTagName(document.getLocalName()) &&
-						XMLDSigNamespace.NS.isSameUri(document.getNamespaceURI())) {
-					List<String> errors = DSSXMLUtils.validateAgainstXSD(XmlDSigUtils.getInstance(), new DOMSource(document));
+		if (SignatureOption.XML_MANIFEST_SIGNING.equals(signatureOption) && Utils.collectionSize(toSignDocuments) == 1) {
+			DSSDocument fileToSign = toSignDocuments.iterator().next();
+			QName rootElement = XmlRootElementSniffer.getRootElement(fileToSign);
+			if (rootElement != null) {
+				if (XMLDSigElement.MANIFEST.isSameTagName(rootElement.getLocalPart()) &&
+						XMLDSigNamespace.NS.isSameUri(rootElement.getNamespaceURI())) {
+					List<String> errors = validateAgainstXSD(XmlDSigUtils.getInstance(), fileToSign);
 					if (Utils.isCollectionEmpty(errors)) {
 						return true;
 					} else {
 						throwException(String.format("The provided file is not a valid XML Manifest! %s", errors.toString()), null);
 					}
-					return true;
 				} else {
 					throwException("The provided file is not an XML Manifest!", null);
 				}
@@ -220,119 +330,92 @@ public class SigningTask extends Task<DSSDocument> {
 		return false;
 	}
 
-	private ToBeSigned getDataToSign(RemoteDocument toSignDocument, RemoteSignatureParameters parameters) {
-		updateProgress(25, 100);
-		ToBeSigned toBeSigned = null;
-		try {
-			toBeSigned = DTOConverter.toToBeSigned(documentsSignatureService.getDataToSign(toSignDocument, parameters));
-		} catch (Exception e) {
-			throwException("Unable to compute the digest to sign", e);
+	private List<String> validateAgainstXSD(XSDAbstractUtils xsdUtils, DSSDocument document) {
+		List<String> errors = null;
+		try (InputStream is = document.openStream()) {
+			errors = DSSXMLUtils.validateAgainstXSD(xsdUtils, new StreamSource(is));
+		} catch (IOException e) {
+			throwException("Unable to read the file", e);
 		}
-		return toBeSigned;
+		return errors;
 	}
 
-	private ToBeSigned getDataToSignTrustedList(RemoteDocument toSignDocument, RemoteTrustedListSignatureParameters parameters) {
-		updateProgress(25, 100);
+	private ToBeSigned getDataToSign(DSSDocument toSignDocument, AbstractSignatureParameters parameters) {
+		updateStepProgress(25);
 		ToBeSigned toBeSigned = null;
 		try {
-			toBeSigned = DTOConverter.toToBeSigned(trustedListSignatureService.getDataToSign(toSignDocument, parameters));
+			toBeSigned = signatureService.getDataToSign(toSignDocument, parameters);
 		} catch (Exception e) {
 			throwException("Unable to compute the digest to sign", e);
 		}
 		return toBeSigned;
 	}
 
-	private ToBeSigned getDataToSign(List<RemoteDocument> toSignDocuments, RemoteSignatureParameters parameters) {
-		updateProgress(25, 100);
+	private ToBeSigned getDataToSign(List<DSSDocument> toSignDocuments, AbstractSignatureParameters parameters) {
+		updateStepProgress(25);
 		ToBeSigned toBeSigned = null;
 		try {
-			toBeSigned = DTOConverter.toToBeSigned(multipleDocumentsSignatureService.getDataToSign(toSignDocuments, parameters));
+			toBeSigned = signatureService.getDataToSign(toSignDocuments, parameters);
 		} catch (Exception e) {
 			throwException("Unable to compute the digest to sign", e);
 		}
 		return toBeSigned;
 	}
 
-	private SignatureValueDTO sign(SignatureTokenConnection token, DSSPrivateKeyEntry signer, ToBeSigned toBeSigned) {
-		updateProgress(50, 100);
+	private SignatureValue sign(SignatureTokenConnection token, DSSPrivateKeyEntry signer, ToBeSigned toBeSigned) {
+		updateStepProgress(50);
 		SignatureValue signatureValue = null;
 		try {
 			signatureValue = token.sign(toBeSigned, model.getDigestAlgorithm(), signer);
 		} catch (Exception e) {
 			throwException("Unable to sign the digest", e);
 		}
-		return new SignatureValueDTO(signatureValue.getAlgorithm(), signatureValue.getValue());
+		return signatureValue;
 	}
 
-	private DSSDocument signDocument(RemoteDocument toSignDocument, RemoteSignatureParameters parameters,
-									 SignatureValueDTO signatureValue) {
-		updateProgress(75, 100);
+	private DSSDocument signDocument(DSSDocument toSignDocument, AbstractSignatureParameters parameters,
+									 SignatureValue signatureValue) {
+		updateStepProgress(75);
 		DSSDocument signDocument = null;
 		try {
-			signDocument = RemoteDocumentConverter.toDSSDocument(
-					documentsSignatureService.signDocument(toSignDocument, parameters, signatureValue));
+			signDocument = signatureService.signDocument(toSignDocument, parameters, signatureValue);
 		} catch (Exception e) {
 			throwException("Unable to sign the document", e);
 		}
 		return signDocument;
 	}
 
-	private DSSDocument signDocument(List<RemoteDocument> toSignDocuments, RemoteSignatureParameters parameters,
-									 SignatureValueDTO signatureValue) {
-		updateProgress(75, 100);
+	private DSSDocument signDocument(List<DSSDocument> toSignDocuments, AbstractSignatureParameters parameters,
+									 SignatureValue signatureValue) {
+		updateStepProgress(75);
 		DSSDocument signDocument = null;
 		try {
-			signDocument = RemoteDocumentConverter.toDSSDocument(
-					multipleDocumentsSignatureService.signDocument(toSignDocuments, parameters, signatureValue));
+			signDocument = signatureService.signDocument(toSignDocuments, parameters, signatureValue);
 		} catch (Exception e) {
 			throwException("Unable to sign the document", e);
 		}
 		return signDocument;
 	}
 
-	private DSSDocument signTrustedList(RemoteDocument toSignDocument, RemoteTrustedListSignatureParameters parameters,
-										SignatureValueDTO signatureValue) {
-		updateProgress(75, 100);
-		DSSDocument signDocument = null;
-		try {
-			signDocument = RemoteDocumentConverter.toDSSDocument(
-					trustedListSignatureService.signDocument(toSignDocument, parameters, signatureValue));
-		} catch (Exception e) {
-			throwException("Unable to sign the document", e);
-		}
-		return signDocument;
-	}
-
-	private DSSPrivateKeyEntry getSigner(List<DSSPrivateKeyEntry> keys) throws Exception {
+	private DSSPrivateKeyEntry getSigner(TokenSession session, List<DSSPrivateKeyEntry> keys) throws Exception {
 		DSSPrivateKeyEntry selectedKey = null;
 		if (Utils.isCollectionEmpty(keys)) {
 			throwException("No certificate found", null);
 		} else if (Utils.collectionSize(keys) == 1) {
 			selectedKey = keys.get(0);
 		} else {
-			FutureTask<DSSPrivateKeyEntry> future = new FutureTask<>(new SelectCertificateTask(keys));
+			// the key is chosen for each run, all its documents being signed with it
+			FutureTask<DSSPrivateKeyEntry> future = new FutureTask<>(new SelectCertificateTask(keys, session.getLastSelectedKey()));
 			Platform.runLater(future);
 			selectedKey = future.get();
 			if (selectedKey == null) {
 				throwException("No selected certificate", null);
 			}
+			session.setLastSelectedKey(selectedKey);
 		}
 		return selectedKey;
 	}
 
-	private SignatureTokenConnection getToken(SignatureModel model) throws IOException {
-		switch (model.getTokenType()) {
-		case PKCS11:
-			return new Pkcs11SignatureToken(model.getPkcsFile().getAbsolutePath(), new PasswordProtection(model.getPassword().toCharArray()));
-		case PKCS12:
-			return new Pkcs12SignatureToken(model.getPkcsFile(), new PasswordProtection(model.getPassword().toCharArray()));
-		case MSCAPI:
-			return new MSCAPISignatureToken();
-		default:
-			throw new IllegalArgumentException("Unsupported token type " + model.getTokenType());
-		}
-	}
-
 	private void throwException(String message, Exception e) {
 		String exceptionMessage = message + ((e != null) ? " : " + e.getMessage() : "");
 		updateMessage(exceptionMessage);
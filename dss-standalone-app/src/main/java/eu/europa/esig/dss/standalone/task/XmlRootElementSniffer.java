@@ -0,0 +1,59 @@
+package eu.europa.esig.dss.standalone.task;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the root element of an XML document with StAX, without parsing the rest of the document
+ */
+public final class XmlRootElementSniffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(XmlRootElementSniffer.class);
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXMLInputFactory();
+
+    private XmlRootElementSniffer() {
+        // empty
+    }
+
+    /**
+     * Returns the name of the root element of the document
+     *
+     * @param document the document to read
+     * @return the qualified name of the root element, or null if the document is not an XML
+     */
+    public static QName getRootElement(DSSDocument document) {
+        try (InputStream is = document.openStream()) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        return reader.getName();
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | IOException e) {
+            LOG.debug("Unable to read the root element of '{}' : {}", document.getName(), e.getMessage());
+        }
+        return null;
+    }
+
+    private static XMLInputFactory createXMLInputFactory() {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+
+}